@@ -3,6 +3,7 @@ plugins {
     id("org.springframework.boot") version "3.3.4"
     id("io.spring.dependency-management") version "1.1.6"
     id("com.diffplug.spotless") version "6.25.0"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 java {
@@ -28,6 +29,9 @@ dependencies {
     // Optionally keep web starter if you have MVC controllers, otherwise can be removed
     implementation("org.springframework.boot:spring-boot-starter-web")
 
+    // Hot-path timers and counters, scraped in Prometheus format from /actuator/prometheus
+    implementation("io.micrometer:micrometer-registry-prometheus")
+
     testImplementation("org.springframework.boot:spring-boot-starter-test") // JUnit 5
     testImplementation("org.assertj:assertj-core")
     testImplementation("org.mockito:mockito-junit-jupiter")
@@ -37,6 +41,45 @@ tasks.test {
     useJUnitPlatform()
 }
 
+// Load and soak tests live in src/load and run against the application booted in-process with the
+// stub provider; run with ./gradlew loadTest -PloadArgs="--clients=500 --duration=30m"
+val load: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[load.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[load.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
+dependencies {
+    // latency histograms for the load test report
+    "loadImplementation"("org.hdrhistogram:HdrHistogram:2.2.2")
+}
+
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "Runs the load test harness against the application with the stub provider"
+    classpath = load.runtimeClasspath
+    mainClass.set("com.example.f1bet.load.LoadTest")
+    maxHeapSize = "2g"
+    systemProperty("load.reportDir", layout.buildDirectory.dir("reports/load").get().asFile.path)
+    (project.findProperty("loadArgs") as String?)?.let { loadArgs ->
+        args(loadArgs.split(" ").filter { it.isNotBlank() })
+    }
+}
+
+// Microbenchmarks live in src/jmh; run with ./gradlew jmh, or narrow the run with
+// ./gradlew jmh -PjmhIncludes=SettlementBenchmark
+jmh {
+    jmhVersion.set("1.37")
+    warmupIterations.set(2)
+    iterations.set(5)
+    fork.set(1)
+    profilers.set(listOf("gc"))
+    resultFormat.set("JSON")
+    (project.findProperty("jmhIncludes") as String?)?.let { includes.set(listOf(it)) }
+}
+
 spotless {
     java {
         googleJavaFormat("1.22.0")
@@ -126,12 +126,29 @@ OUTCOME_RESPONSE=$(curl -s -w "%{http_code}" -o /tmp/outcome_response -X POST "$
     -H "Content-Type: application/json" \
     -d '{"winningDriverId": "d1"}')
 
-if [ "$OUTCOME_RESPONSE" = "200" ]; then
-    echo "✅ Race outcome recorded successfully"
+if [ "$OUTCOME_RESPONSE" = "202" ]; then
+    JOB_ID=$(cat /tmp/outcome_response | jq -r '.jobId')
+    echo "✅ Race outcome accepted (settlement job ${JOB_ID})"
 else
     echo "❌ Failed to record outcome (HTTP ${OUTCOME_RESPONSE})"
     exit 1
 fi
+
+# Settlement runs in the background; poll the job until it finishes
+for i in $(seq 1 50); do
+    JOB_RESPONSE=$(curl -s -X GET "${BASE_URL}/api/v1/settlements/${JOB_ID}")
+    JOB_STATUS=$(echo "$JOB_RESPONSE" | jq -r '.status')
+    if [ "$JOB_STATUS" = "COMPLETED" ] || [ "$JOB_STATUS" = "FAILED" ]; then
+        break
+    fi
+    sleep 0.1
+done
+if [ "$JOB_STATUS" = "COMPLETED" ]; then
+    echo "✅ Settlement completed: $(echo "$JOB_RESPONSE" | jq -c '{betsProcessed, usersCredited, payoutsCredited, betsPerSecond}')"
+else
+    echo "❌ Settlement job did not complete (status ${JOB_STATUS})"
+    exit 1
+fi
 echo
 
 echo "🎉 Test 8: Check Winning Balance"
@@ -186,7 +203,7 @@ echo "   • Event filtering (sessionType, country, year)"
 echo "   • User balance management"
 echo "   • Bet placement"
 echo "   • Idempotency support"
-echo "   • Race outcome recording"
+echo "   • Race outcome recording (asynchronous settlement jobs)"
 echo "   • Winning payouts"
 echo "   • Error handling"
 echo
@@ -0,0 +1,114 @@
+package com.example.f1bet;
+
+import com.example.f1bet.application.service.ListEventsService;
+import com.example.f1bet.bootstrap.F1BetApplication;
+import com.example.f1bet.infrastructure.web.dto.EventResponse;
+import com.example.f1bet.ports.out.ProviderSessionFilter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// Load test for the "reactive" profile. Same setup as ExecutionModeBenchmark, but 1000 clients list
+// events against the slow provider while 8 place bets. Spring MVC parks a Tomcat worker per
+// waiting listing; WebFlux waits for the provider on Netty's event loop and holds no thread per
+// request. Compare the listEvents throughput and the placeBet p99 per stack.
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 20)
+@State(Scope.Benchmark)
+public class ReactiveStackBenchmark {
+
+  @Param({"mvc", "reactive"})
+  public String stack;
+
+  @Param({"200ms"})
+  public String providerLatency;
+
+  private ConfigurableApplicationContext app;
+  private HttpClient client;
+  private HttpRequest listEvents;
+  private URI bets;
+  private String eventId;
+  private String selectionId;
+
+  @Setup(Level.Trial)
+  public void start() {
+    app =
+        new SpringApplicationBuilder(F1BetApplication.class)
+            .profiles(stack.equals("reactive") ? new String[] {"reactive"} : new String[0])
+            .properties(
+                "server.port=0",
+                "app.provider.stub.latency=" + providerLatency,
+                "app.provider.cache.enabled=false",
+                "logging.level.root=WARN")
+            .run();
+    int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+    URI base = URI.create("http://localhost:" + port);
+    client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    listEvents = HttpRequest.newBuilder(base.resolve("/api/v1/events?size=3")).GET().build();
+    bets = base.resolve("/api/v1/bets");
+
+    // loads the events into the repository, so bets have something to reference
+    EventResponse event =
+        app.getBean(ListEventsService.class)
+            .list(new ProviderSessionFilter(null, null, null), 0, 1)
+            .getItems()
+            .get(0);
+    eventId = event.getId();
+    selectionId = event.getDriverMarket().get(0).getSelectionId();
+  }
+
+  @TearDown(Level.Trial)
+  public void stop() {
+    app.close();
+  }
+
+  @Benchmark
+  @Group("slowProvider")
+  @GroupThreads(1000)
+  public int listEvents() throws Exception {
+    return client.send(listEvents, HttpResponse.BodyHandlers.discarding()).statusCode();
+  }
+
+  @Benchmark
+  @Group("slowProvider")
+  @GroupThreads(8)
+  public int placeBet() throws Exception {
+    // a new user per bet, so the opening balance never runs out
+    String body =
+        "{\"userId\":\""
+            + UUID.randomUUID()
+            + "\",\"eventId\":\""
+            + eventId
+            + "\",\"selectionId\":\""
+            + selectionId
+            + "\",\"stakeAmount\":1.00,\"currency\":\"EUR\"}";
+    HttpRequest request =
+        HttpRequest.newBuilder(bets)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+  }
+}
@@ -0,0 +1,37 @@
+package com.example.f1bet.application.service;
+
+import com.example.f1bet.domain.entity.Event;
+import com.example.f1bet.domain.entity.Market;
+import com.example.f1bet.domain.entity.Selection;
+import com.example.f1bet.domain.enums.SessionType;
+import com.example.f1bet.domain.vo.Odds;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Shared setup for the benchmarks: a scheduled race with a handful of drivers
+final class BenchmarkFixtures {
+  static final int DRIVERS = 20;
+
+  private BenchmarkFixtures() {}
+
+  static Event race() {
+    Odds[] prices = {
+      Odds.of(new BigDecimal("2.00")),
+      Odds.of(new BigDecimal("3.00")),
+      Odds.of(new BigDecimal("4.00"))
+    };
+    List<Selection> selections = new ArrayList<>(DRIVERS);
+    for (int i = 0; i < DRIVERS; i++) {
+      selections.add(new Selection(UUID.randomUUID(), "d" + i, "Driver " + i, prices[i % 3]));
+    }
+    return new Event(
+        UUID.randomUUID(),
+        "Benchmark GP",
+        SessionType.RACE,
+        "UK",
+        2025,
+        new Market(Market.WINNER, selections));
+  }
+}
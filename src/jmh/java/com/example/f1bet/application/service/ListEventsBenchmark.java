@@ -0,0 +1,103 @@
+package com.example.f1bet.application.service;
+
+import com.example.f1bet.domain.enums.SessionType;
+import com.example.f1bet.domain.policy.OddsPolicy;
+import com.example.f1bet.infrastructure.persistence.memory.InMemoryEventRepository;
+import com.example.f1bet.infrastructure.web.dto.ListEventsResponse;
+import com.example.f1bet.ports.out.F1ProviderPort;
+import com.example.f1bet.ports.out.ProviderDriver;
+import com.example.f1bet.ports.out.ProviderSession;
+import com.example.f1bet.ports.out.ProviderSessionFilter;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// ListEventsService against an in-process provider, so the numbers cover mapping, odds and the
+// event store rather than the network. offsetPage is the provider-paged listing; cursorPage pages
+// the stored events by id.
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ListEventsBenchmark {
+  private static final int PAGE_SIZE = 20;
+
+  @Param({"100", "10000"})
+  public int sessions;
+
+  private ListEventsService service;
+  private ProviderSessionFilter filter;
+  private List<UUID> cursors;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    InMemoryEventRepository events = new InMemoryEventRepository();
+    service =
+        new ListEventsService(
+            new SyntheticProvider(sessions),
+            new OddsPolicy(),
+            bound -> ThreadLocalRandom.current().nextInt(bound),
+            events);
+    filter = new ProviderSessionFilter(null, null, null);
+    // first listing stores every event, so both benchmarks read a warm store
+    service.list(filter);
+    cursors = new ArrayList<>();
+    for (int i = 0; i < sessions; i += PAGE_SIZE) {
+      cursors.add(events.findPage(i / PAGE_SIZE, PAGE_SIZE).get(0).getId());
+    }
+  }
+
+  @Benchmark
+  public ListEventsResponse offsetPage() {
+    int pages = Math.max(1, sessions / PAGE_SIZE);
+    return service.list(filter, ThreadLocalRandom.current().nextInt(pages), PAGE_SIZE);
+  }
+
+  @Benchmark
+  public ListEventsResponse cursorPage() {
+    UUID after = cursors.get(ThreadLocalRandom.current().nextInt(cursors.size()));
+    return service.listAfter(after, PAGE_SIZE);
+  }
+
+  private static final class SyntheticProvider implements F1ProviderPort {
+    private final List<ProviderSession> sessions;
+    private final List<ProviderDriver> drivers;
+
+    SyntheticProvider(int count) {
+      List<ProviderSession> all = new ArrayList<>(count);
+      Instant start = Instant.parse("2025-03-01T12:00:00Z");
+      for (int i = 0; i < count; i++) {
+        all.add(
+            new ProviderSession(
+                new UUID(0, i).toString(), "Session " + i, SessionType.RACE, "UK", 2025, start));
+      }
+      this.sessions = List.copyOf(all);
+      List<ProviderDriver> field = new ArrayList<>(BenchmarkFixtures.DRIVERS);
+      for (int i = 0; i < BenchmarkFixtures.DRIVERS; i++) {
+        field.add(new ProviderDriver("d" + i, "Driver " + i));
+      }
+      this.drivers = List.copyOf(field);
+    }
+
+    @Override
+    public List<ProviderSession> listSessions(ProviderSessionFilter filter) {
+      return sessions;
+    }
+
+    @Override
+    public List<ProviderDriver> listDriversForSession(String sessionId) {
+      return drivers;
+    }
+  }
+}
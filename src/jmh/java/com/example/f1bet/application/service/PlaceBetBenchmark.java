@@ -0,0 +1,108 @@
+package com.example.f1bet.application.service;
+
+import com.example.f1bet.domain.entity.Bet;
+import com.example.f1bet.domain.entity.Event;
+import com.example.f1bet.domain.vo.Money;
+import com.example.f1bet.infrastructure.persistence.memory.InMemoryBetRepository;
+import com.example.f1bet.infrastructure.persistence.memory.InMemoryEventRepository;
+import com.example.f1bet.infrastructure.persistence.memory.InMemoryUserRepository;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+// PlaceBetService.place end to end against the in-memory repositories. singleUser has every
+// thread betting from one balance (CAS contention on one user); multiUser gives each thread its
+// own user. The batch variants place BATCH bets per placeBatch call and report per-bet figures.
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class PlaceBetBenchmark {
+  private static final BigDecimal STAKE = new BigDecimal("0.01");
+  private static final int BATCH = 100;
+  // enough balance that no iteration runs dry
+  private static final Money TOP_UP = Money.of("EUR", "1000000000.00");
+
+  @State(Scope.Benchmark)
+  public static class Shared {
+    InMemoryUserRepository users;
+    PlaceBetService service;
+    Event event;
+    UUID sharedUser;
+
+    // fresh repositories per iteration, so stored bets do not pile up across the run
+    @Setup(Level.Iteration)
+    public void setUp() {
+      users = new InMemoryUserRepository();
+      InMemoryEventRepository events = new InMemoryEventRepository();
+      service = new PlaceBetService(users, events, new InMemoryBetRepository());
+      event = events.save(BenchmarkFixtures.race());
+      sharedUser = UUID.randomUUID();
+      users.credit(sharedUser, TOP_UP);
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class PerThread {
+    UUID ownUser;
+
+    @Setup(Level.Iteration)
+    public void setUp(Shared shared) {
+      ownUser = UUID.randomUUID();
+      shared.users.credit(ownUser, TOP_UP);
+    }
+  }
+
+  @Benchmark
+  public Bet singleUser(Shared shared) {
+    return place(shared, shared.sharedUser);
+  }
+
+  @Benchmark
+  public Bet multiUser(Shared shared, PerThread thread) {
+    return place(shared, thread.ownUser);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public List<PlaceBetService.BatchResult> singleUserBatch(Shared shared) {
+    return placeBatch(shared, shared.sharedUser);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public List<PlaceBetService.BatchResult> multiUserBatch(Shared shared, PerThread thread) {
+    return placeBatch(shared, thread.ownUser);
+  }
+
+  private static Bet place(Shared shared, UUID userId) {
+    return shared.service.place(command(shared, userId));
+  }
+
+  private static List<PlaceBetService.BatchResult> placeBatch(Shared shared, UUID userId) {
+    List<PlaceBetService.Command> cmds = new ArrayList<>(BATCH);
+    for (int i = 0; i < BATCH; i++) {
+      cmds.add(command(shared, userId));
+    }
+    return shared.service.placeBatch(cmds);
+  }
+
+  private static PlaceBetService.Command command(Shared shared, UUID userId) {
+    var selections = shared.event.getMarket().getSelections();
+    var selection = selections.get(ThreadLocalRandom.current().nextInt(selections.size()));
+    return new PlaceBetService.Command(
+        userId, shared.event.getId(), selection.getId(), STAKE, "EUR", null);
+  }
+}
@@ -0,0 +1,89 @@
+package com.example.f1bet.application.service;
+
+import com.example.f1bet.domain.entity.Event;
+import com.example.f1bet.domain.entity.Market;
+import com.example.f1bet.domain.entity.Selection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// The winner check of settlement over 1M bets on a 20-driver grid, without the repository writes
+// that dominate SettlementBenchmark: resolving the winning selections once and testing each id,
+// next to scanning the market for every bet. The two placement lookups compare the Market maps
+// with a scan of the selections.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class SelectionLookupBenchmark {
+  private static final int BETS = 1_000_000;
+
+  private Event event;
+  private UUID[] selectionIds;
+  private String winner;
+
+  @Setup
+  public void setUp() {
+    event = BenchmarkFixtures.race();
+    List<Selection> selections = event.getMarket().getSelections();
+    selectionIds = new UUID[BETS];
+    for (int i = 0; i < BETS; i++) {
+      UUID id = selections.get(i % selections.size()).getId();
+      // copies, as decoded bets hold, so equals() cannot short-circuit on identity
+      selectionIds[i] = new UUID(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+    winner = selections.get(BenchmarkFixtures.DRIVERS - 1).getDriverId();
+  }
+
+  @Benchmark
+  public int settleResolvedOnce() {
+    Set<UUID> winning = event.getMarket().selectionIdsOfDriver(winner);
+    int won = 0;
+    for (UUID id : selectionIds) {
+      if (winning.contains(id)) won++;
+    }
+    return won;
+  }
+
+  @Benchmark
+  public int settleScanPerBet() {
+    List<Selection> selections = event.getMarket().getSelections();
+    int won = 0;
+    for (UUID id : selectionIds) {
+      if (selections.stream()
+          .anyMatch(s -> s.getId().equals(id) && s.getDriverId().equals(winner))) {
+        won++;
+      }
+    }
+    return won;
+  }
+
+  @Benchmark
+  public int placeLookupMap() {
+    Market market = event.getMarket();
+    int found = 0;
+    for (UUID id : selectionIds) {
+      if (market.findSelection(id).isPresent()) found++;
+    }
+    return found;
+  }
+
+  @Benchmark
+  public int placeLookupScan() {
+    List<Selection> selections = event.getMarket().getSelections();
+    int found = 0;
+    for (UUID id : selectionIds) {
+      if (selections.stream().filter(s -> s.getId().equals(id)).findFirst().isPresent()) {
+        found++;
+      }
+    }
+    return found;
+  }
+}
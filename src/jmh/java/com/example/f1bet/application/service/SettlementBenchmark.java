@@ -0,0 +1,99 @@
+package com.example.f1bet.application.service;
+
+import com.example.f1bet.domain.entity.Bet;
+import com.example.f1bet.domain.entity.Event;
+import com.example.f1bet.domain.entity.Selection;
+import com.example.f1bet.domain.vo.Money;
+import com.example.f1bet.infrastructure.persistence.memory.InMemoryBetRepository;
+import com.example.f1bet.infrastructure.persistence.memory.InMemoryEventRepository;
+import com.example.f1bet.infrastructure.persistence.memory.InMemoryUserRepository;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// RecordOutcomeService.record for one event. Settling consumes the bets, so every invocation gets
+// fresh repositories and a fresh event; otherEventBets adds bets on unrelated events that
+// settlement must not touch. Per-invocation setup is only sound for calls this long, and rules
+// out a throughput figure, so this one reports the sampled time per settlement.
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@State(Scope.Benchmark)
+public class SettlementBenchmark {
+  private static final int USERS = 10_000;
+
+  @Param({"1000", "100000", "1000000"})
+  public int betsPerEvent;
+
+  @Param({"0", "100000"})
+  public int otherEventBets;
+
+  private UUID[] users;
+  private Event otherEvent;
+  private List<Bet> otherBets;
+  private InMemoryEventRepository events;
+  private InMemoryBetRepository bets;
+  private RecordOutcomeService service;
+  private Event event;
+
+  @Setup(Level.Trial)
+  public void setUpTrial() {
+    users = new UUID[USERS];
+    for (int i = 0; i < USERS; i++) {
+      users[i] = UUID.randomUUID();
+    }
+    otherEvent = BenchmarkFixtures.race();
+    otherBets = newBets(otherEvent, otherEventBets);
+  }
+
+  @Setup(Level.Invocation)
+  public void setUpInvocation() {
+    events = new InMemoryEventRepository();
+    bets = new InMemoryBetRepository();
+    service = new RecordOutcomeService(events, bets, new InMemoryUserRepository());
+    events.save(otherEvent);
+    otherBets.forEach(bets::save);
+    event = events.save(BenchmarkFixtures.race());
+    newBets(event, betsPerEvent).forEach(bets::save);
+  }
+
+  @Benchmark
+  public SettlementEngine.Report settle() {
+    return service.record(event.getId(), "d0");
+  }
+
+  private List<Bet> newBets(Event target, int count) {
+    List<Selection> selections = target.getMarket().getSelections();
+    Money stake = Money.of("EUR", "1.00");
+    List<Bet> result = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      Selection s = selections.get(i % selections.size());
+      result.add(
+          new Bet(
+              UUID.randomUUID(),
+              users[i % USERS],
+              target.getId(),
+              s.getId(),
+              stake,
+              s.getOdds(),
+              Instant.now(),
+              target,
+              0L));
+    }
+    return result;
+  }
+}
@@ -0,0 +1,49 @@
+package com.example.f1bet.domain.vo;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+// Money arithmetic on long minor units, next to the BigDecimal equivalent it replaced
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class MoneyBenchmark {
+  private final Money stake = Money.of("EUR", "12.34");
+  private final Money balance = Money.of("EUR", "1000.00");
+  private final long oddsHundredths = 275;
+  private final BigDecimal stakeDecimal = new BigDecimal("12.34");
+  private final BigDecimal balanceDecimal = new BigDecimal("1000.00");
+  private final BigDecimal oddsDecimal = new BigDecimal("2.75");
+
+  @Benchmark
+  public Money add() {
+    return balance.add(stake);
+  }
+
+  @Benchmark
+  public BigDecimal addBigDecimal() {
+    return balanceDecimal.add(stakeDecimal);
+  }
+
+  @Benchmark
+  public Money payout() {
+    return stake.multiplyByHundredths(oddsHundredths);
+  }
+
+  @Benchmark
+  public Money payoutViaBigDecimal() {
+    return stake.multiply(oddsDecimal);
+  }
+
+  @Benchmark
+  public BigDecimal payoutBigDecimal() {
+    return stakeDecimal.multiply(oddsDecimal).setScale(2, RoundingMode.HALF_EVEN);
+  }
+}
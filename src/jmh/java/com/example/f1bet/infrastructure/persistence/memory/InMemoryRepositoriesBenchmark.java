@@ -0,0 +1,80 @@
+package com.example.f1bet.infrastructure.persistence.memory;
+
+import com.example.f1bet.domain.entity.User;
+import com.example.f1bet.domain.vo.Money;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Balance updates on InMemoryUserRepository. "shared" has debits and credits racing on one user,
+// so its compare-and-set retries show up; "own" does the same with a user per thread.
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InMemoryRepositoriesBenchmark {
+  private static final Money AMOUNT = Money.of("EUR", "1.00");
+  private static final Money OPENING = Money.of("EUR", "1000000000.00");
+
+  @State(Scope.Group)
+  public static class Shared {
+    InMemoryUserRepository users;
+    UUID userId;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+      users = new InMemoryUserRepository();
+      userId = UUID.randomUUID();
+      users.credit(userId, OPENING);
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Own {
+    InMemoryUserRepository users;
+    UUID userId;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+      users = new InMemoryUserRepository();
+      userId = UUID.randomUUID();
+      users.credit(userId, OPENING);
+    }
+  }
+
+  @Benchmark
+  @Group("shared")
+  @GroupThreads(2)
+  public Optional<User> sharedDebit(Shared state) {
+    return state.users.tryDebit(state.userId, AMOUNT);
+  }
+
+  @Benchmark
+  @Group("shared")
+  @GroupThreads(2)
+  public User sharedCredit(Shared state) {
+    return state.users.credit(state.userId, AMOUNT);
+  }
+
+  @Benchmark
+  @Group("own")
+  @GroupThreads(2)
+  public Optional<User> ownDebit(Own state) {
+    return state.users.tryDebit(state.userId, AMOUNT);
+  }
+
+  @Benchmark
+  @Group("own")
+  @GroupThreads(2)
+  public User ownCredit(Own state) {
+    return state.users.credit(state.userId, AMOUNT);
+  }
+}
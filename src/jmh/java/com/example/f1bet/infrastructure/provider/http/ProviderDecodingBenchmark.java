@@ -0,0 +1,114 @@
+package com.example.f1bet.infrastructure.provider.http;
+
+import com.example.f1bet.domain.enums.SessionType;
+import com.example.f1bet.ports.out.ProviderSession;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import reactor.core.publisher.Flux;
+
+// Decoding a session listing of `megabytes` MB the way the provider WebClient sees it: JSON in
+// 16 KB buffers. mapEntries is the former decoding, a Map per session whose values are then cast
+// and parsed; typed reads ProviderSession straight off the token stream. The gc profiler's
+// allocation rate per op shows the transient object graph each one builds.
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ProviderDecodingBenchmark {
+  private static final int CHUNK = 16 * 1024;
+  private static final ResolvableType MAP = ResolvableType.forClass(Map.class);
+  private static final ResolvableType SESSION = ResolvableType.forClass(ProviderSession.class);
+
+  @Param({"5"})
+  public int megabytes;
+
+  private final DefaultDataBufferFactory buffers = DefaultDataBufferFactory.sharedInstance;
+  private final Jackson2JsonDecoder mapDecoder = new Jackson2JsonDecoder();
+  private final Jackson2JsonDecoder typedDecoder = ProviderJson.decoder();
+  private byte[] listing;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    StringBuilder json = new StringBuilder("[");
+    Instant start = Instant.parse("2025-03-01T12:00:00Z");
+    SessionType[] types = SessionType.values();
+    for (int i = 0; json.length() < megabytes * 1024 * 1024; i++) {
+      if (i > 0) json.append(',');
+      json.append("{\"id\":\"session-")
+          .append(i)
+          .append("\",\"name\":\"Grand Prix ")
+          .append(i)
+          .append("\",\"sessionType\":\"")
+          .append(types[i % types.length])
+          .append("\",\"country\":\"Country ")
+          .append(i % 24)
+          .append("\",\"year\":")
+          .append(2000 + i % 26)
+          .append(",\"startTime\":\"")
+          .append(start.plusSeconds(3600L * i))
+          .append("\",\"circuitKey\":")
+          .append(i % 30)
+          .append('}');
+    }
+    listing = json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    // both must agree before either is measured
+    if (!mapEntries().equals(typed())) {
+      throw new IllegalStateException("decoders disagree");
+    }
+  }
+
+  @Benchmark
+  public List<ProviderSession> mapEntries() {
+    return mapDecoder
+        .decode(body(), MAP, MediaType.APPLICATION_JSON, null)
+        .map(json -> toSession((Map<?, ?>) json))
+        .collectList()
+        .block();
+  }
+
+  @Benchmark
+  public List<ProviderSession> typed() {
+    return typedDecoder
+        .decode(body(), SESSION, MediaType.APPLICATION_JSON, null)
+        .cast(ProviderSession.class)
+        .collectList()
+        .block();
+  }
+
+  private Flux<DataBuffer> body() {
+    List<DataBuffer> chunks = new ArrayList<>(listing.length / CHUNK + 1);
+    for (int from = 0; from < listing.length; from += CHUNK) {
+      int length = Math.min(CHUNK, listing.length - from);
+      chunks.add(buffers.wrap(ByteBuffer.wrap(listing, from, length).slice()));
+    }
+    return Flux.fromIterable(chunks);
+  }
+
+  private static ProviderSession toSession(Map<?, ?> json) {
+    return new ProviderSession(
+        (String) json.get("id"),
+        (String) json.get("name"),
+        SessionType.valueOf((String) json.get("sessionType")),
+        (String) json.get("country"),
+        (Integer) json.get("year"),
+        Instant.parse((String) json.get("startTime")));
+  }
+}
@@ -0,0 +1,113 @@
+package com.example.f1bet.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.springframework.boot.convert.DurationStyle;
+
+// Options of LoadTest, given as --name=value. Options under app., server., spring. or logging. are
+// passed to the application instead, e.g. --app.persistence.mode=journal for a journaled soak.
+record LoadOptions(
+    int clients,
+    Duration warmup,
+    Duration duration,
+    Duration reportInterval,
+    // requests per second over all clients; 0 sends each client's next request as soon as the
+    // previous one returns
+    double rate,
+    Map<Operation, Integer> mix,
+    int users,
+    int openEvents,
+    double maxErrorRate,
+    Path reportDir,
+    List<String> appArgs) {
+
+  private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+  static {
+    DEFAULTS.put("clients", "200");
+    DEFAULTS.put("warmup", "10s");
+    DEFAULTS.put("duration", "60s");
+    DEFAULTS.put("report-interval", "10s");
+    DEFAULTS.put("rate", "0");
+    DEFAULTS.put("mix", "list=15,bet=40,keyed-bet=20,balance=20,outcome=5");
+    DEFAULTS.put("users", "100000");
+    DEFAULTS.put("open-events", "20");
+    DEFAULTS.put("max-error-rate", "0.01");
+    DEFAULTS.put("report-dir", System.getProperty("load.reportDir", "build/reports/load"));
+  }
+
+  static LoadOptions parse(String[] args) {
+    Map<String, String> values = new LinkedHashMap<>(DEFAULTS);
+    List<String> appArgs = new ArrayList<>();
+    for (String arg : args) {
+      int eq = arg.indexOf('=');
+      if (!arg.startsWith("--") || eq < 0) {
+        throw new IllegalArgumentException("expected --name=value, got " + arg);
+      }
+      String name = arg.substring(2, eq);
+      if (name.startsWith("app.")
+          || name.startsWith("server.")
+          || name.startsWith("spring.")
+          || name.startsWith("logging.")) {
+        appArgs.add(arg);
+      } else if (values.containsKey(name)) {
+        values.put(name, arg.substring(eq + 1));
+      } else {
+        throw new IllegalArgumentException("unknown option --" + name + "; known: " + DEFAULTS);
+      }
+    }
+    LoadOptions options =
+        new LoadOptions(
+            Integer.parseInt(values.get("clients")),
+            DurationStyle.detectAndParse(values.get("warmup")),
+            DurationStyle.detectAndParse(values.get("duration")),
+            DurationStyle.detectAndParse(values.get("report-interval")),
+            Double.parseDouble(values.get("rate")),
+            parseMix(values.get("mix")),
+            Integer.parseInt(values.get("users")),
+            Integer.parseInt(values.get("open-events")),
+            Double.parseDouble(values.get("max-error-rate")),
+            Path.of(values.get("report-dir")),
+            appArgs);
+    if (options.clients <= 0 || options.users <= 0 || options.openEvents <= 0) {
+      throw new IllegalArgumentException("clients, users and open-events must be > 0");
+    }
+    if (options.duration.isZero() || options.reportInterval.isZero() || options.rate < 0) {
+      throw new IllegalArgumentException("duration and report-interval must be > 0, rate >= 0");
+    }
+    return options;
+  }
+
+  String mixText() {
+    StringBuilder text = new StringBuilder();
+    for (Map.Entry<Operation, Integer> weight : mix.entrySet()) {
+      if (!text.isEmpty()) text.append(',');
+      text.append(weight.getKey().label).append('=').append(weight.getValue());
+    }
+    return text.toString();
+  }
+
+  // e.g. 10s, 30m or 1h30m
+  static String text(Duration duration) {
+    return duration.toString().substring(2).toLowerCase(Locale.ROOT);
+  }
+
+  private static Map<Operation, Integer> parseMix(String mix) {
+    Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+    for (String part : mix.split(",")) {
+      String[] kv = part.trim().split("=");
+      if (kv.length != 2) throw new IllegalArgumentException("bad mix entry: " + part);
+      int weight = Integer.parseInt(kv[1].trim());
+      if (weight < 0) throw new IllegalArgumentException("negative weight: " + part);
+      if (weight > 0) weights.put(Operation.byLabel(kv[0].trim()), weight);
+    }
+    if (weights.isEmpty()) throw new IllegalArgumentException("mix has no operations: " + mix);
+    return weights;
+  }
+}
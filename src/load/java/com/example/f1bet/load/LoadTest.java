@@ -0,0 +1,193 @@
+package com.example.f1bet.load;
+
+import com.example.f1bet.bootstrap.F1BetApplication;
+import com.example.f1bet.ports.out.EventRepository;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// Load and soak test: boots the application on a random port against the stub provider, so it
+// runs offline, then has many clients, each on its own virtual thread, send a weighted mix of
+// operations. Prints throughput and latency percentiles every report interval, so a soak shows
+// drift over time, and writes a report of the measured part (after the warmup) to report-dir.
+// Exits with 1 when more than max-error-rate of the measured requests failed.
+//
+// With a rate, each client sends on a fixed schedule and latency is measured from when a request
+// was due rather than when it was sent, so a stalled server shows up in the percentiles instead
+// of just slowing the clients down (coordinated omission).
+//
+// Run with ./gradlew loadTest, e.g. -PloadArgs="--clients=500 --duration=30m --rate=5000"
+public final class LoadTest {
+
+  public static void main(String[] args) {
+    LoadOptions options = LoadOptions.parse(args);
+    int exitCode;
+    try (ConfigurableApplicationContext app = boot(options)) {
+      exitCode = run(app, options);
+    }
+    System.exit(exitCode);
+  }
+
+  private static ConfigurableApplicationContext boot(LoadOptions options) {
+    // command line arguments, so they win over application.yaml
+    List<String> args = new ArrayList<>();
+    args.add("--server.port=0");
+    args.add("--app.provider.mode=stub");
+    args.add("--logging.level.root=WARN");
+    args.addAll(options.appArgs());
+    return new SpringApplicationBuilder(F1BetApplication.class).run(args.toArray(String[]::new));
+  }
+
+  private static int run(ConfigurableApplicationContext app, LoadOptions options) {
+    int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+    HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    Workload workload =
+        new Workload(
+            http,
+            URI.create("http://localhost:" + port),
+            app.getBean(EventRepository.class),
+            options);
+    Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    for (Operation op : options.mix().keySet()) {
+      stats.put(op, new OperationStats());
+    }
+
+    System.out.printf(
+        "Load test on port %d: %d clients, %s, mix %s, %s warmup then %s%n",
+        port,
+        options.clients(),
+        options.rate() > 0 ? options.rate() + " req/s" : "closed loop",
+        options.mixText(),
+        LoadOptions.text(options.warmup()),
+        LoadOptions.text(options.duration()));
+    long dueEveryNanos =
+        options.rate() > 0 ? (long) (options.clients() * 1_000_000_000d / options.rate()) : 0;
+    AtomicBoolean running = new AtomicBoolean(true);
+    long measuredNanos;
+    try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < options.clients(); i++) {
+        clients.execute(() -> client(workload, stats, dueEveryNanos, running));
+      }
+      try {
+        report(stats, options.warmup().toNanos(), options.reportInterval().toNanos(), false);
+        long start = System.nanoTime();
+        report(stats, options.duration().toNanos(), options.reportInterval().toNanos(), true);
+        measuredNanos = System.nanoTime() - start;
+      } finally {
+        // closing the executor waits for the clients to finish their current request
+        running.set(false);
+      }
+    }
+
+    Report report = Report.of(options, stats, measuredNanos);
+    System.out.println();
+    System.out.print(report.text());
+    write(options.reportDir(), report);
+    if (report.errorRate() > options.maxErrorRate()) {
+      System.out.printf(
+          "FAILED: error rate %.4f above max-error-rate %.4f%n",
+          report.errorRate(), options.maxErrorRate());
+      return 1;
+    }
+    return 0;
+  }
+
+  private static void client(
+      Workload workload,
+      Map<Operation, OperationStats> stats,
+      long dueEveryNanos,
+      AtomicBoolean running) {
+    Workload.Client client = workload.newClient();
+    // spread the paced clients over one period, so they do not all fire at once
+    long due =
+        System.nanoTime()
+            + (dueEveryNanos > 0 ? ThreadLocalRandom.current().nextLong(dueEveryNanos) : 0);
+    while (running.get()) {
+      Operation op = workload.pick();
+      long start;
+      if (dueEveryNanos > 0) {
+        long wait = due - System.nanoTime();
+        if (wait > 0) LockSupport.parkNanos(wait);
+        start = due;
+        due += dueEveryNanos;
+      } else {
+        start = System.nanoTime();
+      }
+      try {
+        int status = client.execute(op);
+        stats.get(op).record(System.nanoTime() - start, status);
+      } catch (IOException e) {
+        stats.get(op).failed(System.nanoTime() - start);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  // prints a line per interval until the phase is over
+  private static void report(
+      Map<Operation, OperationStats> stats, long phaseNanos, long intervalNanos, boolean measured) {
+    long end = System.nanoTime() + phaseNanos;
+    while (true) {
+      long now = System.nanoTime();
+      if (now >= end) return;
+      long sleep = Math.min(intervalNanos, end - now);
+      long before = System.nanoTime();
+      LockSupport.parkNanos(sleep);
+      long elapsed = System.nanoTime() - before;
+      Histogram interval = new Histogram(3);
+      OperationStats.Counts counts = new OperationStats.Counts(0, 0, 0);
+      for (OperationStats s : stats.values()) {
+        counts = counts.plus(s.roll(interval, measured));
+      }
+      Runtime rt = Runtime.getRuntime();
+      System.out.printf(
+          Locale.ROOT,
+          "%s %8.0f req/s  p50 %7.2f ms  p99 %7.2f ms  max %8.2f ms  rejected %d  failed %d"
+              + "  heap %d MB%n",
+          measured ? "[measure]" : "[warmup] ",
+          counts.requests() * 1e9 / elapsed,
+          Report.millis(interval.getValueAtPercentile(50)),
+          Report.millis(interval.getValueAtPercentile(99)),
+          Report.millis(interval.getMaxValue()),
+          counts.rejected(),
+          counts.failed(),
+          (rt.totalMemory() - rt.freeMemory()) >> 20);
+    }
+  }
+
+  private static void write(Path dir, Report report) {
+    String name =
+        "load-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+    try {
+      Files.createDirectories(dir);
+      Files.writeString(dir.resolve(name + ".txt"), report.text());
+      Files.writeString(dir.resolve(name + ".json"), report.json());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    System.out.println("Report written to " + dir.resolve(name + ".{txt,json}"));
+  }
+
+  private LoadTest() {}
+}
@@ -0,0 +1,25 @@
+package com.example.f1bet.load;
+
+// The requests a load test client sends; the label is how the mix names them
+enum Operation {
+  LIST_EVENTS("list"),
+  BET("bet"),
+  // a bet with an Idempotency-Key; some are resent with the same key, like a client retry
+  KEYED_BET("keyed-bet"),
+  BALANCE("balance"),
+  // records the outcome of an open event and opens a fresh one in its place
+  OUTCOME("outcome");
+
+  final String label;
+
+  Operation(String label) {
+    this.label = label;
+  }
+
+  static Operation byLabel(String label) {
+    for (Operation op : values()) {
+      if (op.label.equals(label)) return op;
+    }
+    throw new IllegalArgumentException("unknown operation in mix: " + label);
+  }
+}
@@ -0,0 +1,70 @@
+package com.example.f1bet.load;
+
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+// Latencies (in nanoseconds) and outcomes of one operation. Clients record concurrently into a
+// Recorder; the reporting thread swaps out its interval histogram and adds it to the run's total.
+final class OperationStats {
+
+  record Counts(long ok, long rejected, long failed) {
+    long requests() {
+      return ok + rejected + failed;
+    }
+
+    Counts plus(Counts other) {
+      return new Counts(ok + other.ok, rejected + other.rejected, failed + other.failed);
+    }
+  }
+
+  private final Recorder latencies = new Recorder(3);
+  private final LongAdder ok = new LongAdder();
+  // 4xx: the service refused the request, e.g. a bet on an event settled a moment earlier
+  private final LongAdder rejected = new LongAdder();
+  // 5xx, timeouts and I/O errors
+  private final LongAdder failed = new LongAdder();
+
+  // owned by the reporting thread
+  private final Histogram total = new Histogram(3);
+  private Counts totalCounts = new Counts(0, 0, 0);
+  private Histogram recycled;
+
+  void record(long latencyNanos, int status) {
+    latencies.recordValue(latencyNanos);
+    if (status < 400) {
+      ok.increment();
+    } else if (status < 500) {
+      rejected.increment();
+    } else {
+      failed.increment();
+    }
+  }
+
+  void failed(long latencyNanos) {
+    latencies.recordValue(latencyNanos);
+    failed.increment();
+  }
+
+  // Takes what was recorded since the last call and adds its latencies to the interval histogram,
+  // and to the run's total unless it was warmup
+  Counts roll(Histogram into, boolean measured) {
+    Histogram interval = latencies.getIntervalHistogram(recycled);
+    recycled = interval;
+    Counts counts = new Counts(ok.sumThenReset(), rejected.sumThenReset(), failed.sumThenReset());
+    into.add(interval);
+    if (measured) {
+      total.add(interval);
+      totalCounts = totalCounts.plus(counts);
+    }
+    return counts;
+  }
+
+  Histogram total() {
+    return total;
+  }
+
+  Counts totalCounts() {
+    return totalCounts;
+  }
+}
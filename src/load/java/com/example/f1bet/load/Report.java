@@ -0,0 +1,154 @@
+package com.example.f1bet.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.HdrHistogram.Histogram;
+
+// Throughput and latency percentiles of the measured part of a run, per operation and overall
+record Report(LoadOptions options, double seconds, List<Row> rows) {
+
+  record Row(
+      String operation,
+      long requests,
+      long ok,
+      long rejected,
+      long failed,
+      double perSecond,
+      double p50,
+      double p90,
+      double p99,
+      double p999,
+      double max) {}
+
+  static Report of(LoadOptions options, Map<Operation, OperationStats> stats, long nanos) {
+    double seconds = nanos / 1e9;
+    List<Row> rows = new ArrayList<>();
+    Histogram all = new Histogram(3);
+    OperationStats.Counts allCounts = new OperationStats.Counts(0, 0, 0);
+    for (Map.Entry<Operation, OperationStats> e : stats.entrySet()) {
+      OperationStats s = e.getValue();
+      rows.add(row(e.getKey().label, s.total(), s.totalCounts(), seconds));
+      all.add(s.total());
+      allCounts = allCounts.plus(s.totalCounts());
+    }
+    rows.add(row("total", all, allCounts, seconds));
+    return new Report(options, seconds, rows);
+  }
+
+  private static Row row(
+      String operation, Histogram h, OperationStats.Counts counts, double seconds) {
+    return new Row(
+        operation,
+        counts.requests(),
+        counts.ok(),
+        counts.rejected(),
+        counts.failed(),
+        counts.requests() / seconds,
+        millis(h.getValueAtPercentile(50)),
+        millis(h.getValueAtPercentile(90)),
+        millis(h.getValueAtPercentile(99)),
+        millis(h.getValueAtPercentile(99.9)),
+        millis(h.getMaxValue()));
+  }
+
+  static double millis(long nanos) {
+    return nanos / 1e6;
+  }
+
+  double errorRate() {
+    Row total = rows.get(rows.size() - 1);
+    return total.requests() == 0 ? 0d : (double) total.failed() / total.requests();
+  }
+
+  String text() {
+    StringBuilder out = new StringBuilder();
+    out.append(
+        String.format(
+            Locale.ROOT,
+            "%d clients, %s, mix %s, %.1f s measured after %s warmup; latencies in ms%n",
+            options.clients(),
+            options.rate() > 0 ? options.rate() + " req/s" : "closed loop",
+            options.mixText(),
+            seconds,
+            LoadOptions.text(options.warmup())));
+    out.append(
+        String.format(
+            Locale.ROOT,
+            "%-10s %10s %10s %9s %8s %10s %8s %8s %8s %8s %9s%n",
+            "operation",
+            "requests",
+            "ok",
+            "rejected",
+            "failed",
+            "req/s",
+            "p50",
+            "p90",
+            "p99",
+            "p99.9",
+            "max"));
+    for (Row r : rows) {
+      out.append(
+          String.format(
+              Locale.ROOT,
+              "%-10s %10d %10d %9d %8d %10.1f %8.2f %8.2f %8.2f %8.2f %9.2f%n",
+              r.operation(),
+              r.requests(),
+              r.ok(),
+              r.rejected(),
+              r.failed(),
+              r.perSecond(),
+              r.p50(),
+              r.p90(),
+              r.p99(),
+              r.p999(),
+              r.max()));
+    }
+    return out.toString();
+  }
+
+  String json() {
+    StringBuilder out = new StringBuilder();
+    out.append(
+        String.format(
+            Locale.ROOT,
+            "{\"clients\":%d,\"rate\":%s,\"warmupSeconds\":%d,\"measuredSeconds\":%.3f,"
+                + "\"appArgs\":%s,\"operations\":[",
+            options.clients(),
+            options.rate(),
+            options.warmup().toSeconds(),
+            seconds,
+            quoted(options.appArgs())));
+    for (int i = 0; i < rows.size(); i++) {
+      Row r = rows.get(i);
+      if (i > 0) out.append(',');
+      out.append(
+          String.format(
+              Locale.ROOT,
+              "{\"operation\":\"%s\",\"requests\":%d,\"ok\":%d,\"rejected\":%d,\"failed\":%d,"
+                  + "\"perSecond\":%.1f,\"p50Ms\":%.3f,\"p90Ms\":%.3f,\"p99Ms\":%.3f,"
+                  + "\"p999Ms\":%.3f,\"maxMs\":%.3f}",
+              r.operation(),
+              r.requests(),
+              r.ok(),
+              r.rejected(),
+              r.failed(),
+              r.perSecond(),
+              r.p50(),
+              r.p90(),
+              r.p99(),
+              r.p999(),
+              r.max()));
+    }
+    return out.append("]}\n").toString();
+  }
+
+  private static String quoted(List<String> values) {
+    List<String> quoted = new ArrayList<>(values.size());
+    for (String v : values) {
+      quoted.add('"' + v.replace("\\", "\\\\").replace("\"", "\\\"") + '"');
+    }
+    return "[" + String.join(",", quoted) + "]";
+  }
+}
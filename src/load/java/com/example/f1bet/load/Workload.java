@@ -0,0 +1,172 @@
+package com.example.f1bet.load;
+
+import com.example.f1bet.domain.entity.Event;
+import com.example.f1bet.domain.entity.Market;
+import com.example.f1bet.domain.entity.Selection;
+import com.example.f1bet.domain.enums.SessionType;
+import com.example.f1bet.domain.vo.Odds;
+import com.example.f1bet.ports.out.EventRepository;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Turns operations into HTTP requests against the running application. The stub provider only
+// knows three sessions and an outcome closes an event for good, so bets go to a pool of open events
+// created in-process instead: an outcome retires a random one and puts a fresh event in its slot,
+// and a soak run never runs out of events to bet on.
+final class Workload {
+  private static final Duration TIMEOUT = Duration.ofSeconds(30);
+  // id, name and odds; the stub provider's drivers
+  private static final String[][] DRIVERS = {
+    {"d1", "Lewis Hamilton", "2.00"},
+    {"d2", "Max Verstappen", "3.00"},
+    {"d3", "Charles Leclerc", "4.00"}
+  };
+
+  private record OpenEvent(UUID id, List<Selection> selections) {}
+
+  private final HttpClient http;
+  private final URI base;
+  private final EventRepository events;
+  private final UUID[] users;
+  private final AtomicReferenceArray<OpenEvent> open;
+  private final Operation[] ops;
+  private final int[] cumulativeWeights;
+  private final AtomicLong eventSeq = new AtomicLong();
+
+  Workload(HttpClient http, URI base, EventRepository events, LoadOptions options) {
+    this.http = http;
+    this.base = base;
+    this.events = events;
+    this.users = new UUID[options.users()];
+    for (int i = 0; i < users.length; i++) {
+      users[i] = UUID.randomUUID();
+    }
+    this.open = new AtomicReferenceArray<>(options.openEvents());
+    for (int i = 0; i < open.length(); i++) {
+      open.set(i, newEvent());
+    }
+    this.ops = new Operation[options.mix().size()];
+    this.cumulativeWeights = new int[ops.length];
+    int i = 0;
+    int sum = 0;
+    for (Map.Entry<Operation, Integer> weight : options.mix().entrySet()) {
+      sum += weight.getValue();
+      ops[i] = weight.getKey();
+      cumulativeWeights[i++] = sum;
+    }
+  }
+
+  Operation pick() {
+    int r = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+    for (int i = 0; i < ops.length; i++) {
+      if (r < cumulativeWeights[i]) return ops[i];
+    }
+    throw new AssertionError();
+  }
+
+  // one per client; remembers the client's last keyed bet, to resend it as a retry
+  Client newClient() {
+    return new Client();
+  }
+
+  final class Client {
+    private String lastKey;
+    private String lastBody;
+
+    // returns the HTTP status; an IOException (including a timeout) counts as a failure
+    int execute(Operation op) throws IOException, InterruptedException {
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      return switch (op) {
+        case LIST_EVENTS -> send(get("/api/v1/events?page=0&size=3"));
+        case BET -> send(post("/api/v1/bets", betBody(random), null));
+        case KEYED_BET -> keyedBet(random);
+        case BALANCE -> send(get("/api/v1/users/" + user(random) + "/balance"));
+        case OUTCOME -> outcome(random);
+      };
+    }
+
+    private int keyedBet(ThreadLocalRandom random) throws IOException, InterruptedException {
+      // a quarter are retries, answered from the idempotency store
+      if (lastKey == null || random.nextInt(4) != 0) {
+        lastKey = "load-" + UUID.randomUUID();
+        lastBody = betBody(random);
+      }
+      return send(post("/api/v1/bets", lastBody, lastKey));
+    }
+  }
+
+  private int outcome(ThreadLocalRandom random) throws IOException, InterruptedException {
+    OpenEvent retired = open.getAndSet(random.nextInt(open.length()), newEvent());
+    String winner = DRIVERS[random.nextInt(DRIVERS.length)][0];
+    return send(
+        post(
+            "/api/v1/events/" + retired.id() + "/outcome",
+            "{\"winningDriverId\":\"" + winner + "\"}",
+            null));
+  }
+
+  private String betBody(ThreadLocalRandom random) {
+    OpenEvent event = open.get(random.nextInt(open.length()));
+    Selection selection = event.selections().get(random.nextInt(event.selections().size()));
+    return "{\"userId\":\""
+        + user(random)
+        + "\",\"eventId\":\""
+        + event.id()
+        + "\",\"selectionId\":\""
+        + selection.getId()
+        + "\",\"stakeAmount\":1.00,\"currency\":\"EUR\"}";
+  }
+
+  private UUID user(ThreadLocalRandom random) {
+    return users[random.nextInt(users.length)];
+  }
+
+  private OpenEvent newEvent() {
+    List<Selection> selections =
+        Arrays.stream(DRIVERS)
+            .map(d -> new Selection(UUID.randomUUID(), d[0], d[1], Odds.of(new BigDecimal(d[2]))))
+            .toList();
+    Event event =
+        new Event(
+            UUID.randomUUID(),
+            "Load Test GP " + eventSeq.incrementAndGet(),
+            SessionType.RACE,
+            "Nowhere",
+            2025,
+            new Market(Market.WINNER, selections));
+    events.save(event);
+    return new OpenEvent(event.getId(), selections);
+  }
+
+  private HttpRequest get(String path) {
+    return HttpRequest.newBuilder(base.resolve(path)).timeout(TIMEOUT).GET().build();
+  }
+
+  private HttpRequest post(String path, String body, String idempotencyKey) {
+    HttpRequest.Builder request =
+        HttpRequest.newBuilder(base.resolve(path))
+            .timeout(TIMEOUT)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body));
+    if (idempotencyKey != null) {
+      request.header("Idempotency-Key", idempotencyKey);
+    }
+    return request.build();
+  }
+
+  private int send(HttpRequest request) throws IOException, InterruptedException {
+    return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+  }
+}
@@ -0,0 +1,34 @@
+package com.example.f1bet.application.service;
+
+import com.example.f1bet.domain.entity.Bet;
+import com.example.f1bet.domain.enums.BetStatus;
+import com.example.f1bet.infrastructure.web.dto.BetHistoryResponse;
+import com.example.f1bet.infrastructure.web.mapper.DomainWebMappers;
+import com.example.f1bet.ports.out.BetRepository;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.stereotype.Service;
+
+// A user's bets, most recent first, in keyset pages read off the repository's per-user index
+@Service
+public class BetHistoryService {
+  static final int MAX_PAGE_SIZE = 100;
+
+  private final BetRepository bets;
+
+  public BetHistoryService(BetRepository bets) {
+    this.bets = bets;
+  }
+
+  // status null lists every bet; after is the previous page's nextCursor
+  public BetHistoryResponse history(UUID userId, BetStatus status, UUID after, Integer size) {
+    int s = Math.min(ListEventsService.sizeOrDefault(size), MAX_PAGE_SIZE);
+    // read one extra bet to know whether another page follows
+    List<Bet> page = bets.findByUserId(userId, status, after, s + 1);
+    if (page.size() <= s) {
+      return DomainWebMappers.toBetHistoryPage(page, s, null);
+    }
+    List<Bet> items = page.subList(0, s);
+    return DomainWebMappers.toBetHistoryPage(items, s, items.get(s - 1).getId());
+  }
+}
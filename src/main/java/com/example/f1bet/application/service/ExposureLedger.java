@@ -0,0 +1,204 @@
+package com.example.f1bet.application.service;
+
+import com.example.f1bet.domain.entity.Bet;
+import com.example.f1bet.domain.entity.Event;
+import com.example.f1bet.domain.entity.Selection;
+import com.example.f1bet.domain.enums.BetStatus;
+import com.example.f1bet.domain.enums.EventState;
+import com.example.f1bet.domain.exception.IllegalEventStateException;
+import com.example.f1bet.domain.exception.LiabilityLimitException;
+import com.example.f1bet.domain.vo.Money;
+import com.example.f1bet.ports.out.BetRepository;
+import com.example.f1bet.ports.out.EventRepository;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Running stake and potential payout totals per selection and currency of every event with open
+// bets. Placement adds a bet before storing it and settlement drops the event's totals once its
+// bets are settled, so an event's exposure is read off its totals instead of summed over its bets.
+// Totals are LongAdders in minor units, so concurrent placements do not contend on them.
+//
+// With app.exposure.max-liability set, a bet that would take its selection's potential payout past
+// the cap is refused. The payout is then reserved with a CAS on that selection's own counter:
+// exact under concurrency, and bets on other selections never wait for it.
+//
+// After a restart an event's totals are rebuilt from its pending bets the first time it is touched,
+// unless the event is already settled.
+@Component
+public class ExposureLedger {
+
+  public record Line(UUID selectionId, String driverId, long bets, Money stake, Money payout) {}
+
+  // lines are sorted by potential payout, largest first; maxLiability is null without a cap
+  public record Exposure(UUID eventId, BigDecimal maxLiability, List<Line> selections) {}
+
+  private record Key(UUID selectionId, String currency) {}
+
+  // how many recently settled events keep a tombstone; older ones are pruned and a late touch
+  // finds them settled in the repository instead
+  private static final int TOMBSTONES = 1024;
+
+  private static final class Totals {
+    final LongAdder bets = new LongAdder();
+    final LongAdder stake = new LongAdder();
+    final LongAdder payout = new LongAdder();
+    // replaces payout when there is a cap, so the check and the increment are one step
+    final AtomicLong reserved = new AtomicLong();
+  }
+
+  private final EventRepository events;
+  private final BetRepository bets;
+  private final long maxLiabilityMinor; // 0: no cap
+  private final ConcurrentHashMap<UUID, ConcurrentHashMap<Key, Totals>> byEvent =
+      new ConcurrentHashMap<>();
+  // stands in for a settled event's totals, so a late release or reserve is a no-op instead of
+  // loading the event again
+  private final ConcurrentHashMap<Key, Totals> settled = new ConcurrentHashMap<>();
+  private final ArrayDeque<UUID> tombstoned = new ArrayDeque<>(); // guarded by itself
+
+  public ExposureLedger(
+      EventRepository events,
+      BetRepository bets,
+      @Value("${app.exposure.max-liability:0}") BigDecimal maxLiability) {
+    if (maxLiability.signum() < 0) {
+      throw new IllegalArgumentException("max-liability must be >= 0");
+    }
+    this.events = events;
+    this.bets = bets;
+    this.maxLiabilityMinor =
+        maxLiability.movePointRight(2).setScale(0, RoundingMode.DOWN).longValueExact();
+  }
+
+  // Adds a bet that is about to be stored; throws LiabilityLimitException if it breaches the cap
+  public void reserve(Bet bet) {
+    Totals totals = totalsOf(bet);
+    if (totals == null) return;
+    long payout = payoutOf(bet);
+    if (maxLiabilityMinor > 0) {
+      long current;
+      do {
+        current = totals.reserved.get();
+        if (payout > maxLiabilityMinor - current) {
+          throw new LiabilityLimitException("Liability limit reached for this selection");
+        }
+      } while (!totals.reserved.compareAndSet(current, current + payout));
+    } else {
+      totals.payout.add(payout);
+    }
+    totals.bets.increment();
+    totals.stake.add(bet.getStake().getMinorUnits());
+  }
+
+  // takes back a reserved bet that ended up not being stored
+  public void release(Bet bet) {
+    Totals totals = totalsOf(bet);
+    if (totals == null) return;
+    long payout = payoutOf(bet);
+    if (maxLiabilityMinor > 0) {
+      totals.reserved.addAndGet(-payout);
+    } else {
+      totals.payout.add(-payout);
+    }
+    totals.bets.decrement();
+    totals.stake.add(-bet.getStake().getMinorUnits());
+  }
+
+  public void settled(UUID eventId) {
+    byEvent.put(eventId, settled);
+    synchronized (tombstoned) {
+      tombstoned.add(eventId);
+      if (tombstoned.size() > TOMBSTONES) {
+        byEvent.remove(tombstoned.poll(), settled);
+      }
+    }
+  }
+
+  // a settled event has no exposure left
+  public Exposure exposure(UUID eventId) {
+    Event event =
+        events
+            .findById(eventId)
+            .orElseThrow(() -> new IllegalEventStateException("Event not found"));
+    List<Line> lines = new ArrayList<>();
+    ConcurrentHashMap<Key, Totals> open =
+        event.getState() == EventState.SETTLED ? null : totalsOf(eventId);
+    if (open != null) {
+      open.forEach(
+          (key, totals) -> {
+            long count = totals.bets.sum();
+            if (count == 0) return;
+            String driverId =
+                event
+                    .getMarket()
+                    .findSelection(key.selectionId())
+                    .map(Selection::getDriverId)
+                    .orElse(null);
+            lines.add(
+                new Line(
+                    key.selectionId(),
+                    driverId,
+                    count,
+                    Money.ofMinor(key.currency(), totals.stake.sum()),
+                    Money.ofMinor(key.currency(), payoutOf(totals))));
+          });
+      lines.sort(Comparator.comparingLong((Line l) -> l.payout().getMinorUnits()).reversed());
+    }
+    BigDecimal cap = maxLiabilityMinor > 0 ? BigDecimal.valueOf(maxLiabilityMinor, 2) : null;
+    return new Exposure(eventId, cap, lines);
+  }
+
+  // null once the bet's event is settled
+  private Totals totalsOf(Bet bet) {
+    ConcurrentHashMap<Key, Totals> totals = totalsOf(bet.getEventId());
+    if (totals == null || totals == settled) return null;
+    return totals.computeIfAbsent(
+        new Key(bet.getSelectionId(), bet.getStake().getCurrency()), k -> new Totals());
+  }
+
+  // null for a settled event whose tombstone was pruned
+  private ConcurrentHashMap<Key, Totals> totalsOf(UUID eventId) {
+    return byEvent.computeIfAbsent(eventId, this::load);
+  }
+
+  // Runs once per event and process, before any bet on it is reserved here. Null for a settled
+  // event, so nothing is stored for it.
+  private ConcurrentHashMap<Key, Totals> load(UUID eventId) {
+    boolean isSettled =
+        events.findById(eventId).map(e -> e.getState() == EventState.SETTLED).orElse(false);
+    if (isSettled) return null;
+    ConcurrentHashMap<Key, Totals> totals = new ConcurrentHashMap<>();
+    for (Bet bet : bets.findByEventId(eventId)) {
+      if (bet.getStatus() != BetStatus.PENDING) continue;
+      Totals t =
+          totals.computeIfAbsent(
+              new Key(bet.getSelectionId(), bet.getStake().getCurrency()), k -> new Totals());
+      long payout = payoutOf(bet);
+      if (maxLiabilityMinor > 0) {
+        t.reserved.addAndGet(payout);
+      } else {
+        t.payout.add(payout);
+      }
+      t.bets.increment();
+      t.stake.add(bet.getStake().getMinorUnits());
+    }
+    return totals;
+  }
+
+  private long payoutOf(Totals totals) {
+    return maxLiabilityMinor > 0 ? totals.reserved.get() : totals.payout.sum();
+  }
+
+  private static long payoutOf(Bet bet) {
+    return bet.getCapturedOdds().payout(bet.getStake()).getMinorUnits();
+  }
+}
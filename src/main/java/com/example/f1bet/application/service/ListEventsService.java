@@ -4,19 +4,28 @@ import com.example.f1bet.domain.entity.Event;
 import com.example.f1bet.domain.entity.Market;
 import com.example.f1bet.domain.entity.Selection;
 import com.example.f1bet.domain.enums.SessionType;
+import com.example.f1bet.domain.event.DomainEvent;
 import com.example.f1bet.domain.policy.OddsPolicy;
 import com.example.f1bet.infrastructure.web.dto.ListEventsResponse;
 import com.example.f1bet.infrastructure.web.mapper.DomainWebMappers;
+import com.example.f1bet.ports.out.DomainEventPublisher;
 import com.example.f1bet.ports.out.EventRepository;
 import com.example.f1bet.ports.out.F1ProviderPort;
 import com.example.f1bet.ports.out.ProviderDriver;
 import com.example.f1bet.ports.out.ProviderSession;
 import com.example.f1bet.ports.out.ProviderSessionFilter;
+import com.example.f1bet.ports.out.ProviderSessionPage;
 import com.example.f1bet.ports.out.RandomPort;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -35,41 +44,94 @@ public class ListEventsService {
   private final OddsPolicy oddsPolicy;
   private final RandomPort random;
   private final EventRepository eventRepository;
+  private final DomainEventPublisher publisher;
+  private final Timer listAllTimer;
+  private final Timer listPageTimer;
+  private final Timer listAfterTimer;
 
-  public ListEventsService(
+  // package-private constructor for tests
+  ListEventsService(
       F1ProviderPort provider,
       OddsPolicy oddsPolicy,
       RandomPort random,
       EventRepository eventRepository) {
+    this(
+        provider,
+        oddsPolicy,
+        random,
+        eventRepository,
+        DomainEventPublisher.NONE,
+        new SimpleMeterRegistry());
+  }
+
+  @Autowired
+  public ListEventsService(
+      F1ProviderPort provider,
+      OddsPolicy oddsPolicy,
+      RandomPort random,
+      EventRepository eventRepository,
+      DomainEventPublisher publisher,
+      MeterRegistry registry) {
     this.provider = provider;
     this.oddsPolicy = oddsPolicy;
     this.random = random;
     this.eventRepository = eventRepository;
+    this.publisher = publisher;
+    this.listAllTimer = listTimer(registry, "all");
+    this.listPageTimer = listTimer(registry, "page");
+    this.listAfterTimer = listTimer(registry, "cursor");
   }
 
   public List<EventView> list(ProviderSessionFilter filter) {
+    long start = System.nanoTime();
+    try {
+      return listAll(filter);
+    } finally {
+      listAllTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  // Pagination is pushed down to the provider, so only the sessions on the requested page are
+  // turned into events (driver lookups and repository writes included)
+  public ListEventsResponse list(ProviderSessionFilter filter, Integer page, Integer size) {
+    long start = System.nanoTime();
+    try {
+      return listPage(filter, page, size);
+    } finally {
+      listPageTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  // Keyset page over the events already in the repository, ordered by id. The returned cursor is
+  // the last id on the page, or null when there are no more events.
+  public ListEventsResponse listAfter(UUID after, Integer size) {
+    long start = System.nanoTime();
+    try {
+      return listPageAfter(after, size);
+    } finally {
+      listAfterTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private List<EventView> listAll(ProviderSessionFilter filter) {
     List<ProviderSession> sessions = provider.listSessions(filter);
+    Map<String, List<ProviderDriver>> drivers =
+        provider.listDriversForSessions(sessions.stream().map(ProviderSession::id).toList());
     List<EventView> result = new ArrayList<>();
     for (ProviderSession s : sessions) {
-      List<ProviderDriver> drivers = provider.listDriversForSession(s.id());
-      List<Selection> selections = new ArrayList<>();
+      Event created = newEvent(s, drivers.getOrDefault(s.id(), List.of()));
+      // Save event to repository so it exists for betting; an event already stored keeps its
+      // state and odds
+      Event event = eventRepository.saveIfAbsent(created);
+      if (event == created) {
+        publishOdds(event);
+      }
       List<SelectionView> selectionViews = new ArrayList<>();
-      for (ProviderDriver d : drivers) {
-        var odds = oddsPolicy.randomFrom(random);
-        var sel = new Selection(UUID.randomUUID(), d.id(), d.fullName(), odds);
-        selections.add(sel);
-        selectionViews.add(new SelectionView(sel.getId(), d.id(), d.fullName(), odds.getDecimal()));
+      for (Selection sel : event.getMarket().getSelections()) {
+        selectionViews.add(
+            new SelectionView(
+                sel.getId(), sel.getDriverId(), sel.getDriverName(), sel.getOdds().getDecimal()));
       }
-      Event event =
-          new Event(
-              UUID.fromString(s.id()),
-              s.name(),
-              s.sessionType(),
-              s.country(),
-              s.year(),
-              new Market(Market.WINNER, selections));
-      // Save event to repository so it exists for betting
-      eventRepository.save(event);
       result.add(
           new EventView(
               event.getId(),
@@ -82,55 +144,111 @@ public class ListEventsService {
     return result;
   }
 
-  // New: simple in-memory pagination returning the web DTO
-  public ListEventsResponse list(ProviderSessionFilter filter, Integer page, Integer size) {
-    // Build full list of domain Events (same logic as above)
-    List<ProviderSession> sessions = provider.listSessions(filter);
-    List<Event> events = new ArrayList<>();
-    for (ProviderSession s : sessions) {
-      UUID eventId = UUID.fromString(s.id());
-
-      // Check if event already exists in repository
-      Event event = eventRepository.findById(eventId).orElse(null);
-      if (event == null) {
-        // Create new event only if it doesn't exist
-        List<ProviderDriver> drivers = provider.listDriversForSession(s.id());
-        List<Selection> selections = new ArrayList<>();
-        for (ProviderDriver d : drivers) {
-          var odds = oddsPolicy.randomFrom(random);
-          var sel = new Selection(UUID.randomUUID(), d.id(), d.fullName(), odds);
-          selections.add(sel);
+  private ListEventsResponse listPage(ProviderSessionFilter filter, Integer page, Integer size) {
+    int p = pageOrDefault(page);
+    int s = sizeOrDefault(size);
+    PageAssembly assembly = assemble(provider.listSessions(filter, p, s));
+    if (!assembly.missing().isEmpty()) {
+      // fetch drivers for every new session in one batch instead of one call per session
+      assembly.addNewEvents(provider.listDriversForSessions(assembly.missing()));
+    }
+    return assembly.toResponse(p, s);
+  }
+
+  static int pageOrDefault(Integer page) {
+    return (page == null || page < 0) ? 0 : page;
+  }
+
+  static int sizeOrDefault(Integer size) {
+    return (size == null || size <= 0) ? 20 : size;
+  }
+
+  // Starts a page from the events already stored for its sessions; the sessions still missing
+  // need their drivers fetched before addNewEvents can build them. Shared with the reactive
+  // listing, which fetches the same things without blocking.
+  PageAssembly assemble(ProviderSessionPage sessionPage) {
+    return new PageAssembly(sessionPage);
+  }
+
+  final class PageAssembly {
+    private final ProviderSessionPage sessionPage;
+    private final List<Event> events;
+    private final List<String> missing = new ArrayList<>();
+
+    private PageAssembly(ProviderSessionPage sessionPage) {
+      this.sessionPage = sessionPage;
+      this.events = new ArrayList<>(sessionPage.sessions().size());
+      for (ProviderSession session : sessionPage.sessions()) {
+        Event event = eventRepository.findById(UUID.fromString(session.id())).orElse(null);
+        if (event == null) {
+          missing.add(session.id());
         }
-        event =
-            new Event(
-                eventId,
-                s.name(),
-                s.sessionType(),
-                s.country(),
-                s.year(),
-                new Market(Market.WINNER, selections));
-        // Save event to repository so it exists for betting
-        eventRepository.save(event);
+        events.add(event);
       }
-      events.add(event);
     }
 
-    // Defaults
-    int defaultPage = 0;
-    int defaultSize = 20;
-    int p = (page == null || page < 0) ? defaultPage : page;
-    int s = (size == null || size <= 0) ? defaultSize : size;
-
-    int total = events.size();
-    int fromIndex = p * s;
-    List<Event> pageItems;
-    if (fromIndex >= total) {
-      pageItems = new ArrayList<>();
-    } else {
-      int toIndex = Math.min(total, fromIndex + s);
-      pageItems = events.subList(fromIndex, toIndex);
+    List<String> missing() {
+      return missing;
+    }
+
+    PageAssembly addNewEvents(Map<String, List<ProviderDriver>> drivers) {
+      List<ProviderSession> sessions = sessionPage.sessions();
+      for (int i = 0; i < sessions.size(); i++) {
+        if (events.get(i) == null) {
+          ProviderSession session = sessions.get(i);
+          Event event = newEvent(session, drivers.getOrDefault(session.id(), List.of()));
+          // Save event to repository so it exists for betting; a concurrent request may have
+          // stored the same session first, in which case its odds win
+          Event stored = eventRepository.saveIfAbsent(event);
+          if (stored == event) {
+            publishOdds(event);
+          }
+          events.set(i, stored);
+        }
+      }
+      return this;
     }
 
-    return DomainWebMappers.toListEventsResponse(pageItems, p, s, total);
+    ListEventsResponse toResponse(int page, int size) {
+      return DomainWebMappers.toListEventsResponse(events, page, size, sessionPage.total());
+    }
+  }
+
+  private ListEventsResponse listPageAfter(UUID after, Integer size) {
+    int s = sizeOrDefault(size);
+    // read one extra event to know whether another page follows
+    List<Event> events = eventRepository.findPageAfter(after, s + 1);
+    if (events.size() <= s) {
+      return DomainWebMappers.toEventCursorPage(events, s, null);
+    }
+    List<Event> pageItems = events.subList(0, s);
+    return DomainWebMappers.toEventCursorPage(pageItems, s, pageItems.get(s - 1).getId());
+  }
+
+  private void publishOdds(Event event) {
+    publisher.publish(
+        new DomainEvent.OddsChanged(event.getId(), event.getMarket().getSelections()));
+  }
+
+  private Event newEvent(ProviderSession s, List<ProviderDriver> drivers) {
+    List<Selection> selections = new ArrayList<>();
+    for (ProviderDriver d : drivers) {
+      var odds = oddsPolicy.randomFrom(random);
+      selections.add(new Selection(UUID.randomUUID(), d.id(), d.fullName(), odds));
+    }
+    return new Event(
+        UUID.fromString(s.id()),
+        s.name(),
+        s.sessionType(),
+        s.country(),
+        s.year(),
+        new Market(Market.WINNER, selections));
+  }
+
+  static Timer listTimer(MeterRegistry registry, String mode) {
+    return Timer.builder("f1bet.events.list")
+        .tag("mode", mode)
+        .publishPercentileHistogram()
+        .register(registry);
   }
 }
@@ -2,17 +2,37 @@ package com.example.f1bet.application.service;
 
 import com.example.f1bet.domain.entity.Bet;
 import com.example.f1bet.domain.entity.Event;
+import com.example.f1bet.domain.entity.Selection;
 import com.example.f1bet.domain.entity.User;
+import com.example.f1bet.domain.event.DomainEvent;
 import com.example.f1bet.domain.exception.InsufficientBalanceException;
 import com.example.f1bet.domain.exception.InvalidBetException;
 import com.example.f1bet.domain.vo.Money;
 import com.example.f1bet.ports.out.BetRepository;
+import com.example.f1bet.ports.out.ClockPort;
+import com.example.f1bet.ports.out.DomainEventPublisher;
 import com.example.f1bet.ports.out.EventRepository;
 import com.example.f1bet.ports.out.IdempotencyRepository;
 import com.example.f1bet.ports.out.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -27,10 +47,28 @@ public class PlaceBetService {
       String currency,
       String idempotencyKey) {}
 
+  // One item of a batch: the placed or replayed bet, or the failure that rejected the item
+  public record BatchResult(Bet bet, boolean replayed, RuntimeException error) {}
+
+  // a batch item that passed validation and waits for its user's debit
+  private record Pending(int index, Command cmd, String key, Bet bet) {}
+
+  private record DebitKey(UUID userId, String currency) {}
+
+  private static final Duration REPLAY_TIMEOUT = Duration.ofSeconds(10);
+
   private final UserRepository users;
   private final EventRepository events;
   private final BetRepository bets;
   private final IdempotencyRepository idempotency;
+  private final DomainEventPublisher publisher;
+  private final ExposureLedger exposure;
+  private final ClockPort clock;
+  private final Timer placed;
+  private final Timer replayed;
+  private final Timer rejected;
+  private final Timer batch;
+  private final Counter idempotencyHits;
 
   // package-private constructor for tests
   PlaceBetService(UserRepository users, EventRepository events, BetRepository bets) {
@@ -38,7 +76,11 @@ public class PlaceBetService {
         users,
         events,
         bets,
-        new com.example.f1bet.infrastructure.persistence.memory.InMemoryIdempotencyRepository());
+        new com.example.f1bet.infrastructure.persistence.memory.InMemoryIdempotencyRepository(),
+        DomainEventPublisher.NONE,
+        new ExposureLedger(events, bets, BigDecimal.ZERO),
+        Instant::now,
+        new SimpleMeterRegistry());
   }
 
   @Autowired
@@ -46,65 +88,275 @@ public class PlaceBetService {
       UserRepository users,
       EventRepository events,
       BetRepository bets,
-      IdempotencyRepository idempotency) {
+      IdempotencyRepository idempotency,
+      DomainEventPublisher publisher,
+      ExposureLedger exposure,
+      ClockPort clock,
+      MeterRegistry registry) {
     this.users = users;
     this.events = events;
     this.bets = bets;
     this.idempotency = idempotency;
+    this.publisher = publisher;
+    this.exposure = exposure;
+    this.clock = clock;
+    this.placed = placeTimer(registry, "placed");
+    this.replayed = placeTimer(registry, "replayed");
+    this.rejected = placeTimer(registry, "rejected");
+    this.batch =
+        Timer.builder("f1bet.bets.batch").publishPercentileHistogram().register(registry);
+    this.idempotencyHits =
+        Counter.builder("f1bet.idempotency.hits")
+            .description("Bet requests answered with the bet of an earlier request with their key")
+            .register(registry);
   }
 
   public Bet place(Command cmd) {
-    // check idempotency mapping first
-    if (cmd.idempotencyKey() != null && !cmd.idempotencyKey().isBlank()) {
-      Optional<UUID> existing = idempotency.findByUserIdAndKey(cmd.userId(), cmd.idempotencyKey());
+    long start = System.nanoTime();
+    Timer outcome = rejected;
+    try {
+      String key = keyOf(cmd);
+      if (key == null) {
+        Bet bet = placeNew(cmd);
+        outcome = placed;
+        return bet;
+      }
+
+      // the first request with a key runs; concurrent and later ones replay its result
+      Optional<CompletableFuture<UUID>> existing = idempotency.register(cmd.userId(), key);
       if (existing.isPresent()) {
-        // if previous bet exists, return the saved Bet from repository if possible
-        return bets.findById(existing.get())
-            .orElseThrow(() -> new InvalidBetException("Idempotent bet not found"));
+        idempotencyHits.increment();
+        Bet bet = replay(existing.get());
+        outcome = replayed;
+        return bet;
+      }
+      Bet bet;
+      try {
+        bet = placeNew(cmd);
+      } catch (RuntimeException e) {
+        idempotency.release(cmd.userId(), key, e);
+        throw e;
+      }
+      idempotency.save(cmd.userId(), key, bet.getId());
+      outcome = placed;
+      return bet;
+    } finally {
+      outcome.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  // Places many bets at once; items succeed or fail independently and results follow the command
+  // order. Each event is read once per batch, and each user's stakes are debited in one step,
+  // falling back to a debit per bet (in order) only when the sum is not covered.
+  public List<BatchResult> placeBatch(List<Command> cmds) {
+    long start = System.nanoTime();
+    try {
+      return placeAll(cmds);
+    } finally {
+      batch.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private List<BatchResult> placeAll(List<Command> cmds) {
+    BatchResult[] results = new BatchResult[cmds.size()];
+    Map<Integer, CompletableFuture<UUID>> replays = new LinkedHashMap<>();
+    Map<UUID, Optional<Event>> eventsById = new HashMap<>();
+    Map<DebitKey, List<Pending>> byUser = new LinkedHashMap<>();
+    for (int i = 0; i < cmds.size(); i++) {
+      Command cmd = cmds.get(i);
+      String key = keyOf(cmd);
+      if (key != null) {
+        Optional<CompletableFuture<UUID>> existing = idempotency.register(cmd.userId(), key);
+        if (existing.isPresent()) {
+          // resolved last: the key may belong to an earlier item of this very batch
+          idempotencyHits.increment();
+          replays.put(i, existing.get());
+          continue;
+        }
+      }
+      try {
+        Event event =
+            eventsById
+                .computeIfAbsent(cmd.eventId(), events::findById)
+                .orElseThrow(() -> new InvalidBetException("Event not found"));
+        Bet bet = newBet(cmd, event);
+        exposure.reserve(bet);
+        byUser
+            .computeIfAbsent(
+                new DebitKey(cmd.userId(), bet.getStake().getCurrency()), k -> new ArrayList<>())
+            .add(new Pending(i, cmd, key, bet));
+      } catch (RuntimeException e) {
+        results[i] = reject(cmd, key, e);
+      }
+    }
+
+    try {
+      for (List<Pending> group : byUser.values()) {
+        placeGroup(group, results);
+      }
+    } catch (RuntimeException | Error e) {
+      // keys of items left without a result would stay registered, and every later request with
+      // one of them would wait on it
+      RuntimeException failure =
+          e instanceof RuntimeException re ? re : new IllegalStateException("Batch failed", e);
+      for (List<Pending> group : byUser.values()) {
+        for (Pending pending : group) {
+          if (results[pending.index()] == null && pending.key() != null) {
+            idempotency.release(pending.cmd().userId(), pending.key(), failure);
+          }
+        }
+      }
+      throw e;
+    }
+    replays.forEach(
+        (i, inFlight) -> {
+          try {
+            results[i] = new BatchResult(replay(inFlight), true, null);
+          } catch (RuntimeException e) {
+            results[i] = new BatchResult(null, false, e);
+          }
+        });
+    return Arrays.asList(results);
+  }
+
+  private void placeGroup(List<Pending> group, BatchResult[] results) {
+    UUID userId = group.get(0).cmd().userId();
+    Money total = group.get(0).bet().getStake();
+    for (int i = 1; i < group.size(); i++) {
+      total = total.add(group.get(i).bet().getStake());
+    }
+    Optional<User> debited = users.tryDebit(userId, total);
+    if (debited.isPresent()) {
+      publishBalance(debited.get());
+      for (Pending pending : group) {
+        results[pending.index()] = store(pending);
+      }
+      return;
+    }
+    // the sum is not covered: take the bets one by one, so those the balance allows still go in
+    for (Pending pending : group) {
+      Optional<User> single =
+          group.size() > 1 ? users.tryDebit(userId, pending.bet().getStake()) : Optional.empty();
+      if (single.isPresent()) {
+        publishBalance(single.get());
+        results[pending.index()] = store(pending);
+      } else {
+        exposure.release(pending.bet());
+        results[pending.index()] =
+            reject(
+                pending.cmd(),
+                pending.key(),
+                new InsufficientBalanceException("Insufficient balance"));
+      }
+    }
+  }
+
+  // saves a bet whose stake is already debited
+  private BatchResult store(Pending pending) {
+    Command cmd = pending.cmd();
+    try {
+      bets.save(pending.bet());
+    } catch (RuntimeException e) {
+      publishBalance(users.credit(cmd.userId(), pending.bet().getStake()));
+      exposure.release(pending.bet());
+      return reject(cmd, pending.key(), e);
+    }
+    if (pending.key() != null) {
+      idempotency.save(cmd.userId(), pending.key(), pending.bet().getId());
+    }
+    return new BatchResult(pending.bet(), false, null);
+  }
+
+  private BatchResult reject(Command cmd, String key, RuntimeException e) {
+    if (key != null) {
+      idempotency.release(cmd.userId(), key, e);
+    }
+    return new BatchResult(null, false, e);
+  }
+
+  private void publishBalance(User user) {
+    publisher.publish(
+        new DomainEvent.BalanceChanged(user.getId(), user.getBalance(), user.getVersion()));
+  }
+
+  private static String keyOf(Command cmd) {
+    return cmd.idempotencyKey() == null || cmd.idempotencyKey().isBlank()
+        ? null
+        : cmd.idempotencyKey();
+  }
+
+  // waits on the first request with the key, but not forever; the timeout applies to a copy, so
+  // the first request can still complete the key afterwards
+  private Bet replay(CompletableFuture<UUID> inFlight) {
+    UUID betId;
+    try {
+      betId = inFlight.copy().orTimeout(REPLAY_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException re) throw re;
+      if (e.getCause() instanceof TimeoutException) {
+        throw new InvalidBetException("A request with this idempotency key is still in progress");
       }
+      throw e;
     }
+    // if previous bet exists, return the saved Bet from repository if possible
+    return bets.findById(betId)
+        .orElseThrow(() -> new InvalidBetException("Idempotent bet not found"));
+  }
 
+  private Bet placeNew(Command cmd) {
     Event event =
         events
             .findById(cmd.eventId())
             .orElseThrow(() -> new InvalidBetException("Event not found"));
-    if (!event.hasSelection(cmd.selectionId())) {
-      throw new InvalidBetException("Selection not part of the event");
-    }
-    Money stake = Money.stake(cmd.currency(), cmd.stake());
-
-    User user = users.findById(cmd.userId()).orElseGet(() -> users.save(User.create(cmd.userId())));
+    Bet bet = newBet(cmd, event);
 
-    if (user.getBalance().getAmount().compareTo(stake.getAmount()) < 0
-        || !user.getBalance().getCurrency().equals(stake.getCurrency())) {
+    // the liability cap is checked before the debit, so a refused bet leaves the balance alone
+    exposure.reserve(bet);
+    // check-and-debit is a single atomic step, so concurrent bets from the same user can
+    // neither overdraw the balance nor fail after their bet was stored
+    Money stake = bet.getStake();
+    Optional<User> debited = users.tryDebit(cmd.userId(), stake);
+    if (debited.isEmpty()) {
+      exposure.release(bet);
       throw new InsufficientBalanceException("Insufficient balance");
     }
-
-    UUID betId = UUID.randomUUID();
-    Bet bet =
-        new Bet(
-            betId,
-            cmd.userId(),
-            cmd.eventId(),
-            cmd.selectionId(),
-            stake,
-            event.getMarket().getSelections().stream()
-                .filter(s -> s.getId().equals(cmd.selectionId()))
-                .findFirst()
-                .orElseThrow()
-                .getOdds(),
-            event,
-            0L);
-
-    bets.save(bet);
-    long userVersion = users.versionOf(user.getId());
-    users.update(user.withBalance(user.getBalance().subtract(stake)), userVersion);
-
-    // persist idempotency mapping after successful save
-    if (cmd.idempotencyKey() != null && !cmd.idempotencyKey().isBlank()) {
-      idempotency.save(cmd.userId(), cmd.idempotencyKey(), betId);
+    publishBalance(debited.get());
+    try {
+      bets.save(bet);
+    } catch (RuntimeException e) {
+      publishBalance(users.credit(cmd.userId(), stake));
+      exposure.release(bet);
+      throw e;
     }
 
     return bet;
   }
+
+  private Bet newBet(Command cmd, Event event) {
+    Selection selection =
+        event
+            .getMarket()
+            .findSelection(cmd.selectionId())
+            .orElseThrow(() -> new InvalidBetException("Selection not part of the event"));
+    Money stake = Money.stake(cmd.currency(), cmd.stake());
+
+    UUID betId = UUID.randomUUID();
+    return new Bet(
+        betId,
+        cmd.userId(),
+        cmd.eventId(),
+        cmd.selectionId(),
+        stake,
+        selection.getOdds(),
+        clock.now(),
+        event,
+        0L);
+  }
+
+  private static Timer placeTimer(MeterRegistry registry, String outcome) {
+    return Timer.builder("f1bet.bets.place")
+        .tag("outcome", outcome)
+        .publishPercentileHistogram()
+        .register(registry);
+  }
 }
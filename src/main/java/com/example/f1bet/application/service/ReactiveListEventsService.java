@@ -0,0 +1,66 @@
+package com.example.f1bet.application.service;
+
+import com.example.f1bet.infrastructure.web.dto.ListEventsResponse;
+import com.example.f1bet.ports.out.ProviderSessionFilter;
+import com.example.f1bet.ports.out.ReactiveF1ProviderPort;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+// ListEventsService for the reactive stack: the same pages, but the provider round trips are
+// awaited without holding a thread. Repository work resumes on repositoryScheduler, which only
+// leaves the event loop when writes are journaled.
+@Service
+@Profile("reactive")
+public class ReactiveListEventsService {
+  private final ListEventsService listEvents;
+  private final ReactiveF1ProviderPort provider;
+  private final Scheduler repositoryScheduler;
+  private final Timer listPageTimer;
+
+  public ReactiveListEventsService(
+      ListEventsService listEvents,
+      @Qualifier("reactiveF1ProviderPort") ReactiveF1ProviderPort provider,
+      Scheduler repositoryScheduler,
+      MeterRegistry registry) {
+    this.listEvents = listEvents;
+    this.provider = provider;
+    this.repositoryScheduler = repositoryScheduler;
+    this.listPageTimer = ListEventsService.listTimer(registry, "page");
+  }
+
+  public Mono<ListEventsResponse> list(ProviderSessionFilter filter, Integer page, Integer size) {
+    int p = ListEventsService.pageOrDefault(page);
+    int s = ListEventsService.sizeOrDefault(size);
+    return Mono.defer(
+        () -> {
+          long start = System.nanoTime();
+          return provider
+              .fetchSessionPage(filter, p, s)
+              .publishOn(repositoryScheduler)
+              .map(listEvents::assemble)
+              .flatMap(
+                  assembly ->
+                      assembly.missing().isEmpty()
+                          ? Mono.just(assembly)
+                          : provider
+                              .fetchDriversForSessions(assembly.missing())
+                              .publishOn(repositoryScheduler)
+                              .map(assembly::addNewEvents))
+              .map(assembly -> assembly.toResponse(p, s))
+              .doFinally(
+                  signal -> listPageTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+  }
+
+  // reads the repository only, so there is nothing to wait for
+  public Mono<ListEventsResponse> listAfter(UUID after, Integer size) {
+    return Mono.fromSupplier(() -> listEvents.listAfter(after, size));
+  }
+}
@@ -1,79 +1,140 @@
 package com.example.f1bet.application.service;
 
-import com.example.f1bet.domain.entity.Bet;
 import com.example.f1bet.domain.entity.Event;
 import com.example.f1bet.domain.enums.EventState;
+import com.example.f1bet.domain.event.DomainEvent;
 import com.example.f1bet.domain.exception.IllegalEventStateException;
 import com.example.f1bet.ports.out.BetRepository;
+import com.example.f1bet.ports.out.DomainEventPublisher;
 import com.example.f1bet.ports.out.EventRepository;
 import com.example.f1bet.ports.out.UserRepository;
-import java.util.List;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
 public class RecordOutcomeService {
+  private static final Logger log = LoggerFactory.getLogger(RecordOutcomeService.class);
 
   private final EventRepository events;
-  private final BetRepository bets;
-  private final UserRepository users;
+  private final SettlementEngine engine;
+  private final DomainEventPublisher publisher;
+  private final ExposureLedger exposure;
+  private final Timer recordTimer;
+  private final Timer loadTimer;
+  private final Timer partitionTimer;
+  private final Timer settleTimer;
+  private final Counter betsSettled;
 
-  public RecordOutcomeService(EventRepository events, BetRepository bets, UserRepository users) {
+  // package-private constructor for tests
+  RecordOutcomeService(EventRepository events, BetRepository bets, UserRepository users) {
+    this(
+        events,
+        new SettlementEngine(bets, users),
+        DomainEventPublisher.NONE,
+        new ExposureLedger(events, bets, BigDecimal.ZERO),
+        new SimpleMeterRegistry());
+  }
+
+  @Autowired
+  public RecordOutcomeService(
+      EventRepository events,
+      SettlementEngine engine,
+      DomainEventPublisher publisher,
+      ExposureLedger exposure,
+      MeterRegistry registry) {
     this.events = events;
-    this.bets = bets;
-    this.users = users;
+    this.engine = engine;
+    this.publisher = publisher;
+    this.exposure = exposure;
+    this.recordTimer =
+        Timer.builder("f1bet.outcome.record").publishPercentileHistogram().register(registry);
+    this.loadTimer = phaseTimer(registry, "load");
+    this.partitionTimer = phaseTimer(registry, "partition");
+    this.settleTimer = phaseTimer(registry, "settle");
+    this.betsSettled = Counter.builder("f1bet.settlement.bets").register(registry);
+  }
+
+  public SettlementEngine.Report record(UUID eventId, String winningDriverId) {
+    return record(eventId, winningDriverId, SettlementEngine.Progress.NONE);
+  }
+
+  public SettlementEngine.Report record(
+      UUID eventId, String winningDriverId, SettlementEngine.Progress progress) {
+    long start = System.nanoTime();
+    try {
+      return recordOutcome(eventId, winningDriverId, progress);
+    } finally {
+      recordTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
   }
 
-  public void record(UUID eventId, String winningDriverId) {
+  private SettlementEngine.Report recordOutcome(
+      UUID eventId, String winningDriverId, SettlementEngine.Progress progress) {
     Event event =
         events
             .findById(eventId)
             .orElseThrow(() -> new IllegalEventStateException("Event not found"));
 
+    requireSameWinner(event, winningDriverId);
     if (event.getState() == EventState.SETTLED) {
-      return; // idempotent
+      return SettlementEngine.Report.empty(eventId); // idempotent
     }
     long version = events.versionOf(eventId);
     if (event.getState() == EventState.SCHEDULED) {
-      event.markFinished();
-      events.update(event, version);
-      version++;
-    }
-    if (event.getState() == EventState.FINISHED) {
-      event.markSettled();
+      event.markFinished(winningDriverId);
       events.update(event, version);
       version++;
+      publisher.publish(new DomainEvent.EventStateChanged(eventId, EventState.FINISHED));
     }
 
-    List<Bet> byEvent = bets.findByEventId(eventId);
-    for (Bet bet : byEvent) {
-      boolean winner =
-          event.getMarket().getSelections().stream()
-              .anyMatch(
-                  s ->
-                      s.getId().equals(bet.getSelectionId())
-                          && s.getDriverId().equals(winningDriverId));
-      if (winner) {
-        bet.markWon();
-        // update bet status first (use repository version) then credit user
-        long betVersion = bets.versionOf(bet.getId());
-        bets.update(bet, betVersion);
+    // FINISHED already closes the event to new bets. SETTLED is stored only once every bet is
+    // settled, so if settlement fails part way the event stays FINISHED and recording the outcome
+    // again settles the bets still PENDING.
+    SettlementEngine.Report report = engine.settle(event, winningDriverId, progress);
+    event.markSettled();
+    events.update(event, version);
+    exposure.settled(eventId);
+    publisher.publish(new DomainEvent.EventStateChanged(eventId, EventState.SETTLED));
+    loadTimer.record(report.loadNanos(), TimeUnit.NANOSECONDS);
+    partitionTimer.record(report.partitionNanos(), TimeUnit.NANOSECONDS);
+    settleTimer.record(report.settleNanos(), TimeUnit.NANOSECONDS);
+    betsSettled.increment(report.betsSettled());
+    log.info(
+        "Settled event {}: {} bets ({} won, {} users credited) in {} shards, {} bets/s"
+            + " [load={}ms, partition={}ms, settle={}ms]",
+        eventId,
+        report.betsSettled(),
+        report.winningBets(),
+        report.usersCredited(),
+        report.shards(),
+        Math.round(report.betsPerSecond()),
+        TimeUnit.NANOSECONDS.toMillis(report.loadNanos()),
+        TimeUnit.NANOSECONDS.toMillis(report.partitionNanos()),
+        TimeUnit.NANOSECONDS.toMillis(report.settleNanos()));
+    return report;
+  }
 
-        users
-            .findById(bet.getUserId())
-            .ifPresent(
-                u -> {
-                  long uv = users.versionOf(u.getId());
-                  users.update(
-                      u.withBalance(
-                          u.getBalance().add(bet.getCapturedOdds().payout(bet.getStake()))),
-                      uv);
-                });
-      } else {
-        bet.markLost();
-        long betVersion = bets.versionOf(bet.getId());
-        bets.update(bet, betVersion);
-      }
+  // the winner is stored when the event finishes; an outcome naming another one is refused
+  static void requireSameWinner(Event event, String winningDriverId) {
+    String recorded = event.getWinningDriverId();
+    if (recorded != null && !recorded.equals(winningDriverId)) {
+      throw new IllegalEventStateException("Outcome already recorded with winner " + recorded);
     }
   }
+
+  private static Timer phaseTimer(MeterRegistry registry, String phase) {
+    return Timer.builder("f1bet.settlement.phase")
+        .tag("phase", phase)
+        .publishPercentileHistogram()
+        .register(registry);
+  }
 }
@@ -0,0 +1,225 @@
+package com.example.f1bet.application.service;
+
+import com.example.f1bet.domain.entity.Bet;
+import com.example.f1bet.domain.entity.Event;
+import com.example.f1bet.domain.entity.User;
+import com.example.f1bet.domain.enums.BetStatus;
+import com.example.f1bet.domain.event.DomainEvent;
+import com.example.f1bet.domain.vo.Money;
+import com.example.f1bet.ports.out.BetRepository;
+import com.example.f1bet.ports.out.DomainEventPublisher;
+import com.example.f1bet.ports.out.UserRepository;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Bets are partitioned by user so each shard owns its users exclusively: one worker marks a user's
+// bets won/lost and credits the user once with the summed payout of all winning bets.
+@Component
+public class SettlementEngine implements AutoCloseable {
+
+  public record Report(
+      UUID eventId,
+      int betsSettled,
+      int winningBets,
+      int usersCredited,
+      int shards,
+      long loadNanos,
+      long partitionNanos,
+      long settleNanos) {
+
+    public static Report empty(UUID eventId) {
+      return new Report(eventId, 0, 0, 0, 0, 0L, 0L, 0L);
+    }
+
+    public long totalNanos() {
+      return loadNanos + partitionNanos + settleNanos;
+    }
+
+    public double betsPerSecond() {
+      long total = totalNanos();
+      return total == 0 ? 0d : betsSettled * 1_000_000_000d / total;
+    }
+  }
+
+  // Called from the settling workers as work completes, so implementations must be thread-safe
+  public interface Progress {
+    Progress NONE = new Progress() {};
+
+    default void loaded(int bets) {}
+
+    // one user's bets are settled; payout is what the user was credited, or null
+    default void settled(int bets, Money payout) {}
+  }
+
+  private record ShardResult(int settled, int winners, int usersCredited) {}
+
+  // below this many bets the fork/join overhead outweighs the gain
+  static final int SEQUENTIAL_THRESHOLD = 2048;
+  private static final int SHARDS_PER_WORKER = 4;
+
+  private final BetRepository bets;
+  private final UserRepository users;
+  private final DomainEventPublisher publisher;
+  private final ForkJoinPool pool; // owned, and shut down on close, unless it is the common pool
+
+  public SettlementEngine(BetRepository bets, UserRepository users) {
+    this(bets, users, DomainEventPublisher.NONE, 0);
+  }
+
+  @Autowired
+  public SettlementEngine(
+      BetRepository bets,
+      UserRepository users,
+      DomainEventPublisher publisher,
+      @Value("${app.settlement.parallelism:0}") int parallelism) {
+    this.bets = bets;
+    this.users = users;
+    this.publisher = publisher;
+    this.pool = parallelism > 0 ? new ForkJoinPool(parallelism) : ForkJoinPool.commonPool();
+  }
+
+  @Override
+  public void close() {
+    if (pool != ForkJoinPool.commonPool()) {
+      pool.shutdown();
+    }
+  }
+
+  public Report settle(Event event, String winningDriverId) {
+    return settle(event, winningDriverId, Progress.NONE);
+  }
+
+  public Report settle(Event event, String winningDriverId, Progress progress) {
+    long start = System.nanoTime();
+    // bets settled by an earlier, failed attempt are left as they are
+    List<Bet> byEvent = new ArrayList<>();
+    for (Bet bet : bets.findByEventId(event.getId())) {
+      if (bet.getStatus() == BetStatus.PENDING) byEvent.add(bet);
+    }
+    long loaded = System.nanoTime();
+    progress.loaded(byEvent.size());
+
+    // resolved once per event; per bet it is a single lookup in a set that is usually one id
+    // (empty: nobody won), and every selection of a driver listed twice wins
+    Set<UUID> winningSelections = event.getMarket().selectionIdsOfDriver(winningDriverId);
+    int shardCount =
+        byEvent.size() < SEQUENTIAL_THRESHOLD ? 1 : pool.getParallelism() * SHARDS_PER_WORKER;
+    List<Map<UUID, List<Bet>>> shards = partitionByUser(byEvent, shardCount);
+    long partitioned = System.nanoTime();
+
+    ShardResult total;
+    if (shards.size() == 1) {
+      total = settleShard(event.getId(), shards.get(0), winningSelections, progress);
+    } else {
+      List<Callable<ShardResult>> tasks = new ArrayList<>(shards.size());
+      for (Map<UUID, List<Bet>> shard : shards) {
+        tasks.add(() -> settleShard(event.getId(), shard, winningSelections, progress));
+      }
+      total = sum(pool.invokeAll(tasks));
+    }
+    long settled = System.nanoTime();
+
+    return new Report(
+        event.getId(),
+        total.settled(),
+        total.winners(),
+        total.usersCredited(),
+        shards.size(),
+        loaded - start,
+        partitioned - loaded,
+        settled - partitioned);
+  }
+
+  private static List<Map<UUID, List<Bet>>> partitionByUser(List<Bet> byEvent, int shardCount) {
+    List<Map<UUID, List<Bet>>> shards = new ArrayList<>(shardCount);
+    for (int i = 0; i < shardCount; i++) {
+      shards.add(new HashMap<>());
+    }
+    for (Bet bet : byEvent) {
+      int shard = Math.floorMod(bet.getUserId().hashCode(), shardCount);
+      shards.get(shard).computeIfAbsent(bet.getUserId(), k -> new ArrayList<>()).add(bet);
+    }
+    return shards;
+  }
+
+  private ShardResult settleShard(
+      UUID eventId, Map<UUID, List<Bet>> shard, Set<UUID> winningSelections, Progress progress) {
+    int settled = 0;
+    int winners = 0;
+    int credited = 0;
+    for (Map.Entry<UUID, List<Bet>> entry : shard.entrySet()) {
+      Money payout = null;
+      for (Bet bet : entry.getValue()) {
+        if (winningSelections.contains(bet.getSelectionId())) {
+          Money won = bet.getCapturedOdds().payout(bet.getStake());
+          payout = payout == null ? won : payout.add(won);
+        }
+      }
+      // Credited before the bets leave PENDING, so a failed credit leaves all of them to the
+      // retry. The payout stays marked in flight until they are stored: a retry after a failed
+      // store finds the mark and settles the remaining bets without paying again.
+      Money creditedPayout = null;
+      if (payout != null) {
+        Optional<User> user = users.creditPayout(entry.getKey(), payout, eventId);
+        if (user.isPresent()) {
+          User u = user.get();
+          publisher.publish(
+              new DomainEvent.BalanceChanged(u.getId(), u.getBalance(), u.getVersion()));
+          creditedPayout = payout;
+          credited++;
+        }
+      }
+      for (Bet bet : entry.getValue()) {
+        if (winningSelections.contains(bet.getSelectionId())) {
+          bet.markWon();
+          winners++;
+        } else {
+          bet.markLost();
+        }
+        bets.update(bet, bets.versionOf(bet.getId()));
+        settled++;
+      }
+      // also when nothing was left to pay: the mark may be from the attempt that failed
+      users.completePayout(entry.getKey(), eventId);
+      progress.settled(entry.getValue().size(), creditedPayout);
+    }
+    return new ShardResult(settled, winners, credited);
+  }
+
+  private static ShardResult sum(List<Future<ShardResult>> futures) {
+    int settled = 0;
+    int winners = 0;
+    int credited = 0;
+    for (Future<ShardResult> f : futures) {
+      ShardResult r = join(f);
+      settled += r.settled();
+      winners += r.winners();
+      credited += r.usersCredited();
+    }
+    return new ShardResult(settled, winners, credited);
+  }
+
+  private static ShardResult join(Future<ShardResult> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Settlement interrupted", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException re) throw re;
+      throw new IllegalStateException("Settlement failed", e.getCause());
+    }
+  }
+}
@@ -0,0 +1,271 @@
+package com.example.f1bet.application.service;
+
+import com.example.f1bet.domain.entity.Event;
+import com.example.f1bet.domain.exception.IllegalEventStateException;
+import com.example.f1bet.domain.vo.Money;
+import com.example.f1bet.ports.out.EventRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+// Runs outcome recording as background jobs, so the request that records an outcome returns at
+// once instead of holding the connection for the whole settlement. Jobs run on a fixed number of
+// workers behind a bounded queue; a full queue rejects new jobs rather than piling them up.
+// Submitting an outcome again for an event returns the job already queued, running or done for
+// it, so client retries add no load; only a failed job is replaced, and the new job settles the
+// bets the failed one left PENDING.
+@Service
+public class SettlementJobService implements AutoCloseable {
+  private static final Logger log = LoggerFactory.getLogger(SettlementJobService.class);
+
+  public enum Status {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+  }
+
+  // A point-in-time view of a job. betsTotal is known once the event's bets are loaded;
+  // payoutsCredited is keyed by currency. Throughput is measured from the start of the job.
+  public record Job(
+      UUID id,
+      UUID eventId,
+      String winningDriverId,
+      Status status,
+      int betsTotal,
+      long betsProcessed,
+      long usersCredited,
+      Map<String, Money> payoutsCredited,
+      double betsPerSecond,
+      Instant submittedAt,
+      Instant startedAt,
+      Instant finishedAt,
+      String error) {}
+
+  private final EventRepository events;
+  private final RecordOutcomeService recordOutcomeService;
+  private final ExecutorService workers;
+  private final int retainedJobs;
+  private final Object lock = new Object();
+  private final Map<UUID, Tracked> jobs = new LinkedHashMap<>(); // guarded by lock
+  private final Map<UUID, Tracked> byEvent = new LinkedHashMap<>(); // guarded by lock
+
+  // package-private constructor for tests
+  SettlementJobService(
+      EventRepository events,
+      RecordOutcomeService recordOutcomeService,
+      ExecutorService workers,
+      int retainedJobs) {
+    this.events = events;
+    this.recordOutcomeService = recordOutcomeService;
+    this.workers = workers;
+    this.retainedJobs = retainedJobs;
+  }
+
+  @Autowired
+  public SettlementJobService(
+      EventRepository events,
+      RecordOutcomeService recordOutcomeService,
+      @Value("${app.settlement.jobs.workers:2}") int workers,
+      @Value("${app.settlement.jobs.queue-capacity:100}") int queueCapacity,
+      @Value("${app.settlement.jobs.retained:1000}") int retainedJobs,
+      MeterRegistry registry) {
+    this(events, recordOutcomeService, newWorkers(workers, queueCapacity), retainedJobs);
+    ThreadPoolExecutor pool = (ThreadPoolExecutor) this.workers;
+    Gauge.builder("f1bet.settlement.jobs", pool, p -> p.getQueue().size())
+        .tag("status", "queued")
+        .register(registry);
+    Gauge.builder("f1bet.settlement.jobs", pool, ThreadPoolExecutor::getActiveCount)
+        .tag("status", "running")
+        .register(registry);
+  }
+
+  // Throws IllegalEventStateException for an unknown event or a winner other than the one already
+  // submitted or recorded, and IllegalStateException when the queue is full; the event is settled
+  // later by a worker.
+  public Job submit(UUID eventId, String winningDriverId) {
+    Event event =
+        events
+            .findById(eventId)
+            .orElseThrow(() -> new IllegalEventStateException("Event not found"));
+    RecordOutcomeService.requireSameWinner(event, winningDriverId);
+    Tracked job;
+    synchronized (lock) {
+      Tracked existing = byEvent.get(eventId);
+      if (existing != null && existing.status != Status.FAILED) {
+        if (!existing.winningDriverId.equals(winningDriverId)) {
+          throw new IllegalEventStateException(
+              "Settlement already submitted with winner " + existing.winningDriverId);
+        }
+        return existing.snapshot();
+      }
+      job = new Tracked(UUID.randomUUID(), eventId, winningDriverId);
+      try {
+        workers.execute(() -> run(job));
+      } catch (RejectedExecutionException e) {
+        throw new IllegalStateException("Settlement queue is full", e);
+      }
+      jobs.put(job.id, job);
+      byEvent.put(eventId, job);
+      evictFinished();
+    }
+    return job.snapshot();
+  }
+
+  public Optional<Job> find(UUID jobId) {
+    synchronized (lock) {
+      Tracked job = jobs.get(jobId);
+      return job == null ? Optional.empty() : Optional.of(job.snapshot());
+    }
+  }
+
+  @Override
+  public void close() {
+    workers.shutdownNow();
+  }
+
+  private void run(Tracked job) {
+    job.start();
+    try {
+      job.complete(recordOutcomeService.record(job.eventId, job.winningDriverId, job));
+    } catch (RuntimeException e) {
+      log.warn("Settlement job {} for event {} failed", job.id, job.eventId, e);
+      job.fail(e);
+    }
+  }
+
+  // caller holds lock; jobs that are queued or running are never evicted
+  private void evictFinished() {
+    Iterator<Tracked> it = jobs.values().iterator();
+    while (jobs.size() > retainedJobs && it.hasNext()) {
+      Tracked job = it.next();
+      if (job.status == Status.COMPLETED || job.status == Status.FAILED) {
+        it.remove();
+        byEvent.remove(job.eventId, job);
+      }
+    }
+  }
+
+  private static ExecutorService newWorkers(int workers, int queueCapacity) {
+    if (workers <= 0 || queueCapacity <= 0) {
+      throw new IllegalArgumentException("settlement job workers and queue must be > 0");
+    }
+    AtomicInteger threads = new AtomicInteger();
+    return new ThreadPoolExecutor(
+        workers,
+        workers,
+        0L,
+        TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity),
+        r -> {
+          Thread t = new Thread(r, "settlement-job-" + threads.incrementAndGet());
+          t.setDaemon(true);
+          return t;
+        });
+  }
+
+  // Progress is reported by the settlement workers concurrently, hence the adders
+  private static final class Tracked implements SettlementEngine.Progress {
+    final UUID id;
+    final UUID eventId;
+    final String winningDriverId;
+    final Instant submittedAt = Instant.now();
+    final LongAdder betsProcessed = new LongAdder();
+    final LongAdder usersCredited = new LongAdder();
+    final Map<String, LongAdder> payoutMinorUnits = new ConcurrentHashMap<>();
+    volatile Status status = Status.QUEUED;
+    volatile int betsTotal;
+    volatile Instant startedAt;
+    volatile long startedNanos;
+    volatile Instant finishedAt;
+    volatile double betsPerSecond;
+    volatile String error;
+
+    Tracked(UUID id, UUID eventId, String winningDriverId) {
+      this.id = id;
+      this.eventId = eventId;
+      this.winningDriverId = winningDriverId;
+    }
+
+    @Override
+    public void loaded(int bets) {
+      betsTotal = bets;
+    }
+
+    @Override
+    public void settled(int bets, Money payout) {
+      betsProcessed.add(bets);
+      if (payout != null) {
+        usersCredited.increment();
+        payoutMinorUnits
+            .computeIfAbsent(payout.getCurrency(), c -> new LongAdder())
+            .add(payout.getMinorUnits());
+      }
+    }
+
+    void start() {
+      startedNanos = System.nanoTime();
+      startedAt = Instant.now();
+      status = Status.RUNNING;
+    }
+
+    void complete(SettlementEngine.Report report) {
+      betsPerSecond = rate(report.betsSettled());
+      finishedAt = Instant.now();
+      status = Status.COMPLETED;
+    }
+
+    void fail(RuntimeException e) {
+      error = e.getMessage();
+      finishedAt = Instant.now();
+      status = Status.FAILED;
+    }
+
+    Job snapshot() {
+      Status current = status;
+      long processed = betsProcessed.sum();
+      double rate = current == Status.RUNNING ? rate(processed) : betsPerSecond;
+      Map<String, Money> payouts = new TreeMap<>();
+      payoutMinorUnits.forEach(
+          (currency, minor) -> payouts.put(currency, Money.ofMinor(currency, minor.sum())));
+      return new Job(
+          id,
+          eventId,
+          winningDriverId,
+          current,
+          betsTotal,
+          processed,
+          usersCredited.sum(),
+          payouts,
+          rate,
+          submittedAt,
+          startedAt,
+          finishedAt,
+          error);
+    }
+
+    private double rate(long bets) {
+      long elapsed = System.nanoTime() - startedNanos;
+      return elapsed <= 0 ? 0d : bets * 1_000_000_000d / elapsed;
+    }
+  }
+}
@@ -5,6 +5,7 @@ import com.example.f1bet.domain.enums.EventState;
 import com.example.f1bet.domain.exception.InvalidBetException;
 import com.example.f1bet.domain.vo.Money;
 import com.example.f1bet.domain.vo.Odds;
+import java.time.Instant;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -15,6 +16,7 @@ public class Bet {
   private final UUID selectionId;
   private final Money stake;
   private final Odds capturedOdds;
+  private final Instant placedAt;
   private BetStatus status;
   private final long version;
 
@@ -25,6 +27,7 @@ public class Bet {
       UUID selectionId,
       Money stake,
       Odds capturedOdds,
+      Instant placedAt,
       Event event,
       long version) {
     this.id = Objects.requireNonNull(id);
@@ -33,11 +36,49 @@ public class Bet {
     this.selectionId = Objects.requireNonNull(selectionId);
     this.stake = Objects.requireNonNull(stake);
     this.capturedOdds = Objects.requireNonNull(capturedOdds);
+    this.placedAt = Objects.requireNonNull(placedAt);
     validate(event);
     this.status = BetStatus.PENDING;
     this.version = version;
   }
 
+  private Bet(
+      UUID id,
+      UUID userId,
+      UUID eventId,
+      UUID selectionId,
+      Money stake,
+      Odds capturedOdds,
+      Instant placedAt,
+      BetStatus status,
+      long version) {
+    this.id = Objects.requireNonNull(id);
+    this.userId = Objects.requireNonNull(userId);
+    this.eventId = Objects.requireNonNull(eventId);
+    this.selectionId = Objects.requireNonNull(selectionId);
+    this.stake = Objects.requireNonNull(stake);
+    this.capturedOdds = Objects.requireNonNull(capturedOdds);
+    this.placedAt = Objects.requireNonNull(placedAt);
+    this.status = Objects.requireNonNull(status);
+    this.version = version;
+  }
+
+  // Rebuilds a stored bet as-is. Placement rules were checked when it was placed and no longer
+  // hold once its event has finished, so they are not re-validated here.
+  public static Bet restore(
+      UUID id,
+      UUID userId,
+      UUID eventId,
+      UUID selectionId,
+      Money stake,
+      Odds capturedOdds,
+      Instant placedAt,
+      BetStatus status,
+      long version) {
+    return new Bet(
+        id, userId, eventId, selectionId, stake, capturedOdds, placedAt, status, version);
+  }
+
   private void validate(Event event) {
     if (event.getState() != EventState.SCHEDULED) {
       throw new InvalidBetException("Bet allowed only when event is SCHEDULED");
@@ -45,6 +86,12 @@ public class Bet {
     if (!event.hasSelection(selectionId)) {
       throw new InvalidBetException("Selection does not belong to event");
     }
+    // the payout is computed again on reservation and settlement, so it has to fit in Money
+    try {
+      capturedOdds.payout(stake);
+    } catch (ArithmeticException e) {
+      throw new InvalidBetException("Stake too large: payout out of range");
+    }
   }
 
   public void markWon() {
@@ -92,6 +139,10 @@ public class Bet {
     return capturedOdds;
   }
 
+  public Instant getPlacedAt() {
+    return placedAt;
+  }
+
   public BetStatus getStatus() {
     return status;
   }
@@ -19,6 +19,7 @@ public class Event {
   private final int year;
   private EventState state;
   private final Market market; // single WINNER market
+  private String winningDriverId; // recorded when the event finishes
 
   public Event(
       UUID id, String name, SessionType sessionType, String country, int year, Market market) {
@@ -34,11 +35,28 @@ public class Event {
     this.state = EventState.SCHEDULED;
   }
 
-  public void markFinished() {
+  // Rebuilds a stored event in the state it was saved in
+  public static Event restore(
+      UUID id,
+      String name,
+      SessionType sessionType,
+      String country,
+      int year,
+      EventState state,
+      Market market,
+      String winningDriverId) {
+    Event event = new Event(id, name, sessionType, country, year, market);
+    event.state = Objects.requireNonNull(state);
+    event.winningDriverId = winningDriverId;
+    return event;
+  }
+
+  public void markFinished(String winningDriverId) {
     if (state != EventState.SCHEDULED) {
       throw new IllegalEventStateException("Event must be SCHEDULED to finish");
     }
     this.state = EventState.FINISHED;
+    this.winningDriverId = Objects.requireNonNull(winningDriverId);
   }
 
   public void markSettled() {
@@ -79,4 +97,9 @@ public class Event {
   public Market getMarket() {
     return market;
   }
+
+  // null until the event finishes, and for events finished before winners were recorded
+  public String getWinningDriverId() {
+    return winningDriverId;
+  }
 }
@@ -1,17 +1,34 @@
 package com.example.f1bet.domain.entity;
 
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 public class Market {
   public static final String WINNER = "WINNER";
 
   private final String type;
   private final List<Selection> selections;
+  // built once, so placement and settlement never scan the selections; a driver may be listed
+  // more than once, so it maps to every one of its selections
+  private final Map<UUID, Selection> bySelectionId;
+  private final Map<String, Set<UUID>> selectionIdsByDriver;
 
   public Market(String type, List<Selection> selections) {
     this.type = type;
     this.selections = selections == null ? List.of() : List.copyOf(selections);
+    this.bySelectionId = new HashMap<>(this.selections.size() * 2);
+    Map<String, List<UUID>> idsByDriver = new HashMap<>(this.selections.size() * 2);
+    for (Selection s : this.selections) {
+      bySelectionId.putIfAbsent(s.getId(), s);
+      idsByDriver.computeIfAbsent(s.getDriverId(), d -> new ArrayList<>()).add(s.getId());
+    }
+    this.selectionIdsByDriver = new HashMap<>(idsByDriver.size() * 2);
+    idsByDriver.forEach((driver, ids) -> selectionIdsByDriver.put(driver, Set.copyOf(ids)));
   }
 
   public String getType() {
@@ -19,10 +36,19 @@ public class Market {
   }
 
   public List<Selection> getSelections() {
-    return Collections.unmodifiableList(selections);
+    return selections; // already unmodifiable
   }
 
-  public boolean containsSelectionId(java.util.UUID selectionId) {
-    return selections.stream().anyMatch(s -> s.getId().equals(selectionId));
+  public boolean containsSelectionId(UUID selectionId) {
+    return bySelectionId.containsKey(selectionId);
+  }
+
+  public Optional<Selection> findSelection(UUID selectionId) {
+    return Optional.ofNullable(bySelectionId.get(selectionId));
+  }
+
+  // ids of every selection on the driver; empty if the driver is not in this market
+  public Set<UUID> selectionIdsOfDriver(String driverId) {
+    return selectionIdsByDriver.getOrDefault(driverId, Set.of());
   }
 }
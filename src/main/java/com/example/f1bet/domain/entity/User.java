@@ -1,6 +1,8 @@
 package com.example.f1bet.domain.entity;
 
 import com.example.f1bet.domain.vo.Money;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.UUID;
 
 public class User {
@@ -8,14 +10,20 @@ public class User {
 
   private final UUID id;
   private final Money balance;
+  // events whose payout was credited to this user while their bets are still being settled
+  private final Set<UUID> payoutsInFlight;
+  // the repository version this state was stored at, stamped by the repository on every write
+  private final long version;
 
-  private User(UUID id, Money balance) {
+  private User(UUID id, Money balance, Set<UUID> payoutsInFlight, long version) {
     this.id = id;
     this.balance = balance;
+    this.payoutsInFlight = payoutsInFlight;
+    this.version = version;
   }
 
   public static User create(UUID id) {
-    return new User(id, Money.of(DEFAULT_CURRENCY, "100.00"));
+    return new User(id, Money.of(DEFAULT_CURRENCY, "100.00"), Set.of(), 0L);
   }
 
   public UUID getId() {
@@ -26,7 +34,39 @@ public class User {
     return balance;
   }
 
+  public long getVersion() {
+    return version;
+  }
+
+  public Set<UUID> getPayoutsInFlight() {
+    return payoutsInFlight;
+  }
+
+  public boolean hasPayoutInFlight(UUID eventId) {
+    return payoutsInFlight.contains(eventId);
+  }
+
   public User withBalance(Money newBalance) {
-    return new User(this.id, newBalance);
+    return new User(this.id, newBalance, payoutsInFlight, version);
+  }
+
+  public User withPayoutInFlight(UUID eventId) {
+    Set<UUID> next = new HashSet<>(payoutsInFlight);
+    next.add(eventId);
+    return new User(id, balance, Set.copyOf(next), version);
+  }
+
+  public User withoutPayoutInFlight(UUID eventId) {
+    Set<UUID> next = new HashSet<>(payoutsInFlight);
+    next.remove(eventId);
+    return new User(id, balance, Set.copyOf(next), version);
+  }
+
+  public User withPayoutsInFlight(Set<UUID> eventIds) {
+    return new User(id, balance, Set.copyOf(eventIds), version);
+  }
+
+  public User withVersion(long version) {
+    return version == this.version ? this : new User(id, balance, payoutsInFlight, version);
   }
 }
@@ -0,0 +1,21 @@
+package com.example.f1bet.domain.event;
+
+import com.example.f1bet.domain.entity.Selection;
+import com.example.f1bet.domain.enums.EventState;
+import com.example.f1bet.domain.vo.Money;
+import java.util.List;
+import java.util.UUID;
+
+// State changes clients may want pushed instead of polling for them. Each carries the full new
+// state, so a subscriber that only sees the latest one per event or user misses nothing.
+public sealed interface DomainEvent {
+
+  record EventStateChanged(UUID eventId, EventState state) implements DomainEvent {}
+
+  // the odds of an event's market, published whenever its market is (re)built
+  record OddsChanged(UUID eventId, List<Selection> selections) implements DomainEvent {}
+
+  // version is the user's stored version, so of two balances the higher one is the newer even
+  // when they are published out of order
+  record BalanceChanged(UUID userId, Money balance, long version) implements DomainEvent {}
+}
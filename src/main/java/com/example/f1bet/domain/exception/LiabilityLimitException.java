@@ -0,0 +1,7 @@
+package com.example.f1bet.domain.exception;
+
+public class LiabilityLimitException extends DomainException {
+  public LiabilityLimitException(String message) {
+    super(message);
+  }
+}
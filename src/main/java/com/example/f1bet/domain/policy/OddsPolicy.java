@@ -7,12 +7,16 @@ import org.springframework.stereotype.Component;
 
 @Component
 public class OddsPolicy {
+  private static final Odds TWO = Odds.of(new BigDecimal("2.00"));
+  private static final Odds THREE = Odds.of(new BigDecimal("3.00"));
+  private static final Odds FOUR = Odds.of(new BigDecimal("4.00"));
+
   public Odds randomFrom(RandomPort random) {
     int r = random.nextInt(3); // 0,1,2
     return switch (r) {
-      case 0 -> Odds.of(new BigDecimal("2.00"));
-      case 1 -> Odds.of(new BigDecimal("3.00"));
-      default -> Odds.of(new BigDecimal("4.00"));
+      case 0 -> TWO;
+      case 1 -> THREE;
+      default -> FOUR;
     };
   }
 }
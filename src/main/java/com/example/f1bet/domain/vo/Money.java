@@ -3,23 +3,36 @@ package com.example.f1bet.domain.vo;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
+// Amounts are held as a long count of minor units (cents); BigDecimal is only used to convert at
+// the edges (of/getAmount/multiply by an arbitrary factor).
 public final class Money {
   private static final int SCALE = 2;
+  private static final long MINOR_PER_UNIT = 100;
   private static final RoundingMode ROUNDING = RoundingMode.HALF_EVEN;
 
-  private final BigDecimal amount;
+  // currency codes come from requests, so cap how many distinct ones get interned
+  private static final int MAX_INTERNED_CURRENCIES = 256;
+  private static final ConcurrentHashMap<String, String> CURRENCIES = new ConcurrentHashMap<>();
+
+  private final long minorUnits;
   private final String currency;
 
-  private Money(BigDecimal normalizedAmount, String currency) {
-    this.amount = normalizedAmount;
+  private Money(long minorUnits, String currency) {
+    this.minorUnits = minorUnits;
     this.currency = currency;
   }
 
+  public static Money ofMinor(String currency, long minorUnits) {
+    Objects.requireNonNull(currency, "currency");
+    return new Money(minorUnits, intern(currency));
+  }
+
   public static Money of(String currency, BigDecimal amount) {
     Objects.requireNonNull(currency, "currency");
     Objects.requireNonNull(amount, "amount");
-    return new Money(amount.setScale(SCALE, ROUNDING), currency);
+    return new Money(toMinorUnits(amount), intern(currency));
   }
 
   public static Money of(String currency, String amount) {
@@ -35,29 +48,66 @@ public final class Money {
 
   public Money add(Money other) {
     requireSameCurrency(other);
-    return of(currency, amount.add(other.amount));
+    return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
   }
 
   public Money subtract(Money other) {
     requireSameCurrency(other);
-    return of(currency, amount.subtract(other.amount));
+    return new Money(Math.subtractExact(minorUnits, other.minorUnits), currency);
   }
 
   public Money multiply(BigDecimal factor) {
     Objects.requireNonNull(factor, "factor");
-    return of(currency, amount.multiply(factor));
+    BigDecimal product = BigDecimal.valueOf(minorUnits, SCALE).multiply(factor);
+    return new Money(toMinorUnits(product), currency);
+  }
+
+  // multiplies by factor / 100 in long arithmetic, rounding half-even to the minor unit
+  public Money multiplyByHundredths(long factorHundredths) {
+    long product = Math.multiplyExact(minorUnits, factorHundredths);
+    long quotient = product / MINOR_PER_UNIT;
+    long remainder = Math.abs(product % MINOR_PER_UNIT);
+    if (remainder > MINOR_PER_UNIT / 2 || (remainder == MINOR_PER_UNIT / 2 && quotient % 2 != 0)) {
+      quotient += Long.signum(product);
+    }
+    return new Money(quotient, currency);
+  }
+
+  public boolean isLessThan(Money other) {
+    requireSameCurrency(other);
+    return minorUnits < other.minorUnits;
   }
 
   private void requireSameCurrency(Money other) {
     Objects.requireNonNull(other, "other");
-    if (!this.currency.equals(other.currency)) {
+    if (this.currency != other.currency && !this.currency.equals(other.currency)) {
       throw new IllegalArgumentException(
           "Currency mismatch: " + this.currency + " vs " + other.currency);
     }
   }
 
+  private static long toMinorUnits(BigDecimal amount) {
+    try {
+      return amount.setScale(SCALE, ROUNDING).unscaledValue().longValueExact();
+    } catch (ArithmeticException e) {
+      throw new IllegalArgumentException("amount out of range: " + amount);
+    }
+  }
+
+  private static String intern(String currency) {
+    String interned = CURRENCIES.get(currency);
+    if (interned != null) return interned;
+    if (CURRENCIES.size() >= MAX_INTERNED_CURRENCIES) return currency;
+    interned = CURRENCIES.putIfAbsent(currency, currency);
+    return interned == null ? currency : interned;
+  }
+
   public BigDecimal getAmount() {
-    return amount;
+    return BigDecimal.valueOf(minorUnits, SCALE);
+  }
+
+  public long getMinorUnits() {
+    return minorUnits;
   }
 
   public String getCurrency() {
@@ -69,11 +119,11 @@ public final class Money {
     if (this == o) return true;
     if (!(o instanceof Money)) return false;
     Money money = (Money) o;
-    return Objects.equals(amount, money.amount) && Objects.equals(currency, money.currency);
+    return minorUnits == money.minorUnits && currency.equals(money.currency);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(amount, currency);
+    return 31 * Long.hashCode(minorUnits) + currency.hashCode();
   }
 }
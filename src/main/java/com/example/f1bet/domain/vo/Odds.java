@@ -12,33 +12,32 @@ public final class Odds {
   private static final int SCALE = 2;
   private static final RoundingMode ROUNDING = RoundingMode.HALF_EVEN;
 
-  private static final BigDecimal TWO = new BigDecimal("2.00");
-  private static final BigDecimal THREE = new BigDecimal("3.00");
-  private static final BigDecimal FOUR = new BigDecimal("4.00");
+  // only three prices are allowed, so every Odds is one of these shared instances
+  private static final Odds TWO = new Odds(200, new BigDecimal("2.00"));
+  private static final Odds THREE = new Odds(300, new BigDecimal("3.00"));
+  private static final Odds FOUR = new Odds(400, new BigDecimal("4.00"));
 
+  private final long hundredths;
   private final BigDecimal decimal;
 
-  private Odds(BigDecimal normalized) {
-    this.decimal = normalized;
+  private Odds(long hundredths, BigDecimal decimal) {
+    this.hundredths = hundredths;
+    this.decimal = decimal;
   }
 
   public static Odds of(BigDecimal decimal) {
     Objects.requireNonNull(decimal, "decimal");
     BigDecimal normalized = decimal.setScale(SCALE, ROUNDING);
-    if (!isAllowed(normalized)) {
-      throw new IllegalArgumentException(
-          "Unsupported odds: " + normalized + " (allowed: 2.00, 3.00, 4.00)");
-    }
-    return new Odds(normalized);
-  }
-
-  private static boolean isAllowed(BigDecimal value) {
-    return value.compareTo(TWO) == 0 || value.compareTo(THREE) == 0 || value.compareTo(FOUR) == 0;
+    if (normalized.compareTo(TWO.decimal) == 0) return TWO;
+    if (normalized.compareTo(THREE.decimal) == 0) return THREE;
+    if (normalized.compareTo(FOUR.decimal) == 0) return FOUR;
+    throw new IllegalArgumentException(
+        "Unsupported odds: " + normalized + " (allowed: 2.00, 3.00, 4.00)");
   }
 
   public Money payout(Money stake) {
     Objects.requireNonNull(stake, "stake");
-    return stake.multiply(decimal);
+    return stake.multiplyByHundredths(hundredths);
   }
 
   public BigDecimal getDecimal() {
@@ -50,11 +49,11 @@ public final class Odds {
     if (this == o) return true;
     if (!(o instanceof Odds)) return false;
     Odds odds = (Odds) o;
-    return Objects.equals(decimal, odds.decimal);
+    return hundredths == odds.hundredths;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(decimal);
+    return Long.hashCode(hundredths);
   }
 }
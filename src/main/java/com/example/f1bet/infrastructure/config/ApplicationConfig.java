@@ -1,35 +1,123 @@
 package com.example.f1bet.infrastructure.config;
 
+import com.example.f1bet.infrastructure.persistence.journal.FsyncPolicy;
+import com.example.f1bet.infrastructure.persistence.journal.Journal;
+import com.example.f1bet.infrastructure.persistence.journal.JournaledRepositories;
 import com.example.f1bet.infrastructure.persistence.memory.InMemoryBetRepository;
 import com.example.f1bet.infrastructure.persistence.memory.InMemoryEventRepository;
+import com.example.f1bet.infrastructure.persistence.memory.InMemoryIdempotencyRepository;
 import com.example.f1bet.infrastructure.persistence.memory.InMemoryUserRepository;
+import com.example.f1bet.infrastructure.persistence.metered.MeteredBetRepository;
+import com.example.f1bet.infrastructure.persistence.metered.MeteredEventRepository;
+import com.example.f1bet.infrastructure.persistence.metered.MeteredUserRepository;
+import com.example.f1bet.infrastructure.provider.cache.CachingF1ProviderAdapter;
 import com.example.f1bet.infrastructure.provider.http.HttpF1ProviderAdapter;
 import com.example.f1bet.infrastructure.provider.stub.StubF1ProviderAdapter;
+import com.example.f1bet.infrastructure.stream.EventStreamHub;
 import com.example.f1bet.ports.out.BetRepository;
+import com.example.f1bet.ports.out.ClockPort;
 import com.example.f1bet.ports.out.EventRepository;
 import com.example.f1bet.ports.out.F1ProviderPort;
+import com.example.f1bet.ports.out.IdempotencyRepository;
 import com.example.f1bet.ports.out.RandomPort;
 import com.example.f1bet.ports.out.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
 
 @Configuration
 public class ApplicationConfig {
+  @Value("${app.provider.cache.enabled:true}")
+  private boolean providerCacheEnabled;
+
+  @Value("${app.provider.cache.sessions-ttl:30s}")
+  private Duration providerSessionsTtl;
+
+  @Value("${app.provider.cache.drivers-ttl:10m}")
+  private Duration providerDriversTtl;
+
+  @Value("${app.provider.cache.max-entries:1000}")
+  private int providerCacheMaxEntries;
+
+  @Value("${app.metrics.repositories:true}")
+  private boolean repositoryMetricsEnabled;
+
+  // scraped by MetricsController; no actuator, so this is the only registry
+  @Bean
+  public PrometheusMeterRegistry meterRegistry() {
+    return new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+  }
+
+  // app.execution.mode=virtual serves every request on its own virtual thread. Requests blocked
+  // on the provider (WebClient.block(), waiting out retries) then park instead of holding one of
+  // Tomcat's bounded platform threads, so a slow provider no longer starves bet placement.
+  @Bean
+  @ConditionalOnProperty(name = "app.execution.mode", havingValue = "virtual")
+  public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadRequestExecutor() {
+    return handler -> handler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+  }
+
+  // app.persistence.mode=journal keeps the in-memory repositories but journals their writes
+  @Bean(destroyMethod = "close")
+  @ConditionalOnProperty(name = "app.persistence.mode", havingValue = "journal")
+  public JournaledRepositories journaledRepositories(
+      @Value("${app.persistence.journal.dir:./data/journal}") Path dir,
+      @Value("${app.persistence.journal.segment-size:64MB}") DataSize segmentSize,
+      @Value("${app.persistence.journal.fsync:group}") String fsync,
+      @Value("${app.persistence.journal.fsync-interval:10ms}") Duration fsyncInterval,
+      @Value("${app.persistence.journal.snapshot-interval:10m}") Duration snapshotInterval) {
+    return new JournaledRepositories(
+        new Journal.Options(
+            dir,
+            Math.toIntExact(segmentSize.toBytes()),
+            FsyncPolicy.parse(fsync),
+            fsyncInterval),
+        snapshotInterval);
+  }
+
+  @Bean
+  public UserRepository userRepository(
+      ObjectProvider<JournaledRepositories> journaled, MeterRegistry registry) {
+    JournaledRepositories j = journaled.getIfAvailable();
+    UserRepository users = j != null ? j.users() : new InMemoryUserRepository();
+    return repositoryMetricsEnabled ? new MeteredUserRepository(users, registry) : users;
+  }
+
   @Bean
-  public UserRepository userRepository() {
-    return new InMemoryUserRepository();
+  public EventRepository eventRepository(
+      ObjectProvider<JournaledRepositories> journaled, MeterRegistry registry) {
+    JournaledRepositories j = journaled.getIfAvailable();
+    EventRepository events = j != null ? j.events() : new InMemoryEventRepository();
+    return repositoryMetricsEnabled ? new MeteredEventRepository(events, registry) : events;
   }
 
   @Bean
-  public EventRepository eventRepository() {
-    return new InMemoryEventRepository();
+  public BetRepository betRepository(
+      ObjectProvider<JournaledRepositories> journaled, MeterRegistry registry) {
+    JournaledRepositories j = journaled.getIfAvailable();
+    BetRepository bets = j != null ? j.bets() : new InMemoryBetRepository();
+    return repositoryMetricsEnabled ? new MeteredBetRepository(bets, registry) : bets;
   }
 
   @Bean
-  public BetRepository betRepository() {
-    return new InMemoryBetRepository();
+  public IdempotencyRepository idempotencyRepository(
+      ObjectProvider<JournaledRepositories> journaled) {
+    JournaledRepositories j = journaled.getIfAvailable();
+    return j != null ? j.idempotency() : new InMemoryIdempotencyRepository();
   }
 
   @Bean
@@ -45,15 +133,53 @@ public class ApplicationConfig {
   }
 
   @Bean
+  public ClockPort clockPortBean() {
+    return Instant::now;
+  }
+
+  @Bean
+  @ConditionalOnProperty(name = "app.provider.mode", havingValue = "http")
+  public WebClient providerWebClient(
+      WebClient.Builder builder, @Value("${app.provider.base-url}") String baseUrl) {
+    return builder.baseUrl(baseUrl).build();
+  }
+
+  @Bean
+  @Primary
   @ConditionalOnProperty(name = "app.provider.mode", havingValue = "http")
-  public F1ProviderPort httpF1ProviderAdapter(HttpF1ProviderAdapter httpAdapter) {
-    return httpAdapter;
+  public F1ProviderPort httpF1ProviderPort(
+      HttpF1ProviderAdapter httpAdapter, MeterRegistry registry) {
+    return withCache(httpAdapter, registry);
   }
 
   @Bean
   @Primary
   @ConditionalOnProperty(name = "app.provider.mode", havingValue = "stub", matchIfMissing = true)
-  public F1ProviderPort stubF1ProviderAdapter() {
-    return new StubF1ProviderAdapter();
+  public F1ProviderPort stubF1ProviderAdapter(
+      @Value("${app.provider.stub.latency:0ms}") Duration latency, MeterRegistry registry) {
+    return withCache(new StubF1ProviderAdapter(latency), registry);
+  }
+
+  // the only DomainEventPublisher: services publish state, odds and balance changes to it and the
+  // stream controllers subscribe clients
+  @Bean(destroyMethod = "close")
+  public EventStreamHub eventStreamHub(
+      @Value("${app.stream.max-subscribers:1000}") int maxSubscribers,
+      @Value("${app.stream.max-pending:256}") int maxPending,
+      MeterRegistry registry) {
+    EventStreamHub hub = new EventStreamHub(maxSubscribers, maxPending);
+    hub.bindTo(registry);
+    return hub;
+  }
+
+  private F1ProviderPort withCache(F1ProviderPort provider, MeterRegistry registry) {
+    if (!providerCacheEnabled) {
+      return provider;
+    }
+    CachingF1ProviderAdapter cached =
+        new CachingF1ProviderAdapter(
+            provider, providerSessionsTtl, providerDriversTtl, providerCacheMaxEntries);
+    cached.bindTo(registry);
+    return cached;
   }
 }
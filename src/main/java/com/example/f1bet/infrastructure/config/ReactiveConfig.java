@@ -0,0 +1,65 @@
+package com.example.f1bet.infrastructure.config;
+
+import com.example.f1bet.infrastructure.persistence.journal.JournaledRepositories;
+import com.example.f1bet.ports.out.F1ProviderPort;
+import com.example.f1bet.ports.out.ProviderDriver;
+import com.example.f1bet.ports.out.ProviderSessionFilter;
+import com.example.f1bet.ports.out.ProviderSessionPage;
+import com.example.f1bet.ports.out.ReactiveF1ProviderPort;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+// The "reactive" profile serves the API from WebFlux controllers on Netty's event loop instead of
+// Spring MVC on Tomcat; application-reactive.yaml switches the web application type.
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig {
+
+  // Tomcat is on the classpath for the MVC stack and would otherwise be picked for WebFlux too
+  @Bean
+  public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+    return new NettyReactiveWebServerFactory();
+  }
+
+  // Both provider adapters are reactive already (and so is the cache in front of them); anything
+  // else is adapted by calling it on a worker. Injected by name: the adapters themselves are
+  // ReactiveF1ProviderPort beans too.
+  @Bean
+  public ReactiveF1ProviderPort reactiveF1ProviderPort(F1ProviderPort provider) {
+    if (provider instanceof ReactiveF1ProviderPort reactive) {
+      return reactive;
+    }
+    return new ReactiveF1ProviderPort() {
+      @Override
+      public Mono<ProviderSessionPage> fetchSessionPage(
+          ProviderSessionFilter filter, int page, int size) {
+        return Mono.fromCallable(() -> provider.listSessions(filter, page, size))
+            .subscribeOn(Schedulers.boundedElastic());
+      }
+
+      @Override
+      public Mono<Map<String, List<ProviderDriver>>> fetchDriversForSessions(
+          List<String> sessionIds) {
+        return Mono.fromCallable(() -> provider.listDriversForSessions(sessionIds))
+            .subscribeOn(Schedulers.boundedElastic());
+      }
+    };
+  }
+
+  // In-memory repository calls never block, so they stay on the event loop. Journaled writes wait
+  // for an fsync and are moved to a worker.
+  @Bean
+  public Scheduler repositoryScheduler(ObjectProvider<JournaledRepositories> journaled) {
+    return journaled.getIfAvailable() != null
+        ? Schedulers.boundedElastic()
+        : Schedulers.immediate();
+  }
+}
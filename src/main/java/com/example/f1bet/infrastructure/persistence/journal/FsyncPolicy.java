@@ -0,0 +1,18 @@
+package com.example.f1bet.infrastructure.persistence.journal;
+
+import java.util.Locale;
+
+// When appended records are forced to disk
+public enum FsyncPolicy {
+  // every append waits for its own force
+  EVERY_WRITE,
+  // appends wait for durability, but one force covers every record appended before it
+  GROUP,
+  // appends return immediately; a background task forces at a fixed interval
+  INTERVAL;
+
+  // accepts the config spelling, e.g. "every-write"
+  public static FsyncPolicy parse(String value) {
+    return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+  }
+}
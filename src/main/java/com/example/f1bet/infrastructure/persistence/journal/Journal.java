@@ -0,0 +1,356 @@
+package com.example.f1bet.infrastructure.persistence.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Append-only log of binary records in memory-mapped segment files named after the LSN (log
+// sequence number) of their first record.
+//
+// Segment: [magic:int][format:short][reserved:short][baseLsn:long] followed by records
+// [length:int][type:byte][lsn:long][payload][crc32c:int], where length covers the whole record
+// and the CRC covers type, lsn and payload. Mapped files are zero-filled, so a zero length marks
+// the end of the written part; a bad CRC marks a write torn by a crash and ends the segment too.
+// After opening, appends always go to a fresh segment, so a torn tail is never written over.
+//
+// Appenders may be virtual threads, so the locks are ReentrantLocks rather than monitors: a virtual
+// thread forcing a segment or waiting for a group commit inside synchronized would pin its carrier.
+public final class Journal implements AutoCloseable {
+
+  public record Options(Path dir, int segmentBytes, FsyncPolicy fsync, Duration fsyncInterval) {}
+
+  @FunctionalInterface
+  public interface RecordHandler {
+    void accept(long lsn, byte type, ByteBuffer payload);
+  }
+
+  static final int MAGIC = 0x46314A4C; // "F1JL"
+  static final short FORMAT = 1;
+  static final int HEADER_BYTES = 16;
+  static final int RECORD_OVERHEAD = 4 + 1 + 8 + 4;
+  private static final String SUFFIX = ".seg";
+
+  private static final Logger log = LoggerFactory.getLogger(Journal.class);
+
+  private static final class Segment {
+    final Path path;
+    final FileChannel channel;
+    final MappedByteBuffer buffer;
+
+    Segment(Path path, FileChannel channel, MappedByteBuffer buffer) {
+      this.path = path;
+      this.channel = channel;
+      this.buffer = buffer;
+    }
+  }
+
+  private final Options options;
+  private final ReentrantLock lock = new ReentrantLock();
+  private Segment current; // guarded by lock
+  private long nextLsn; // guarded by lock
+  private boolean closed; // guarded by lock
+
+  // group commit: the first waiter forces on behalf of everyone queued behind it
+  private final ReentrantLock durable = new ReentrantLock();
+  private final Condition forced = durable.newCondition();
+  private long durableLsn; // guarded by durable
+  private boolean forcing; // guarded by durable
+
+  private final ScheduledExecutorService flusher;
+
+  private Journal(Options options, long nextLsn) {
+    this.options = options;
+    this.nextLsn = nextLsn;
+    this.durableLsn = nextLsn - 1;
+    this.current = createSegment(nextLsn);
+    if (options.fsync() == FsyncPolicy.INTERVAL) {
+      long period = Math.max(1, options.fsyncInterval().toMillis());
+      this.flusher =
+          Executors.newSingleThreadScheduledExecutor(
+              r -> {
+                Thread t = new Thread(r, "journal-flusher");
+                t.setDaemon(true);
+                return t;
+              });
+      flusher.scheduleWithFixedDelay(this::forceCurrent, period, period, TimeUnit.MILLISECONDS);
+    } else {
+      this.flusher = null;
+    }
+  }
+
+  // Replays every record with an LSN above afterLsn, then opens a new segment for appends
+  public static Journal open(Options options, long afterLsn, RecordHandler handler) {
+    if (options.segmentBytes() <= HEADER_BYTES + RECORD_OVERHEAD) {
+      throw new IllegalArgumentException("segmentBytes too small: " + options.segmentBytes());
+    }
+    try {
+      Files.createDirectories(options.dir());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    long lastLsn = afterLsn;
+    List<Path> segments = segments(options.dir());
+    for (int i = 0; i < segments.size(); i++) {
+      Path path = segments.get(i);
+      long base = baseLsnOf(path);
+      // a segment ends where the next begins, so covered segments need not be read at all
+      if (i + 1 < segments.size() && baseLsnOf(segments.get(i + 1)) <= afterLsn + 1) {
+        lastLsn = Math.max(lastLsn, baseLsnOf(segments.get(i + 1)) - 1);
+        continue;
+      }
+      long last = replaySegment(path, afterLsn, handler);
+      if (last < 0 && i == segments.size() - 1) {
+        // empty tail segment (e.g. created just before a crash); the new one reuses its name
+        delete(path);
+      }
+      lastLsn = Math.max(lastLsn, Math.max(last, base - 1));
+    }
+    return new Journal(options, lastLsn + 1);
+  }
+
+  public long append(byte type, byte[] payload) {
+    int length = RECORD_OVERHEAD + payload.length;
+    if (length > options.segmentBytes() - HEADER_BYTES) {
+      throw new IllegalArgumentException("record too large for a segment: " + payload.length);
+    }
+    long lsn;
+    lock.lock();
+    try {
+      if (closed) throw new IllegalStateException("journal closed");
+      if (current.buffer.remaining() < length) {
+        roll();
+      }
+      lsn = nextLsn++;
+      ByteBuffer buf = current.buffer;
+      int start = buf.position();
+      buf.putInt(length).put(type).putLong(lsn).put(payload);
+      CRC32C crc = new CRC32C();
+      crc.update(buf.slice(start + 4, 9 + payload.length));
+      buf.putInt((int) crc.getValue());
+      if (options.fsync() == FsyncPolicy.EVERY_WRITE) {
+        current.buffer.force(start, length);
+      }
+    } finally {
+      lock.unlock();
+    }
+    if (options.fsync() == FsyncPolicy.GROUP) {
+      awaitDurable(lsn);
+    }
+    return lsn;
+  }
+
+  // Deletes segments whose records all have an LSN <= lsn, i.e. are covered by a snapshot taken
+  // at lsn. The open segment is always kept. Returns the number of segments deleted.
+  public int deleteSegmentsUpTo(long lsn) {
+    Path open;
+    lock.lock();
+    try {
+      open = current.path;
+    } finally {
+      lock.unlock();
+    }
+    List<Path> segments = segments(options.dir());
+    int deleted = 0;
+    for (int i = 0; i + 1 < segments.size(); i++) {
+      Path segment = segments.get(i);
+      if (segment.equals(open) || baseLsnOf(segments.get(i + 1)) > lsn + 1) break;
+      delete(segment);
+      deleted++;
+    }
+    return deleted;
+  }
+
+  // LSN of the last appended record, or the LSN the journal resumed after
+  public long lastLsn() {
+    lock.lock();
+    try {
+      return nextLsn - 1;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void close() {
+    if (flusher != null) {
+      flusher.shutdownNow();
+    }
+    lock.lock();
+    try {
+      if (closed) return;
+      closed = true;
+      current.buffer.force();
+      closeQuietly(current);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void awaitDurable(long lsn) {
+    while (true) {
+      durable.lock();
+      try {
+        if (durableLsn >= lsn) return;
+        if (forcing) {
+          waitForForce();
+          continue;
+        }
+        forcing = true;
+      } finally {
+        durable.unlock();
+      }
+      long target = 0;
+      try {
+        target = forceCurrent();
+      } finally {
+        durable.lock();
+        try {
+          forcing = false;
+          durableLsn = Math.max(durableLsn, target);
+          forced.signalAll();
+        } finally {
+          durable.unlock();
+        }
+      }
+    }
+  }
+
+  // caller holds durable
+  private void waitForForce() {
+    try {
+      forced.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("interrupted waiting for journal fsync", e);
+    }
+  }
+
+  // forces the open segment; earlier segments were forced when they were rolled
+  private long forceCurrent() {
+    Segment segment;
+    long target;
+    lock.lock();
+    try {
+      if (closed) return nextLsn - 1;
+      segment = current;
+      target = nextLsn - 1;
+    } finally {
+      lock.unlock();
+    }
+    segment.buffer.force();
+    return target;
+  }
+
+  // caller holds lock
+  private void roll() {
+    current.buffer.force();
+    closeQuietly(current);
+    current = createSegment(nextLsn);
+  }
+
+  private Segment createSegment(long baseLsn) {
+    Path path = options.dir().resolve(String.format("%020d%s", baseLsn, SUFFIX));
+    try {
+      FileChannel channel =
+          FileChannel.open(
+              path,
+              StandardOpenOption.CREATE_NEW,
+              StandardOpenOption.READ,
+              StandardOpenOption.WRITE);
+      MappedByteBuffer buffer =
+          channel.map(FileChannel.MapMode.READ_WRITE, 0, options.segmentBytes());
+      buffer.putInt(MAGIC).putShort(FORMAT).putShort((short) 0).putLong(baseLsn);
+      return new Segment(path, channel, buffer);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  // returns the last valid LSN in the segment, or -1 if it holds no records
+  private static long replaySegment(Path path, long afterLsn, RecordHandler handler) {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (buf.limit() < HEADER_BYTES || buf.getInt(0) != MAGIC) {
+        throw new IllegalStateException("not a journal segment: " + path);
+      }
+      if (buf.getShort(4) != FORMAT) {
+        throw new IllegalStateException("unsupported journal format " + buf.getShort(4));
+      }
+      long last = -1;
+      int pos = HEADER_BYTES;
+      while (pos + RECORD_OVERHEAD <= buf.limit()) {
+        int length = buf.getInt(pos);
+        if (length == 0) break;
+        if (length < RECORD_OVERHEAD || length > buf.limit() - pos) {
+          log.warn("Torn journal record in {} at offset {}, ignoring the rest", path, pos);
+          break;
+        }
+        int payloadLength = length - RECORD_OVERHEAD;
+        CRC32C crc = new CRC32C();
+        crc.update(buf.slice(pos + 4, 9 + payloadLength));
+        if ((int) crc.getValue() != buf.getInt(pos + 13 + payloadLength)) {
+          log.warn("Journal checksum mismatch in {} at offset {}, ignoring the rest", path, pos);
+          break;
+        }
+        long lsn = buf.getLong(pos + 5);
+        if (lsn > afterLsn) {
+          handler.accept(lsn, buf.get(pos + 4), buf.slice(pos + 13, payloadLength));
+        }
+        last = lsn;
+        pos += length;
+      }
+      return last;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  static List<Path> segments(Path dir) {
+    try (Stream<Path> files = Files.list(dir)) {
+      List<Path> segments =
+          new ArrayList<>(files.filter(p -> p.toString().endsWith(SUFFIX)).toList());
+      segments.sort(null);
+      return segments;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  static long baseLsnOf(Path segment) {
+    String name = segment.getFileName().toString();
+    return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+  }
+
+  private static void delete(Path path) {
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void closeQuietly(Segment segment) {
+    try {
+      segment.channel.close();
+    } catch (IOException e) {
+      log.warn("Failed to close journal segment {}", segment.path, e);
+    }
+  }
+}
@@ -0,0 +1,264 @@
+package com.example.f1bet.infrastructure.persistence.journal;
+
+import com.example.f1bet.domain.entity.Bet;
+import com.example.f1bet.domain.entity.Event;
+import com.example.f1bet.domain.entity.Market;
+import com.example.f1bet.domain.entity.Selection;
+import com.example.f1bet.domain.entity.User;
+import com.example.f1bet.domain.enums.BetStatus;
+import com.example.f1bet.domain.enums.EventState;
+import com.example.f1bet.domain.enums.SessionType;
+import com.example.f1bet.domain.vo.Money;
+import com.example.f1bet.domain.vo.Odds;
+import com.example.f1bet.infrastructure.persistence.memory.InMemoryIdempotencyRepository;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+// Binary encoding of repository writes. Each record carries the full state after the write plus
+// its version; enums are stored by ordinal, so only append new constants at the end.
+final class JournalCodec {
+  // users journaled before payouts in flight were recorded: still read, no longer written
+  static final byte USER_WITHOUT_PAYOUTS = 1;
+  // events journaled before winners were recorded: still read, no longer written
+  static final byte EVENT_WITHOUT_WINNER = 2;
+  // bets journaled before placement times were recorded: still read, no longer written
+  static final byte BET_WITHOUT_PLACED_AT = 3;
+  static final byte IDEMPOTENCY = 4;
+  static final byte BET = 5;
+  static final byte USER = 6;
+  static final byte EVENT = 7;
+
+  record Versioned<T>(T value, long version) {}
+
+  private JournalCodec() {}
+
+  static byte[] encodeUser(User user, long version) {
+    Writer w = new Writer(64);
+    w.uuid(user.getId());
+    w.i64(version);
+    w.money(user.getBalance());
+    w.i32(user.getPayoutsInFlight().size());
+    for (UUID eventId : user.getPayoutsInFlight()) {
+      w.uuid(eventId);
+    }
+    return w.toArray();
+  }
+
+  static Versioned<User> decodeUser(ByteBuffer in) {
+    return decodeUser(in, true);
+  }
+
+  static Versioned<User> decodeUserWithoutPayouts(ByteBuffer in) {
+    return decodeUser(in, false);
+  }
+
+  private static Versioned<User> decodeUser(ByteBuffer in, boolean withPayouts) {
+    UUID id = uuid(in);
+    long version = in.getLong();
+    User user = User.create(id).withBalance(money(in));
+    if (withPayouts) {
+      int count = in.getInt();
+      Set<UUID> payouts = new HashSet<>(count);
+      for (int i = 0; i < count; i++) {
+        payouts.add(uuid(in));
+      }
+      user = user.withPayoutsInFlight(payouts);
+    }
+    return new Versioned<>(user, version);
+  }
+
+  static byte[] encodeEvent(Event event, long version) {
+    Writer w = new Writer(256);
+    w.uuid(event.getId());
+    w.i64(version);
+    w.string(event.getName());
+    w.i8(event.getSessionType().ordinal());
+    w.string(event.getCountry());
+    w.i32(event.getYear());
+    w.i8(event.getState().ordinal());
+    w.string(event.getMarket().getType());
+    List<Selection> selections = event.getMarket().getSelections();
+    w.i32(selections.size());
+    for (Selection s : selections) {
+      w.uuid(s.getId());
+      w.string(s.getDriverId());
+      w.string(s.getDriverName());
+      w.odds(s.getOdds());
+    }
+    w.string(event.getWinningDriverId());
+    return w.toArray();
+  }
+
+  static Versioned<Event> decodeEvent(ByteBuffer in) {
+    return decodeEvent(in, true);
+  }
+
+  static Versioned<Event> decodeEventWithoutWinner(ByteBuffer in) {
+    return decodeEvent(in, false);
+  }
+
+  private static Versioned<Event> decodeEvent(ByteBuffer in, boolean withWinner) {
+    UUID id = uuid(in);
+    long version = in.getLong();
+    String name = string(in);
+    SessionType sessionType = SessionType.values()[in.get()];
+    String country = string(in);
+    int year = in.getInt();
+    EventState state = EventState.values()[in.get()];
+    String marketType = string(in);
+    int count = in.getInt();
+    List<Selection> selections = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      selections.add(new Selection(uuid(in), string(in), string(in), odds(in)));
+    }
+    Market market = new Market(marketType, selections);
+    String winningDriverId = withWinner ? string(in) : null;
+    return new Versioned<>(
+        Event.restore(id, name, sessionType, country, year, state, market, winningDriverId),
+        version);
+  }
+
+  static byte[] encodeBet(Bet bet, long version) {
+    Writer w = new Writer(128);
+    w.uuid(bet.getId());
+    w.i64(version);
+    w.uuid(bet.getUserId());
+    w.uuid(bet.getEventId());
+    w.uuid(bet.getSelectionId());
+    w.money(bet.getStake());
+    w.odds(bet.getCapturedOdds());
+    w.i8(bet.getStatus().ordinal());
+    w.i64(bet.getPlacedAt().getEpochSecond());
+    w.i32(bet.getPlacedAt().getNano());
+    return w.toArray();
+  }
+
+  static Versioned<Bet> decodeBet(ByteBuffer in) {
+    return decodeBet(in, true);
+  }
+
+  // such bets sort as placed at the epoch, i.e. before every bet placed since
+  static Versioned<Bet> decodeBetWithoutPlacedAt(ByteBuffer in) {
+    return decodeBet(in, false);
+  }
+
+  private static Versioned<Bet> decodeBet(ByteBuffer in, boolean withPlacedAt) {
+    UUID id = uuid(in);
+    long version = in.getLong();
+    UUID userId = uuid(in);
+    UUID eventId = uuid(in);
+    UUID selectionId = uuid(in);
+    Money stake = money(in);
+    Odds odds = odds(in);
+    BetStatus status = BetStatus.values()[in.get()];
+    Instant placedAt =
+        withPlacedAt ? Instant.ofEpochSecond(in.getLong(), in.getInt()) : Instant.EPOCH;
+    return new Versioned<>(
+        Bet.restore(id, userId, eventId, selectionId, stake, odds, placedAt, status, version),
+        version);
+  }
+
+  static byte[] encodeIdempotency(InMemoryIdempotencyRepository.Entry entry) {
+    Writer w = new Writer(64);
+    w.uuid(entry.userId());
+    w.string(entry.key());
+    w.uuid(entry.betId());
+    return w.toArray();
+  }
+
+  static InMemoryIdempotencyRepository.Entry decodeIdempotency(ByteBuffer in) {
+    return new InMemoryIdempotencyRepository.Entry(uuid(in), string(in), uuid(in));
+  }
+
+  private static UUID uuid(ByteBuffer in) {
+    return new UUID(in.getLong(), in.getLong());
+  }
+
+  private static Money money(ByteBuffer in) {
+    String currency = string(in);
+    return Money.ofMinor(currency, in.getLong());
+  }
+
+  private static Odds odds(ByteBuffer in) {
+    return Odds.of(BigDecimal.valueOf(in.getInt(), 2));
+  }
+
+  // strings are length-prefixed UTF-8; length -1 encodes null
+  private static String string(ByteBuffer in) {
+    int length = in.getInt();
+    if (length < 0) return null;
+    byte[] bytes = new byte[length];
+    in.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static final class Writer {
+    private ByteBuffer buf;
+
+    Writer(int initialCapacity) {
+      this.buf = ByteBuffer.allocate(initialCapacity);
+    }
+
+    void i8(int value) {
+      ensure(1);
+      buf.put((byte) value);
+    }
+
+    void i32(int value) {
+      ensure(4);
+      buf.putInt(value);
+    }
+
+    void i64(long value) {
+      ensure(8);
+      buf.putLong(value);
+    }
+
+    void uuid(UUID id) {
+      i64(id.getMostSignificantBits());
+      i64(id.getLeastSignificantBits());
+    }
+
+    void money(Money money) {
+      string(money.getCurrency());
+      i64(money.getMinorUnits());
+    }
+
+    void odds(Odds odds) {
+      i32(odds.getDecimal().movePointRight(2).intValueExact());
+    }
+
+    void string(String value) {
+      if (value == null) {
+        i32(-1);
+        return;
+      }
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      i32(bytes.length);
+      ensure(bytes.length);
+      buf.put(bytes);
+    }
+
+    private void ensure(int bytes) {
+      if (buf.remaining() >= bytes) return;
+      ByteBuffer grown =
+          ByteBuffer.allocate(Math.max(buf.capacity() * 2, buf.position() + bytes));
+      buf.flip();
+      grown.put(buf);
+      buf = grown;
+    }
+
+    byte[] toArray() {
+      byte[] out = new byte[buf.position()];
+      buf.flip().get(out);
+      return out;
+    }
+  }
+}
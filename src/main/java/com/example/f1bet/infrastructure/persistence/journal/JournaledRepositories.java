@@ -0,0 +1,210 @@
+package com.example.f1bet.infrastructure.persistence.journal;
+
+import static com.example.f1bet.infrastructure.persistence.journal.JournalCodec.encodeBet;
+import static com.example.f1bet.infrastructure.persistence.journal.JournalCodec.encodeEvent;
+import static com.example.f1bet.infrastructure.persistence.journal.JournalCodec.encodeUser;
+
+import com.example.f1bet.domain.entity.Bet;
+import com.example.f1bet.domain.entity.Event;
+import com.example.f1bet.domain.entity.User;
+import com.example.f1bet.infrastructure.persistence.memory.InMemoryBetRepository;
+import com.example.f1bet.infrastructure.persistence.memory.InMemoryEventRepository;
+import com.example.f1bet.infrastructure.persistence.memory.InMemoryIdempotencyRepository;
+import com.example.f1bet.infrastructure.persistence.memory.InMemoryUserRepository;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// The in-memory repositories, with every committed write appended to a Journal. Reads never touch
+// the journal. On startup the latest snapshot is loaded and only the journal tail after it is
+// replayed, before any new write is accepted.
+//
+// Snapshots are fuzzy: the journal LSN is read first, then the maps are copied while writers keep
+// going. Any write the copy misses or catches half-way has a record above that LSN, and replaying
+// those records by version converges on the same state.
+public final class JournaledRepositories implements AutoCloseable {
+  private static final Logger log = LoggerFactory.getLogger(JournaledRepositories.class);
+
+  private final InMemoryUserRepository users;
+  private final InMemoryEventRepository events;
+  private final InMemoryBetRepository bets;
+  private final InMemoryIdempotencyRepository idempotency;
+  private final SnapshotStore snapshots;
+  private final Journal journal;
+  private final ScheduledExecutorService snapshotter;
+  private final Object snapshotLock = new Object();
+  private long snapshotLsn; // guarded by snapshotLock
+
+  public JournaledRepositories(Journal.Options options) {
+    this(options, Duration.ZERO);
+  }
+
+  // a zero snapshot interval disables background snapshots; snapshot() can still be called
+  public JournaledRepositories(Journal.Options options, Duration snapshotInterval) {
+    this.users = new InMemoryUserRepository(this::appendUser);
+    this.events = new InMemoryEventRepository(this::appendEvent);
+    this.bets = new InMemoryBetRepository(this::appendBet);
+    this.idempotency =
+        new InMemoryIdempotencyRepository(
+            (entry, version) ->
+                append(JournalCodec.IDEMPOTENCY, JournalCodec.encodeIdempotency(entry)));
+    this.snapshots = new SnapshotStore(options.dir());
+
+    long start = System.nanoTime();
+    long[] restored = new long[2];
+    this.snapshotLsn =
+        snapshots.loadLatest(
+            (type, payload) -> {
+              apply(type, ByteBuffer.wrap(payload));
+              restored[0]++;
+            });
+    long loaded = System.nanoTime();
+    this.journal =
+        Journal.open(
+            options,
+            snapshotLsn,
+            (lsn, type, payload) -> {
+              apply(type, payload);
+              restored[1]++;
+            });
+    long replayed = System.nanoTime();
+    log.info(
+        "Recovered from {}: {} snapshot entries (lsn {}) in {} ms, {} journal records in {} ms",
+        options.dir(),
+        restored[0],
+        snapshotLsn,
+        TimeUnit.NANOSECONDS.toMillis(loaded - start),
+        restored[1],
+        TimeUnit.NANOSECONDS.toMillis(replayed - loaded));
+
+    if (snapshotInterval.isZero() || snapshotInterval.isNegative()) {
+      this.snapshotter = null;
+    } else {
+      this.snapshotter =
+          Executors.newSingleThreadScheduledExecutor(
+              r -> {
+                Thread t = new Thread(r, "journal-snapshotter");
+                t.setDaemon(true);
+                return t;
+              });
+      long period = snapshotInterval.toMillis();
+      snapshotter.scheduleWithFixedDelay(
+          this::snapshotQuietly, period, period, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  // Writes a snapshot, then drops the journal segments and older snapshots it covers. Returns the
+  // LSN it covers; a no-op if nothing was journaled since the last one.
+  public long snapshot() {
+    synchronized (snapshotLock) {
+      long lsn = journal.lastLsn();
+      if (lsn <= snapshotLsn) return snapshotLsn;
+      long start = System.nanoTime();
+      snapshots.write(
+          lsn,
+          sink -> {
+            users.forEach(
+                (user, version) -> sink.write(JournalCodec.USER, encodeUser(user, version)));
+            events.forEach(
+                (event, version) -> sink.write(JournalCodec.EVENT, encodeEvent(event, version)));
+            bets.forEach((bet, version) -> sink.write(JournalCodec.BET, encodeBet(bet, version)));
+            idempotency.forEach(
+                entry ->
+                    sink.write(JournalCodec.IDEMPOTENCY, JournalCodec.encodeIdempotency(entry)));
+          });
+      snapshots.deleteOlderThan(lsn);
+      int segments = journal.deleteSegmentsUpTo(lsn);
+      snapshotLsn = lsn;
+      log.info(
+          "Snapshot at lsn {} written in {} ms, {} journal segments deleted",
+          lsn,
+          TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+          segments);
+      return lsn;
+    }
+  }
+
+  public InMemoryUserRepository users() {
+    return users;
+  }
+
+  public InMemoryEventRepository events() {
+    return events;
+  }
+
+  public InMemoryBetRepository bets() {
+    return bets;
+  }
+
+  public InMemoryIdempotencyRepository idempotency() {
+    return idempotency;
+  }
+
+  @Override
+  public void close() {
+    if (snapshotter != null) {
+      snapshotter.shutdownNow();
+    }
+    journal.close();
+  }
+
+  private void snapshotQuietly() {
+    try {
+      snapshot();
+    } catch (RuntimeException e) {
+      // the journal still has everything; try again on the next run
+      log.warn("Snapshot failed", e);
+    }
+  }
+
+  private void apply(byte type, ByteBuffer payload) {
+    switch (type) {
+      case JournalCodec.USER -> {
+        var user = JournalCodec.decodeUser(payload);
+        users.restore(user.value(), user.version());
+      }
+      case JournalCodec.USER_WITHOUT_PAYOUTS -> {
+        var user = JournalCodec.decodeUserWithoutPayouts(payload);
+        users.restore(user.value(), user.version());
+      }
+      case JournalCodec.EVENT -> {
+        var event = JournalCodec.decodeEvent(payload);
+        events.restore(event.value(), event.version());
+      }
+      case JournalCodec.EVENT_WITHOUT_WINNER -> {
+        var event = JournalCodec.decodeEventWithoutWinner(payload);
+        events.restore(event.value(), event.version());
+      }
+      case JournalCodec.BET -> {
+        var bet = JournalCodec.decodeBet(payload);
+        bets.restore(bet.value(), bet.version());
+      }
+      case JournalCodec.BET_WITHOUT_PLACED_AT -> {
+        var bet = JournalCodec.decodeBetWithoutPlacedAt(payload);
+        bets.restore(bet.value(), bet.version());
+      }
+      case JournalCodec.IDEMPOTENCY -> idempotency.restore(JournalCodec.decodeIdempotency(payload));
+      default -> throw new IllegalStateException("Unknown journal record type " + type);
+    }
+  }
+
+  private void appendUser(User user, long version) {
+    append(JournalCodec.USER, encodeUser(user, version));
+  }
+
+  private void appendEvent(Event event, long version) {
+    append(JournalCodec.EVENT, encodeEvent(event, version));
+  }
+
+  private void appendBet(Bet bet, long version) {
+    append(JournalCodec.BET, encodeBet(bet, version));
+  }
+
+  private void append(byte type, byte[] payload) {
+    journal.append(type, payload);
+  }
+}
@@ -0,0 +1,194 @@
+package com.example.f1bet.infrastructure.persistence.journal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Point-in-time copies of the repositories, named after the journal LSN they cover.
+//
+// File: [magic:int][format:short][lsn:long], then records [type:byte][length:int][payload] in
+// the journal's encoding, then a zero type byte and a crc32c of everything before it. Files are
+// written under a temporary name, forced, and renamed into place, so a crash never leaves a
+// partial snapshot behind under the final name.
+final class SnapshotStore {
+  static final int MAGIC = 0x46314E53; // "F1SN"
+  static final short FORMAT = 1;
+  private static final String SUFFIX = ".snap";
+  private static final String TMP_SUFFIX = ".snap.tmp";
+
+  private static final Logger log = LoggerFactory.getLogger(SnapshotStore.class);
+
+  @FunctionalInterface
+  interface RecordSink {
+    void write(byte type, byte[] payload);
+  }
+
+  @FunctionalInterface
+  interface Contents {
+    void writeTo(RecordSink sink);
+  }
+
+  private final Path dir;
+
+  SnapshotStore(Path dir) {
+    this.dir = dir;
+    try {
+      Files.createDirectories(dir);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  // writes a snapshot covering the journal up to lsn and returns its path
+  Path write(long lsn, Contents contents) {
+    Path tmp = dir.resolve(name(lsn) + TMP_SUFFIX);
+    Path target = dir.resolve(name(lsn) + SUFFIX);
+    CRC32C crc = new CRC32C();
+    try (FileChannel channel =
+            FileChannel.open(
+                tmp,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        DataOutputStream out =
+            new DataOutputStream(
+                new CheckedOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16), crc))) {
+      out.writeInt(MAGIC);
+      out.writeShort(FORMAT);
+      out.writeLong(lsn);
+      contents.writeTo(
+          (type, payload) -> {
+            try {
+              out.writeByte(type);
+              out.writeInt(payload.length);
+              out.write(payload);
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+          });
+      out.writeByte(0);
+      out.flush();
+      // the checksum itself is not part of the checksummed bytes
+      new DataOutputStream(Channels.newOutputStream(channel)).writeInt((int) crc.getValue());
+      channel.force(true);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    try {
+      Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return target;
+  }
+
+  // Loads the newest readable snapshot and returns its LSN, or -1 if there is none. A corrupt
+  // snapshot is skipped in favour of the one before it.
+  long loadLatest(RecordSink sink) {
+    List<Path> snapshots = snapshots();
+    for (int i = snapshots.size() - 1; i >= 0; i--) {
+      Path path = snapshots.get(i);
+      if (verify(path)) {
+        return read(path, sink);
+      }
+      log.warn("Ignoring corrupt snapshot {}", path);
+    }
+    return -1L;
+  }
+
+  // deletes every snapshot older than the given one, plus leftovers of interrupted writes
+  void deleteOlderThan(long lsn) {
+    for (Path path : snapshots()) {
+      if (lsnOf(path) < lsn) delete(path);
+    }
+    try (Stream<Path> files = Files.list(dir)) {
+      files.filter(p -> p.toString().endsWith(TMP_SUFFIX)).forEach(SnapshotStore::delete);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private boolean verify(Path path) {
+    try (InputStream in = new BufferedInputStream(Files.newInputStream(path), 1 << 16)) {
+      long size = Files.size(path);
+      if (size < 4 + 2 + 8 + 1 + 4) return false;
+      CRC32C crc = new CRC32C();
+      byte[] chunk = new byte[1 << 16];
+      long remaining = size - 4;
+      while (remaining > 0) {
+        int n = in.read(chunk, 0, (int) Math.min(chunk.length, remaining));
+        if (n < 0) return false;
+        crc.update(chunk, 0, n);
+        remaining -= n;
+      }
+      return (int) crc.getValue() == new DataInputStream(in).readInt();
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  private static long read(Path path, RecordSink sink) {
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+      if (in.readInt() != MAGIC) throw new IllegalStateException("not a snapshot: " + path);
+      short format = in.readShort();
+      if (format != FORMAT) throw new IllegalStateException("unsupported snapshot " + format);
+      long lsn = in.readLong();
+      byte type;
+      while ((type = in.readByte()) != 0) {
+        byte[] payload = new byte[in.readInt()];
+        in.readFully(payload);
+        sink.write(type, payload);
+      }
+      return lsn;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private List<Path> snapshots() {
+    try (Stream<Path> files = Files.list(dir)) {
+      List<Path> snapshots =
+          new ArrayList<>(files.filter(p -> p.toString().endsWith(SUFFIX)).toList());
+      snapshots.sort(null);
+      return snapshots;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static String name(long lsn) {
+    return String.format("%020d", lsn);
+  }
+
+  private static long lsnOf(Path snapshot) {
+    String name = snapshot.getFileName().toString();
+    return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+  }
+
+  private static void delete(Path path) {
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
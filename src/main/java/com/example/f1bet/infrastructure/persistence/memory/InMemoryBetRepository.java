@@ -1,27 +1,69 @@
 package com.example.f1bet.infrastructure.persistence.memory;
 
 import com.example.f1bet.domain.entity.Bet;
+import com.example.f1bet.domain.enums.BetStatus;
 import com.example.f1bet.ports.out.BetRepository;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ObjLongConsumer;
 
 public class InMemoryBetRepository implements BetRepository {
   private static final class VersionedBet {
     final Bet bet;
     final long version;
+    // the status the bet is indexed under; Bet is mutable, so bet.getStatus() may already be ahead
+    final BetStatus status;
 
     VersionedBet(Bet bet, long version) {
       this.bet = bet;
       this.version = version;
+      this.status = bet.getStatus();
     }
   }
 
+  // most recently placed first; the id orders bets placed in the same instant
+  private record HistoryKey(Instant placedAt, UUID betId) implements Comparable<HistoryKey> {
+    static HistoryKey of(Bet bet) {
+      return new HistoryKey(bet.getPlacedAt(), bet.getId());
+    }
+
+    @Override
+    public int compareTo(HistoryKey other) {
+      int byTime = other.placedAt.compareTo(placedAt);
+      return byTime != 0 ? byTime : betId.compareTo(other.betId);
+    }
+  }
+
+  private record UserStatus(UUID userId, BetStatus status) {}
+
   private final ConcurrentHashMap<UUID, VersionedBet> store = new ConcurrentHashMap<>();
+  // eventId -> ids of bets placed on that event; a bet's eventId never changes, so entries are
+  // only ever added
+  private final ConcurrentHashMap<UUID, Set<UUID>> byEvent = new ConcurrentHashMap<>();
+  // a user's bet history, whole and per status, so pages seek to their cursor instead of scanning.
+  // A bet's user and placement time never change; its status entry moves when it settles.
+  private final ConcurrentHashMap<UUID, ConcurrentSkipListMap<HistoryKey, UUID>> byUser =
+      new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<UserStatus, ConcurrentSkipListMap<HistoryKey, UUID>>
+      byUserStatus = new ConcurrentHashMap<>();
   private final AtomicLong idSeq = new AtomicLong(1);
+  private final WriteListener<Bet> listener;
+
+  public InMemoryBetRepository() {
+    this(WriteListener.none());
+  }
+
+  public InMemoryBetRepository(WriteListener<Bet> listener) {
+    this.listener = listener;
+  }
 
   @Override
   public Optional<Bet> findById(UUID id) {
@@ -32,26 +74,81 @@ public class InMemoryBetRepository implements BetRepository {
   @Override
   public Bet save(Bet bet) {
     // assumes bet already has an id assigned by caller; otherwise, generate here if needed
-    store.put(bet.getId(), new VersionedBet(bet, 0L));
+    VersionedBet stored =
+        store.compute(
+            bet.getId(),
+            (id, current) -> {
+              VersionedBet next = new VersionedBet(bet, current == null ? 0L : current.version + 1);
+              index(current, next);
+              return next;
+            });
+    listener.onWrite(stored.bet, stored.version);
     return bet;
   }
 
   @Override
   public Bet update(Bet bet, long expectedVersion) {
+    VersionedBet stored =
+        store.compute(
+            bet.getId(),
+            (id, current) -> {
+              if (current != null && current.version != expectedVersion) {
+                throw new OptimisticLockException(
+                    "Bet version mismatch: expected="
+                        + expectedVersion
+                        + ", actual="
+                        + current.version);
+              }
+              VersionedBet next = new VersionedBet(bet, current == null ? 0L : current.version + 1);
+              // indexed inside compute, so racing writes of one bet cannot reorder index updates
+              index(current, next);
+              return next;
+            });
+    listener.onWrite(stored.bet, stored.version);
+    return bet;
+  }
+
+  // visits every stored bet with its version; weakly consistent with concurrent writes
+  public void forEach(ObjLongConsumer<Bet> visitor) {
+    store.values().forEach(stored -> visitor.accept(stored.bet, stored.version));
+  }
+
+  // re-applies a journaled write without notifying the listener
+  public void restore(Bet bet, long version) {
     store.compute(
         bet.getId(),
         (id, current) -> {
-          if (current == null) return new VersionedBet(bet, 0L);
-          if (current.version != expectedVersion) {
-            throw new OptimisticLockException(
-                "Bet version mismatch: expected="
-                    + expectedVersion
-                    + ", actual="
-                    + current.version);
+          if (current != null && !WriteListener.supersedes(version, current.version)) {
+            return current;
           }
-          return new VersionedBet(bet, current.version + 1);
+          VersionedBet next = new VersionedBet(bet, version);
+          index(current, next);
+          return next;
         });
-    return bet;
+  }
+
+  // caller holds the store entry of the bet, so writes of one bet are indexed one at a time
+  private void index(VersionedBet previous, VersionedBet next) {
+    Bet bet = next.bet;
+    HistoryKey key = HistoryKey.of(bet);
+    if (previous == null) {
+      byEvent
+          .computeIfAbsent(bet.getEventId(), k -> ConcurrentHashMap.newKeySet())
+          .add(bet.getId());
+      byUser
+          .computeIfAbsent(bet.getUserId(), k -> new ConcurrentSkipListMap<>())
+          .put(key, bet.getId());
+    } else if (previous.status == next.status) {
+      return;
+    } else {
+      historyOf(bet.getUserId(), previous.status).remove(key);
+    }
+    historyOf(bet.getUserId(), next.status).put(key, bet.getId());
+  }
+
+  private ConcurrentSkipListMap<HistoryKey, UUID> historyOf(UUID userId, BetStatus status) {
+    return byUserStatus.computeIfAbsent(
+        new UserStatus(userId, status), k -> new ConcurrentSkipListMap<>());
   }
 
   public UUID nextId() {
@@ -60,15 +157,45 @@ public class InMemoryBetRepository implements BetRepository {
 
   @Override
   public List<Bet> findByEventId(UUID eventId) {
-    List<Bet> list = new ArrayList<>();
-    for (VersionedBet vb : store.values()) {
-      if (vb.bet.getEventId().equals(eventId)) {
+    Set<UUID> ids = byEvent.get(eventId);
+    if (ids == null) return List.of();
+    List<Bet> list = new ArrayList<>(ids.size());
+    for (UUID id : ids) {
+      VersionedBet vb = store.get(id);
+      if (vb != null) {
         list.add(vb.bet);
       }
     }
     return list;
   }
 
+  // seeks to the cursor's entry in the user's index: O(log n + size) however many bets there are
+  @Override
+  public List<Bet> findByUserId(UUID userId, BetStatus status, UUID after, int size) {
+    VersionedBet cursor = after == null ? null : store.get(after);
+    if (after != null && (cursor == null || !cursor.bet.getUserId().equals(userId))) {
+      throw new IllegalArgumentException("Unknown cursor: " + after);
+    }
+    if (size <= 0) return List.of();
+    NavigableMap<HistoryKey, UUID> history =
+        status == null ? byUser.get(userId) : byUserStatus.get(new UserStatus(userId, status));
+    if (history == null) return List.of();
+    if (cursor != null) {
+      // the cursor bet may have settled since; its key still marks the position
+      history = history.tailMap(HistoryKey.of(cursor.bet), false);
+    }
+    List<Bet> page = new ArrayList<>(Math.min(size, 64));
+    for (UUID id : history.values()) {
+      if (page.size() == size) break;
+      VersionedBet vb = store.get(id);
+      // skips a bet caught between two status indexes
+      if (vb != null && (status == null || vb.status == status)) {
+        page.add(vb.bet);
+      }
+    }
+    return page;
+  }
+
   @Override
   public long versionOf(UUID id) {
     VersionedBet vb = store.get(id);
@@ -3,11 +3,13 @@ package com.example.f1bet.infrastructure.persistence.memory;
 import com.example.f1bet.domain.entity.Event;
 import com.example.f1bet.ports.out.EventRepository;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.ObjLongConsumer;
 
 public class InMemoryEventRepository implements EventRepository {
   private static final class VersionedEvent {
@@ -20,7 +22,17 @@ public class InMemoryEventRepository implements EventRepository {
     }
   }
 
-  private final ConcurrentHashMap<UUID, VersionedEvent> store = new ConcurrentHashMap<>();
+  // kept ordered by id so pages can be read straight off the map instead of copied and sorted
+  private final ConcurrentSkipListMap<UUID, VersionedEvent> store = new ConcurrentSkipListMap<>();
+  private final WriteListener<Event> listener;
+
+  public InMemoryEventRepository() {
+    this(WriteListener.none());
+  }
+
+  public InMemoryEventRepository(WriteListener<Event> listener) {
+    this.listener = listener;
+  }
 
   @Override
   public Optional<Event> findById(UUID id) {
@@ -30,39 +42,84 @@ public class InMemoryEventRepository implements EventRepository {
 
   @Override
   public Event save(Event event) {
-    store.put(event.getId(), new VersionedEvent(event, 0L));
+    VersionedEvent stored =
+        store.compute(
+            event.getId(),
+            (id, current) ->
+                new VersionedEvent(event, current == null ? 0L : current.version + 1));
+    listener.onWrite(stored.event, stored.version);
+    return event;
+  }
+
+  @Override
+  public Event saveIfAbsent(Event event) {
+    VersionedEvent existing = store.putIfAbsent(event.getId(), new VersionedEvent(event, 0L));
+    if (existing != null) return existing.event;
+    listener.onWrite(event, 0L);
     return event;
   }
 
   @Override
   public Event update(Event event, long expectedVersion) {
-    store.compute(
-        event.getId(),
-        (id, current) -> {
-          if (current == null) return new VersionedEvent(event, 0L);
-          if (current.version != expectedVersion) {
-            throw new OptimisticLockException(
-                "Event version mismatch: expected="
-                    + expectedVersion
-                    + ", actual="
-                    + current.version);
-          }
-          return new VersionedEvent(event, current.version + 1);
-        });
+    VersionedEvent stored =
+        store.compute(
+            event.getId(),
+            (id, current) -> {
+              if (current == null) return new VersionedEvent(event, 0L);
+              if (current.version != expectedVersion) {
+                throw new OptimisticLockException(
+                    "Event version mismatch: expected="
+                        + expectedVersion
+                        + ", actual="
+                        + current.version);
+              }
+              return new VersionedEvent(event, current.version + 1);
+            });
+    listener.onWrite(stored.event, stored.version);
     return event;
   }
 
+  // visits every stored event with its version; weakly consistent with concurrent writes
+  public void forEach(ObjLongConsumer<Event> visitor) {
+    store.values().forEach(stored -> visitor.accept(stored.event, stored.version));
+  }
+
+  // re-applies a journaled write without notifying the listener
+  public void restore(Event event, long version) {
+    store.merge(
+        event.getId(),
+        new VersionedEvent(event, version),
+        (current, next) ->
+            WriteListener.supersedes(next.version, current.version) ? next : current);
+  }
+
+  // no copy or sort, but offset pages still walk past the skipped events: O(page * size + size)
   @Override
   public List<Event> findPage(int page, int size) {
     if (page < 0 || size <= 0) return List.of();
-    List<Event> events = new ArrayList<>();
-    for (VersionedEvent ve : store.values()) {
-      events.add(ve.event);
+    long skip = (long) page * size;
+    Iterator<VersionedEvent> it = store.values().iterator();
+    for (long i = 0; i < skip && it.hasNext(); i++) {
+      it.next();
+    }
+    return take(it, size);
+  }
+
+  // keyset pages seek straight to the cursor: O(log n + size)
+  @Override
+  public List<Event> findPageAfter(UUID after, int size) {
+    if (size <= 0) return List.of();
+    Collection<VersionedEvent> tail =
+        after == null ? store.values() : store.tailMap(after, false).values();
+    return take(tail.iterator(), size);
+  }
+
+  private static List<Event> take(Iterator<VersionedEvent> it, int size) {
+    List<Event> events = new ArrayList<>(Math.min(size, 64));
+    while (events.size() < size && it.hasNext()) {
+      events.add(it.next().event);
     }
-    events.sort(Comparator.comparing(Event::getId));
-    int from = Math.min(page * size, events.size());
-    int to = Math.min(from + size, events.size());
-    return events.subList(from, to);
+    return events;
   }
 
   @Override
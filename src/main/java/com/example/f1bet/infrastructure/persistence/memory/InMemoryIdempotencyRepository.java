@@ -4,12 +4,25 @@ import com.example.f1bet.ports.out.IdempotencyRepository;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import org.springframework.stereotype.Component;
+import java.util.function.Consumer;
 
-@Component
 public class InMemoryIdempotencyRepository implements IdempotencyRepository {
-  private final Map<String, UUID> map = new ConcurrentHashMap<>();
+  public record Entry(UUID userId, String key, UUID betId) {}
+
+  // completed futures hold the bet id; pending ones belong to a request still in flight
+  private final Map<String, CompletableFuture<UUID>> map = new ConcurrentHashMap<>();
+  private final WriteListener<Entry> listener;
+
+  public InMemoryIdempotencyRepository() {
+    this(WriteListener.none());
+  }
+
+  // only completed keys are reported; in-flight ones die with the process anyway
+  public InMemoryIdempotencyRepository(WriteListener<Entry> listener) {
+    this.listener = listener;
+  }
 
   private String key(UUID userId, String idempotencyKey) {
     return userId.toString() + ":" + idempotencyKey;
@@ -18,12 +31,50 @@ public class InMemoryIdempotencyRepository implements IdempotencyRepository {
   @Override
   public Optional<UUID> findByUserIdAndKey(UUID userId, String key) {
     if (key == null) return Optional.empty();
-    return Optional.ofNullable(map.get(key(userId, key)));
+    CompletableFuture<UUID> f = map.get(key(userId, key));
+    if (f == null || !f.isDone() || f.isCompletedExceptionally()) return Optional.empty();
+    return Optional.of(f.join());
+  }
+
+  @Override
+  public Optional<CompletableFuture<UUID>> register(UUID userId, String key) {
+    if (key == null) return Optional.empty();
+    return Optional.ofNullable(map.putIfAbsent(key(userId, key), new CompletableFuture<>()));
   }
 
   @Override
   public void save(UUID userId, String key, UUID betId) {
     if (key == null) return;
-    map.putIfAbsent(key(userId, key), betId);
+    if (map.computeIfAbsent(key(userId, key), k -> new CompletableFuture<>()).complete(betId)) {
+      listener.onWrite(new Entry(userId, key, betId), 0L);
+    }
+  }
+
+  // visits every completed mapping; keys still in flight are skipped
+  public void forEach(Consumer<Entry> visitor) {
+    map.forEach(
+        (k, f) -> {
+          if (f.isDone() && !f.isCompletedExceptionally()) {
+            int sep = k.indexOf(':');
+            visitor.accept(
+                new Entry(UUID.fromString(k.substring(0, sep)), k.substring(sep + 1), f.join()));
+          }
+        });
+  }
+
+  // re-applies a journaled mapping without notifying the listener
+  public void restore(Entry entry) {
+    map.computeIfAbsent(key(entry.userId(), entry.key()), k -> new CompletableFuture<>())
+        .complete(entry.betId());
+  }
+
+  @Override
+  public void release(UUID userId, String key, RuntimeException failure) {
+    if (key == null) return;
+    CompletableFuture<UUID> f = map.get(key(userId, key));
+    if (f != null && !f.isDone()) {
+      map.remove(key(userId, key), f);
+      f.completeExceptionally(failure);
+    }
   }
 }
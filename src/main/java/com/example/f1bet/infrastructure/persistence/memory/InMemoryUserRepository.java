@@ -1,10 +1,12 @@
 package com.example.f1bet.infrastructure.persistence.memory;
 
 import com.example.f1bet.domain.entity.User;
+import com.example.f1bet.domain.vo.Money;
 import com.example.f1bet.ports.out.UserRepository;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ObjLongConsumer;
 
 public class InMemoryUserRepository implements UserRepository {
   private static final class VersionedUser {
@@ -12,41 +14,73 @@ public class InMemoryUserRepository implements UserRepository {
     final long version;
 
     VersionedUser(User user, long version) {
-      this.user = user;
+      this.user = user.withVersion(version);
       this.version = version;
     }
   }
 
   private final ConcurrentHashMap<UUID, VersionedUser> store = new ConcurrentHashMap<>();
+  private final WriteListener<User> listener;
+
+  public InMemoryUserRepository() {
+    this(WriteListener.none());
+  }
+
+  public InMemoryUserRepository(WriteListener<User> listener) {
+    this.listener = listener;
+  }
 
   @Override
   public Optional<User> findById(UUID id) {
-    VersionedUser vu = store.computeIfAbsent(id, key -> new VersionedUser(User.create(key), 0L));
-    return Optional.of(vu.user);
+    return Optional.of(current(id).user);
+  }
+
+  private VersionedUser current(UUID id) {
+    return store.computeIfAbsent(id, key -> new VersionedUser(User.create(key), 0L));
   }
 
   @Override
   public User save(User user) {
-    store.put(user.getId(), new VersionedUser(user, 0L));
-    return user;
+    VersionedUser stored =
+        store.compute(
+            user.getId(),
+            (id, current) -> new VersionedUser(user, current == null ? 0L : current.version + 1));
+    listener.onWrite(stored.user, stored.version);
+    return stored.user;
   }
 
   @Override
   public User update(User user, long expectedVersion) {
-    store.compute(
+    VersionedUser stored =
+        store.compute(
+            user.getId(),
+            (id, current) -> {
+              if (current == null) return new VersionedUser(user, 0L);
+              if (current.version != expectedVersion) {
+                throw new OptimisticLockException(
+                    "User version mismatch: expected="
+                        + expectedVersion
+                        + ", actual="
+                        + current.version);
+              }
+              return new VersionedUser(user, current.version + 1);
+            });
+    listener.onWrite(stored.user, stored.version);
+    return stored.user;
+  }
+
+  // visits every stored user with its version; weakly consistent with concurrent writes
+  public void forEach(ObjLongConsumer<User> visitor) {
+    store.values().forEach(stored -> visitor.accept(stored.user, stored.version));
+  }
+
+  // re-applies a journaled write without notifying the listener
+  public void restore(User user, long version) {
+    store.merge(
         user.getId(),
-        (id, current) -> {
-          if (current == null) return new VersionedUser(user, 0L);
-          if (current.version != expectedVersion) {
-            throw new OptimisticLockException(
-                "User version mismatch: expected="
-                    + expectedVersion
-                    + ", actual="
-                    + current.version);
-          }
-          return new VersionedUser(user, current.version + 1);
-        });
-    return user;
+        new VersionedUser(user, version),
+        (current, next) ->
+            WriteListener.supersedes(next.version, current.version) ? next : current);
   }
 
   @Override
@@ -54,4 +88,67 @@ public class InMemoryUserRepository implements UserRepository {
     VersionedUser vu = store.get(id);
     return vu == null ? 0L : vu.version;
   }
+
+  // lock-free: retry the compare-and-set until no other writer got in between
+  @Override
+  public Optional<User> tryDebit(UUID id, Money amount) {
+    while (true) {
+      VersionedUser current = current(id);
+      Money balance = current.user.getBalance();
+      if (!balance.getCurrency().equals(amount.getCurrency()) || balance.isLessThan(amount)) {
+        return Optional.empty();
+      }
+      User debited = current.user.withBalance(balance.subtract(amount));
+      VersionedUser next = new VersionedUser(debited, current.version + 1);
+      if (store.replace(id, current, next)) {
+        listener.onWrite(next.user, next.version);
+        return Optional.of(next.user);
+      }
+    }
+  }
+
+  @Override
+  public User credit(UUID id, Money amount) {
+    while (true) {
+      VersionedUser current = current(id);
+      User credited = current.user.withBalance(current.user.getBalance().add(amount));
+      VersionedUser next = new VersionedUser(credited, current.version + 1);
+      if (store.replace(id, current, next)) {
+        listener.onWrite(next.user, next.version);
+        return next.user;
+      }
+    }
+  }
+
+  @Override
+  public Optional<User> creditPayout(UUID id, Money amount, UUID eventId) {
+    while (true) {
+      VersionedUser current = current(id);
+      if (current.user.hasPayoutInFlight(eventId)) return Optional.empty();
+      User credited =
+          current
+              .user
+              .withBalance(current.user.getBalance().add(amount))
+              .withPayoutInFlight(eventId);
+      VersionedUser next = new VersionedUser(credited, current.version + 1);
+      if (store.replace(id, current, next)) {
+        listener.onWrite(next.user, next.version);
+        return Optional.of(next.user);
+      }
+    }
+  }
+
+  @Override
+  public void completePayout(UUID id, UUID eventId) {
+    while (true) {
+      VersionedUser current = current(id);
+      if (!current.user.hasPayoutInFlight(eventId)) return;
+      VersionedUser next =
+          new VersionedUser(current.user.withoutPayoutInFlight(eventId), current.version + 1);
+      if (store.replace(id, current, next)) {
+        listener.onWrite(next.user, next.version);
+        return;
+      }
+    }
+  }
 }
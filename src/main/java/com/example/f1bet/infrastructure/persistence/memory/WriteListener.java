@@ -0,0 +1,20 @@
+package com.example.f1bet.infrastructure.persistence.memory;
+
+// Observes every committed write of an in-memory repository, e.g. to journal it. Called on the
+// writing thread after the write is visible, with the version that write produced.
+@FunctionalInterface
+public interface WriteListener<T> {
+  void onWrite(T value, long version);
+
+  static <T> WriteListener<T> none() {
+    return (value, version) -> {};
+  }
+
+  // Replay rule shared by the repositories' restore methods: a record applies only if it is
+  // newer than what is stored, and a first save (version 0) only when nothing is stored yet.
+  // Concurrent writers may append their records out of order, so versions decide rather than
+  // journal order; a save over an existing entry continues its versions for the same reason.
+  static boolean supersedes(long restoredVersion, long storedVersion) {
+    return restoredVersion > storedVersion;
+  }
+}
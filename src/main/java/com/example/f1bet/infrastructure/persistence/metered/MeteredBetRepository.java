@@ -0,0 +1,63 @@
+package com.example.f1bet.infrastructure.persistence.metered;
+
+import com.example.f1bet.domain.entity.Bet;
+import com.example.f1bet.domain.enums.BetStatus;
+import com.example.f1bet.ports.out.BetRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+// Times every call into the wrapped repository
+public class MeteredBetRepository implements BetRepository {
+  private final BetRepository delegate;
+  private final RepositoryMetrics metrics;
+  private final Timer findById;
+  private final Timer save;
+  private final Timer update;
+  private final Timer findByEventId;
+  private final Timer findByUserId;
+  private final Timer versionOf;
+
+  public MeteredBetRepository(BetRepository delegate, MeterRegistry registry) {
+    this.delegate = delegate;
+    this.metrics = new RepositoryMetrics(registry, "bet");
+    this.findById = metrics.timer("findById");
+    this.save = metrics.timer("save");
+    this.update = metrics.timer("update");
+    this.findByEventId = metrics.timer("findByEventId");
+    this.findByUserId = metrics.timer("findByUserId");
+    this.versionOf = metrics.timer("versionOf");
+  }
+
+  @Override
+  public Optional<Bet> findById(UUID id) {
+    return metrics.time(findById, () -> delegate.findById(id));
+  }
+
+  @Override
+  public Bet save(Bet bet) {
+    return metrics.time(save, () -> delegate.save(bet));
+  }
+
+  @Override
+  public Bet update(Bet bet, long expectedVersion) {
+    return metrics.time(update, () -> delegate.update(bet, expectedVersion));
+  }
+
+  @Override
+  public List<Bet> findByEventId(UUID eventId) {
+    return metrics.time(findByEventId, () -> delegate.findByEventId(eventId));
+  }
+
+  @Override
+  public List<Bet> findByUserId(UUID userId, BetStatus status, UUID after, int size) {
+    return metrics.time(findByUserId, () -> delegate.findByUserId(userId, status, after, size));
+  }
+
+  @Override
+  public long versionOf(UUID id) {
+    return metrics.timeLong(versionOf, () -> delegate.versionOf(id));
+  }
+}
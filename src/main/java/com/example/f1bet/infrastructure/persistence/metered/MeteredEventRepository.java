@@ -0,0 +1,69 @@
+package com.example.f1bet.infrastructure.persistence.metered;
+
+import com.example.f1bet.domain.entity.Event;
+import com.example.f1bet.ports.out.EventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+// Times every call into the wrapped repository
+public class MeteredEventRepository implements EventRepository {
+  private final EventRepository delegate;
+  private final RepositoryMetrics metrics;
+  private final Timer findById;
+  private final Timer save;
+  private final Timer saveIfAbsent;
+  private final Timer update;
+  private final Timer findPage;
+  private final Timer findPageAfter;
+  private final Timer versionOf;
+
+  public MeteredEventRepository(EventRepository delegate, MeterRegistry registry) {
+    this.delegate = delegate;
+    this.metrics = new RepositoryMetrics(registry, "event");
+    this.findById = metrics.timer("findById");
+    this.save = metrics.timer("save");
+    this.saveIfAbsent = metrics.timer("saveIfAbsent");
+    this.update = metrics.timer("update");
+    this.findPage = metrics.timer("findPage");
+    this.findPageAfter = metrics.timer("findPageAfter");
+    this.versionOf = metrics.timer("versionOf");
+  }
+
+  @Override
+  public Optional<Event> findById(UUID id) {
+    return metrics.time(findById, () -> delegate.findById(id));
+  }
+
+  @Override
+  public Event save(Event event) {
+    return metrics.time(save, () -> delegate.save(event));
+  }
+
+  @Override
+  public Event saveIfAbsent(Event event) {
+    return metrics.time(saveIfAbsent, () -> delegate.saveIfAbsent(event));
+  }
+
+  @Override
+  public Event update(Event event, long expectedVersion) {
+    return metrics.time(update, () -> delegate.update(event, expectedVersion));
+  }
+
+  @Override
+  public List<Event> findPage(int page, int size) {
+    return metrics.time(findPage, () -> delegate.findPage(page, size));
+  }
+
+  @Override
+  public List<Event> findPageAfter(UUID after, int size) {
+    return metrics.time(findPageAfter, () -> delegate.findPageAfter(after, size));
+  }
+
+  @Override
+  public long versionOf(UUID id) {
+    return metrics.timeLong(versionOf, () -> delegate.versionOf(id));
+  }
+}
@@ -0,0 +1,81 @@
+package com.example.f1bet.infrastructure.persistence.metered;
+
+import com.example.f1bet.domain.entity.User;
+import com.example.f1bet.domain.vo.Money;
+import com.example.f1bet.ports.out.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Optional;
+import java.util.UUID;
+
+// Times every call into the wrapped repository
+public class MeteredUserRepository implements UserRepository {
+  private final UserRepository delegate;
+  private final RepositoryMetrics metrics;
+  private final Timer findById;
+  private final Timer save;
+  private final Timer update;
+  private final Timer versionOf;
+  private final Timer tryDebit;
+  private final Timer credit;
+  private final Timer creditPayout;
+  private final Timer completePayout;
+
+  public MeteredUserRepository(UserRepository delegate, MeterRegistry registry) {
+    this.delegate = delegate;
+    this.metrics = new RepositoryMetrics(registry, "user");
+    this.findById = metrics.timer("findById");
+    this.save = metrics.timer("save");
+    this.update = metrics.timer("update");
+    this.versionOf = metrics.timer("versionOf");
+    this.tryDebit = metrics.timer("tryDebit");
+    this.credit = metrics.timer("credit");
+    this.creditPayout = metrics.timer("creditPayout");
+    this.completePayout = metrics.timer("completePayout");
+  }
+
+  @Override
+  public Optional<User> findById(UUID id) {
+    return metrics.time(findById, () -> delegate.findById(id));
+  }
+
+  @Override
+  public User save(User user) {
+    return metrics.time(save, () -> delegate.save(user));
+  }
+
+  @Override
+  public User update(User user, long expectedVersion) {
+    return metrics.time(update, () -> delegate.update(user, expectedVersion));
+  }
+
+  @Override
+  public long versionOf(UUID id) {
+    return metrics.timeLong(versionOf, () -> delegate.versionOf(id));
+  }
+
+  @Override
+  public Optional<User> tryDebit(UUID id, Money amount) {
+    return metrics.time(tryDebit, () -> delegate.tryDebit(id, amount));
+  }
+
+  @Override
+  public User credit(UUID id, Money amount) {
+    return metrics.time(credit, () -> delegate.credit(id, amount));
+  }
+
+  @Override
+  public Optional<User> creditPayout(UUID id, Money amount, UUID eventId) {
+    return metrics.time(creditPayout, () -> delegate.creditPayout(id, amount, eventId));
+  }
+
+  @Override
+  public void completePayout(UUID id, UUID eventId) {
+    metrics.time(
+        completePayout,
+        () -> {
+          delegate.completePayout(id, eventId);
+          return null;
+        });
+  }
+}
@@ -0,0 +1,56 @@
+package com.example.f1bet.infrastructure.persistence.metered;
+
+import com.example.f1bet.infrastructure.persistence.memory.OptimisticLockException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+// Per-operation timers for one repository, plus a count of writes rejected by a version check.
+// Meters are registered up front so the hot path never looks them up.
+final class RepositoryMetrics {
+  private final MeterRegistry registry;
+  private final String repository;
+  private final Counter conflicts;
+
+  RepositoryMetrics(MeterRegistry registry, String repository) {
+    this.registry = registry;
+    this.repository = repository;
+    this.conflicts =
+        Counter.builder("f1bet.repository.conflicts")
+            .description("Writes rejected because the stored version had moved on")
+            .tag("repository", repository)
+            .register(registry);
+  }
+
+  Timer timer(String operation) {
+    return Timer.builder("f1bet.repository.ops")
+        .tag("repository", repository)
+        .tag("operation", operation)
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+
+  <T> T time(Timer timer, Supplier<T> call) {
+    long start = System.nanoTime();
+    try {
+      return call.get();
+    } catch (OptimisticLockException e) {
+      conflicts.increment();
+      throw e;
+    } finally {
+      timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  long timeLong(Timer timer, LongSupplier call) {
+    long start = System.nanoTime();
+    try {
+      return call.getAsLong();
+    } finally {
+      timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+}
@@ -0,0 +1,354 @@
+package com.example.f1bet.infrastructure.provider.cache;
+
+import com.example.f1bet.ports.out.F1ProviderPort;
+import com.example.f1bet.ports.out.ProviderDriver;
+import com.example.f1bet.ports.out.ProviderSession;
+import com.example.f1bet.ports.out.ProviderSessionFilter;
+import com.example.f1bet.ports.out.ProviderSessionPage;
+import com.example.f1bet.ports.out.ReactiveF1ProviderPort;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+// Caches provider responses per filter / session with a TTL. Concurrent misses on the same key are
+// coalesced: the first caller loads, the others wait for its result.
+public class CachingF1ProviderAdapter
+    implements F1ProviderPort, ReactiveF1ProviderPort, MeterBinder {
+
+  public record Stats(
+      long hits, long misses, long loads, long loadFailures, long evictions, int size) {}
+
+  private record SessionsKey(ProviderSessionFilter filter) {}
+
+  private record SessionPageKey(ProviderSessionFilter filter, int page, int size) {}
+
+  private record DriversKey(String sessionId) {}
+
+  private static final class Entry<V> {
+    final CompletableFuture<V> value = new CompletableFuture<>();
+    volatile long loadedAt;
+    volatile boolean loaded;
+
+    boolean isExpired(long now, long ttlNanos) {
+      return loaded && now - loadedAt >= ttlNanos;
+    }
+  }
+
+  private final F1ProviderPort delegate;
+  private final long sessionsTtlNanos;
+  private final long driversTtlNanos;
+  private final LongSupplier nanoClock;
+  private final LinkedHashMap<Object, Entry<?>> entries;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder loads = new LongAdder();
+  private final LongAdder loadFailures = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  public CachingF1ProviderAdapter(
+      F1ProviderPort delegate, Duration sessionsTtl, Duration driversTtl, int maxEntries) {
+    this(delegate, sessionsTtl, driversTtl, maxEntries, System::nanoTime);
+  }
+
+  CachingF1ProviderAdapter(
+      F1ProviderPort delegate,
+      Duration sessionsTtl,
+      Duration driversTtl,
+      int maxEntries,
+      LongSupplier nanoClock) {
+    if (maxEntries <= 0) {
+      throw new IllegalArgumentException("maxEntries must be > 0");
+    }
+    this.delegate = delegate;
+    this.sessionsTtlNanos = sessionsTtl.toNanos();
+    this.driversTtlNanos = driversTtl.toNanos();
+    this.nanoClock = nanoClock;
+    // access-ordered, so the eldest entry is the least recently used one
+    this.entries =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<Object, Entry<?>> eldest) {
+            if (size() > maxEntries) {
+              evictions.increment();
+              return true;
+            }
+            return false;
+          }
+        };
+  }
+
+  @Override
+  public List<ProviderSession> listSessions(ProviderSessionFilter filter) {
+    return get(
+        new SessionsKey(filter),
+        sessionsTtlNanos,
+        () -> List.copyOf(delegate.listSessions(filter)));
+  }
+
+  @Override
+  public ProviderSessionPage listSessions(ProviderSessionFilter filter, int page, int size) {
+    return get(
+        new SessionPageKey(filter, page, size),
+        sessionsTtlNanos,
+        () -> {
+          ProviderSessionPage loaded = delegate.listSessions(filter, page, size);
+          return new ProviderSessionPage(List.copyOf(loaded.sessions()), loaded.total());
+        });
+  }
+
+  @Override
+  public List<ProviderDriver> listDriversForSession(String sessionId) {
+    return get(
+        new DriversKey(sessionId),
+        driversTtlNanos,
+        () -> List.copyOf(delegate.listDriversForSession(sessionId)));
+  }
+
+  @Override
+  public Map<String, List<ProviderDriver>> listDriversForSessions(List<String> sessionIds) {
+    Map<String, Entry<List<ProviderDriver>>> all = new LinkedHashMap<>();
+    Map<String, Entry<List<ProviderDriver>>> owned = new LinkedHashMap<>();
+    claimDrivers(sessionIds, all, owned);
+
+    // load every missing session in one delegate batch; sessions already in flight elsewhere
+    // are awaited below
+    if (!owned.isEmpty()) {
+      loads.increment();
+      Map<String, List<ProviderDriver>> loaded;
+      try {
+        loaded = delegate.listDriversForSessions(List.copyOf(owned.keySet()));
+      } catch (RuntimeException e) {
+        owned.forEach((id, entry) -> fail(new DriversKey(id), entry, e));
+        throw e;
+      }
+      owned.forEach(
+          (id, entry) -> complete(entry, List.copyOf(loaded.getOrDefault(id, List.of()))));
+    }
+
+    Map<String, List<ProviderDriver>> result = new LinkedHashMap<>();
+    all.forEach((id, entry) -> result.put(id, await(entry)));
+    return result;
+  }
+
+  // The reactive calls share entries with the blocking ones. A load runs detached from the
+  // subscriber that started it, so the entry completes even if that subscriber cancels.
+  @Override
+  public Mono<ProviderSessionPage> fetchSessionPage(
+      ProviderSessionFilter filter, int page, int size) {
+    return getAsync(
+        new SessionPageKey(filter, page, size),
+        sessionsTtlNanos,
+        () ->
+            loadSessionPage(filter, page, size)
+                .map(
+                    loaded ->
+                        new ProviderSessionPage(List.copyOf(loaded.sessions()), loaded.total())));
+  }
+
+  @Override
+  public Mono<Map<String, List<ProviderDriver>>> fetchDriversForSessions(List<String> sessionIds) {
+    return Mono.defer(
+        () -> {
+          Map<String, Entry<List<ProviderDriver>>> all = new LinkedHashMap<>();
+          Map<String, Entry<List<ProviderDriver>>> owned = new LinkedHashMap<>();
+          claimDrivers(sessionIds, all, owned);
+          if (!owned.isEmpty()) {
+            loads.increment();
+            loadDrivers(List.copyOf(owned.keySet()))
+                .toFuture()
+                .whenComplete(
+                    (loaded, error) ->
+                        owned.forEach(
+                            (id, entry) -> {
+                              if (error != null) {
+                                fail(new DriversKey(id), entry, error);
+                              } else {
+                                complete(entry, List.copyOf(loaded.getOrDefault(id, List.of())));
+                              }
+                            }));
+          }
+          CompletableFuture<?>[] pending =
+              all.values().stream().map(entry -> entry.value).toArray(CompletableFuture[]::new);
+          return Mono.fromFuture(
+              CompletableFuture.allOf(pending)
+                  .thenApply(
+                      done -> {
+                        Map<String, List<ProviderDriver>> result = new LinkedHashMap<>();
+                        all.forEach((id, entry) -> result.put(id, entry.value.join()));
+                        return result;
+                      }),
+              true);
+        });
+  }
+
+  public Stats stats() {
+    int size;
+    synchronized (entries) {
+      size = entries.size();
+    }
+    return new Stats(
+        hits.sum(), misses.sum(), loads.sum(), loadFailures.sum(), evictions.sum(), size);
+  }
+
+  // exposes stats() as meters; values are read at scrape time
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("f1bet.provider.cache.requests", hits, LongAdder::sum)
+        .tag("result", "hit")
+        .register(registry);
+    FunctionCounter.builder("f1bet.provider.cache.requests", misses, LongAdder::sum)
+        .tag("result", "miss")
+        .register(registry);
+    FunctionCounter.builder("f1bet.provider.cache.loads", loads, LongAdder::sum)
+        .register(registry);
+    FunctionCounter.builder("f1bet.provider.cache.load.failures", loadFailures, LongAdder::sum)
+        .register(registry);
+    FunctionCounter.builder("f1bet.provider.cache.evictions", evictions, LongAdder::sum)
+        .register(registry);
+    Gauge.builder("f1bet.provider.cache.size", this, cache -> cache.stats().size())
+        .register(registry);
+  }
+
+  private record Claim<V>(Entry<V> entry, boolean leader) {}
+
+  private void claimDrivers(
+      List<String> sessionIds,
+      Map<String, Entry<List<ProviderDriver>>> all,
+      Map<String, Entry<List<ProviderDriver>>> owned) {
+    synchronized (entries) {
+      for (String id : new LinkedHashSet<>(sessionIds)) {
+        Claim<List<ProviderDriver>> claim = claim(new DriversKey(id), driversTtlNanos);
+        all.put(id, claim.entry());
+        if (claim.leader()) {
+          owned.put(id, claim.entry());
+        }
+      }
+    }
+    hits.add(all.size() - owned.size());
+    misses.add(owned.size());
+  }
+
+  private <V> V get(Object key, long ttlNanos, Supplier<V> loader) {
+    Claim<V> claim;
+    synchronized (entries) {
+      claim = claim(key, ttlNanos);
+    }
+    if (!claim.leader()) {
+      hits.increment();
+      return await(claim.entry());
+    }
+    misses.increment();
+    loads.increment();
+    V value;
+    try {
+      value = loader.get();
+    } catch (RuntimeException e) {
+      fail(key, claim.entry(), e);
+      throw e;
+    }
+    complete(claim.entry(), value);
+    return value;
+  }
+
+  private <V> Mono<V> getAsync(Object key, long ttlNanos, Supplier<Mono<V>> loader) {
+    return Mono.defer(
+        () -> {
+          Claim<V> claim;
+          synchronized (entries) {
+            claim = claim(key, ttlNanos);
+          }
+          if (!claim.leader()) {
+            hits.increment();
+          } else {
+            misses.increment();
+            loads.increment();
+            Entry<V> entry = claim.entry();
+            try {
+              loader
+                  .get()
+                  .toFuture()
+                  .whenComplete(
+                      (value, error) -> {
+                        if (error != null) {
+                          fail(key, entry, error);
+                        } else {
+                          complete(entry, value);
+                        }
+                      });
+            } catch (RuntimeException e) {
+              fail(key, entry, e);
+            }
+          }
+          // one subscriber cancelling must not cancel an entry other callers share
+          return Mono.fromFuture(claim.entry().value, true);
+        });
+  }
+
+  private Mono<ProviderSessionPage> loadSessionPage(
+      ProviderSessionFilter filter, int page, int size) {
+    if (delegate instanceof ReactiveF1ProviderPort reactive) {
+      return reactive.fetchSessionPage(filter, page, size);
+    }
+    // a blocking delegate is called on a worker, never on the subscriber's thread
+    return Mono.fromCallable(() -> delegate.listSessions(filter, page, size))
+        .subscribeOn(Schedulers.boundedElastic());
+  }
+
+  private Mono<Map<String, List<ProviderDriver>>> loadDrivers(List<String> sessionIds) {
+    if (delegate instanceof ReactiveF1ProviderPort reactive) {
+      return reactive.fetchDriversForSessions(sessionIds);
+    }
+    return Mono.fromCallable(() -> delegate.listDriversForSessions(sessionIds))
+        .subscribeOn(Schedulers.boundedElastic());
+  }
+
+  // caller must hold the entries lock
+  @SuppressWarnings("unchecked")
+  private <V> Claim<V> claim(Object key, long ttlNanos) {
+    Entry<V> entry = (Entry<V>) entries.get(key);
+    if (entry != null && !entry.isExpired(nanoClock.getAsLong(), ttlNanos)) {
+      return new Claim<>(entry, false);
+    }
+    entry = new Entry<>();
+    entries.put(key, entry);
+    return new Claim<>(entry, true);
+  }
+
+  private <V> void complete(Entry<V> entry, V value) {
+    entry.loadedAt = nanoClock.getAsLong();
+    entry.loaded = true;
+    entry.value.complete(value);
+  }
+
+  private void fail(Object key, Entry<?> entry, Throwable e) {
+    loadFailures.increment();
+    // drop the failed entry so the next caller retries instead of replaying the failure
+    synchronized (entries) {
+      entries.remove(key, entry);
+    }
+    entry.value.completeExceptionally(e);
+  }
+
+  private static <V> V await(Entry<V> entry) {
+    try {
+      return entry.value.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException re) throw re;
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,186 @@
+package com.example.f1bet.infrastructure.provider.http;
+
+import com.example.f1bet.ports.out.ProviderUnavailableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+// Circuit breaker for one provider endpoint. Closed, it remembers which of the last `window` calls
+// failed and opens once failureRate of a full window did. Open, it refuses calls for openFor, then
+// turns half-open and lets halfOpenProbes calls through: if all of them succeed it closes again,
+// if one fails it opens for another openFor.
+final class CircuitBreaker {
+
+  // ordered by severity; the state gauge reports the ordinal
+  enum State {
+    CLOSED,
+    HALF_OPEN,
+    OPEN
+  }
+
+  record Settings(int window, double failureRate, Duration openFor, int halfOpenProbes) {
+    Settings {
+      if (window <= 0 || halfOpenProbes <= 0) {
+        throw new IllegalArgumentException("window and halfOpenProbes must be > 0");
+      }
+      if (failureRate <= 0 || failureRate > 1) {
+        throw new IllegalArgumentException("failureRate must be in (0, 1]");
+      }
+    }
+  }
+
+  private final String endpoint;
+  private final Settings settings;
+  private final LongSupplier nanoTime;
+  private final int failuresToOpen;
+  // outcomes of the last calls while closed, true for a failure
+  private final boolean[] outcomes;
+  private int recorded;
+  private int next;
+  private int failures;
+
+  // written under the lock; read without it for hedging and the gauge
+  private volatile State state = State.CLOSED;
+  // bumped on every transition, so outcomes of calls let through in an earlier state are ignored
+  private long generation;
+  private long openUntil;
+  private int probesLeft;
+  private int probesSucceeded;
+
+  private final LongAdder refused = new LongAdder();
+  private final Map<State, LongAdder> transitions = new EnumMap<>(State.class);
+
+  CircuitBreaker(String endpoint, Settings settings) {
+    this(endpoint, settings, System::nanoTime);
+  }
+
+  // package-private constructor for tests
+  CircuitBreaker(String endpoint, Settings settings, LongSupplier nanoTime) {
+    this.endpoint = endpoint;
+    this.settings = settings;
+    this.nanoTime = nanoTime;
+    this.failuresToOpen = (int) Math.ceil(settings.failureRate() * settings.window());
+    this.outcomes = new boolean[settings.window()];
+    for (State s : State.values()) {
+      transitions.put(s, new LongAdder());
+    }
+  }
+
+  State state() {
+    return state;
+  }
+
+  // Lets one call through or throws. The permit must be given back exactly once: success or
+  // failure as seen by the breaker, or release when the outcome says nothing about the provider's
+  // health (a 4xx, a cancelled hedge).
+  synchronized Permit acquire() {
+    if (state == State.OPEN) {
+      if (nanoTime.getAsLong() - openUntil < 0) {
+        refused.increment();
+        throw new ProviderUnavailableException(
+            "Provider " + endpoint + " calls are suspended after repeated failures");
+      }
+      transition(State.HALF_OPEN);
+    }
+    if (state == State.HALF_OPEN) {
+      if (probesLeft == 0) {
+        refused.increment();
+        throw new ProviderUnavailableException(
+            "Provider " + endpoint + " is being probed after repeated failures");
+      }
+      probesLeft--;
+    }
+    return new Permit(generation);
+  }
+
+  final class Permit {
+    private final long generation;
+    private final AtomicBoolean returned = new AtomicBoolean();
+
+    private Permit(long generation) {
+      this.generation = generation;
+    }
+
+    void success() {
+      if (returned.compareAndSet(false, true)) record(generation, false);
+    }
+
+    void failure() {
+      if (returned.compareAndSet(false, true)) record(generation, true);
+    }
+
+    void release() {
+      if (returned.compareAndSet(false, true)) giveBack(generation);
+    }
+  }
+
+  private synchronized void record(long permitGeneration, boolean failed) {
+    if (permitGeneration != generation) return;
+    if (state == State.HALF_OPEN) {
+      if (failed) {
+        transition(State.OPEN);
+      } else if (++probesSucceeded == settings.halfOpenProbes()) {
+        transition(State.CLOSED);
+      }
+      return;
+    }
+    if (recorded == outcomes.length) {
+      if (outcomes[next]) failures--;
+    } else {
+      recorded++;
+    }
+    outcomes[next] = failed;
+    next = (next + 1) % outcomes.length;
+    if (failed) failures++;
+    if (recorded == outcomes.length && failures >= failuresToOpen) {
+      transition(State.OPEN);
+    }
+  }
+
+  private synchronized void giveBack(long permitGeneration) {
+    if (permitGeneration == generation && state == State.HALF_OPEN) {
+      probesLeft++;
+    }
+  }
+
+  private void transition(State to) {
+    state = to;
+    generation++;
+    transitions.get(to).increment();
+    switch (to) {
+      case OPEN -> openUntil = nanoTime.getAsLong() + settings.openFor().toNanos();
+      case HALF_OPEN -> {
+        probesLeft = settings.halfOpenProbes();
+        probesSucceeded = 0;
+      }
+      case CLOSED -> {
+        recorded = 0;
+        next = 0;
+        failures = 0;
+      }
+    }
+  }
+
+  void bindTo(MeterRegistry registry) {
+    Gauge.builder("f1bet.provider.circuit.state", this, breaker -> breaker.state.ordinal())
+        .description("0 closed, 1 half-open, 2 open")
+        .tag("operation", endpoint)
+        .register(registry);
+    FunctionCounter.builder("f1bet.provider.circuit.refused", refused, LongAdder::sum)
+        .tag("operation", endpoint)
+        .register(registry);
+    for (Map.Entry<State, LongAdder> t : transitions.entrySet()) {
+      FunctionCounter.builder("f1bet.provider.circuit.transitions", t.getValue(), LongAdder::sum)
+          .tag("operation", endpoint)
+          .tag("to", t.getKey().name().toLowerCase(Locale.ROOT).replace('_', '-'))
+          .register(registry);
+    }
+  }
+}
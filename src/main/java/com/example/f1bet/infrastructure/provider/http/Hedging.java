@@ -0,0 +1,72 @@
+package com.example.f1bet.infrastructure.provider.http;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+// Hedged requests for idempotent reads: when a request has not answered after delay, the same
+// request is sent once more. The first answer wins and the other request is cancelled. The result
+// fails only when every request sent failed, with the last error; a request failing before the
+// delay is not hedged, so errors still reach the retry without waiting.
+final class Hedging {
+
+  static <T> Mono<T> hedged(Supplier<Mono<T>> request, Duration delay, Runnable onHedge) {
+    return Mono.create(sink -> new Race<>(sink, request).start(delay, onHedge));
+  }
+
+  private static final class Race<T> {
+    private final MonoSink<T> sink;
+    private final Supplier<Mono<T>> request;
+    // the requests and the hedge timer; disposed once the race is decided or cancelled
+    private final Disposable.Composite inFlight = Disposables.composite();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean done = new AtomicBoolean();
+
+    Race(MonoSink<T> sink, Supplier<Mono<T>> request) {
+      this.sink = sink;
+      this.request = request;
+    }
+
+    void start(Duration delay, Runnable onHedge) {
+      sink.onDispose(inFlight);
+      send(() -> {});
+      if (done.get()) return;
+      inFlight.add(
+          Schedulers.parallel()
+              .schedule(() -> send(onHedge), delay.toNanos(), TimeUnit.NANOSECONDS));
+    }
+
+    private void send(Runnable beforeSending) {
+      // counted before the check, so a request failing concurrently cannot end the race with
+      // this one about to be sent
+      pending.incrementAndGet();
+      if (done.get()) {
+        pending.decrementAndGet();
+        return;
+      }
+      beforeSending.run();
+      inFlight.add(request.get().subscribe(this::value, this::error, this::empty));
+    }
+
+    private void value(T value) {
+      if (done.compareAndSet(false, true)) sink.success(value);
+    }
+
+    private void empty() {
+      if (done.compareAndSet(false, true)) sink.success();
+    }
+
+    private void error(Throwable e) {
+      if (pending.decrementAndGet() == 0 && done.compareAndSet(false, true)) sink.error(e);
+    }
+  }
+
+  private Hedging() {}
+}
@@ -4,105 +4,372 @@ import com.example.f1bet.ports.out.F1ProviderPort;
 import com.example.f1bet.ports.out.ProviderDriver;
 import com.example.f1bet.ports.out.ProviderSession;
 import com.example.f1bet.ports.out.ProviderSessionFilter;
+import com.example.f1bet.ports.out.ProviderSessionPage;
+import com.example.f1bet.ports.out.ProviderUnavailableException;
+import com.example.f1bet.ports.out.ReactiveF1ProviderPort;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
 @Component
 @ConditionalOnProperty(name = "app.provider.mode", havingValue = "http")
-public class HttpF1ProviderAdapter implements F1ProviderPort {
+public class HttpF1ProviderAdapter implements F1ProviderPort, ReactiveF1ProviderPort {
+  private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+  // backoff delays are spread over +-50%, so callers failing together do not retry together
+  private static final double JITTER = 0.5;
+
   private final WebClient webClient;
   private final Duration timeout;
+  private final int driverConcurrency;
+  private final Retry retry;
+  private final Endpoint sessionsCalls;
+  private final Endpoint sessionPageCalls;
+  private final Endpoint driversCalls;
 
   public HttpF1ProviderAdapter(
-      WebClient webClient, @Value("${app.provider.timeout:2s}") String timeout) {
-    this.webClient = webClient;
+      WebClient webClient,
+      @Value("${app.provider.timeout:2s}") String timeout,
+      @Value("${app.provider.driver-concurrency:8}") int driverConcurrency,
+      @Value("${app.provider.retry.attempts:3}") int attempts,
+      @Value("${app.provider.retry.backoff:100ms}") Duration backoff,
+      @Value("${app.provider.retry.max-backoff:1s}") Duration maxBackoff,
+      @Value("${app.provider.hedge.percentile:0.95}") double hedgePercentile,
+      @Value("${app.provider.hedge.min-delay:20ms}") Duration hedgeMinDelay,
+      @Value("${app.provider.circuit-breaker.window:20}") int breakerWindow,
+      @Value("${app.provider.circuit-breaker.failure-rate:0.5}") double breakerFailureRate,
+      @Value("${app.provider.circuit-breaker.open-for:10s}") Duration breakerOpenFor,
+      @Value("${app.provider.circuit-breaker.half-open-probes:3}") int breakerProbes,
+      MeterRegistry registry) {
+    if (attempts <= 0) {
+      throw new IllegalArgumentException("app.provider.retry.attempts must be > 0");
+    }
+    // typed, element-by-element decoding of sessions and drivers
+    this.webClient =
+        webClient
+            .mutate()
+            .codecs(codecs -> codecs.defaultCodecs().jackson2JsonDecoder(ProviderJson.decoder()))
+            .build();
     this.timeout = Duration.parse("PT" + timeout);
+    this.driverConcurrency = driverConcurrency;
+    this.retry =
+        Retry.backoff(attempts - 1, backoff)
+            .maxBackoff(maxBackoff)
+            .jitter(JITTER)
+            .filter(HttpF1ProviderAdapter::isProviderFailure)
+            .onRetryExhaustedThrow(
+                (spec, signal) ->
+                    new ProviderUnavailableException(
+                        "Provider failed after " + attempts + " attempts", signal.failure()));
+    CircuitBreaker.Settings breaker =
+        new CircuitBreaker.Settings(
+            breakerWindow, breakerFailureRate, breakerOpenFor, breakerProbes);
+    this.sessionsCalls =
+        new Endpoint(registry, "sessions", breaker, hedgePercentile, hedgeMinDelay);
+    this.sessionPageCalls =
+        new Endpoint(registry, "session-page", breaker, hedgePercentile, hedgeMinDelay);
+    this.driversCalls = new Endpoint(registry, "drivers", breaker, hedgePercentile, hedgeMinDelay);
   }
 
   @Override
   public List<ProviderSession> listSessions(ProviderSessionFilter filter) {
-    return retry(
+    return call(
+            sessionsCalls,
             () ->
                 webClient
                     .get()
-                    .uri(
-                        uriBuilder ->
-                            uriBuilder
-                                .path("/sessions")
-                                .queryParam("sessionType", filter.sessionType())
-                                .queryParam("year", filter.year())
-                                .queryParam("country", filter.country())
-                                .build())
+                    .uri(uriBuilder -> sessionsUri(uriBuilder, filter).build())
                     .retrieve()
-                    .bodyToFlux(Map.class)
-                    .timeout(timeout)
+                    .bodyToFlux(ProviderSession.class)
                     .collectList()
-                    .block(),
-            3)
-        .stream()
-        .map(this::mapSession)
-        .collect(Collectors.toList());
+                    .timeout(timeout))
+        .block();
+  }
+
+  // Asks the provider for a single page via offset/limit. A provider that does not page ignores
+  // the parameters and sends no total header, in which case the page is sliced out of the full
+  // response as it streams in.
+  @Override
+  public ProviderSessionPage listSessions(ProviderSessionFilter filter, int page, int size) {
+    return fetchSessionPage(filter, page, size).block();
+  }
+
+  @Override
+  public Mono<ProviderSessionPage> fetchSessionPage(
+      ProviderSessionFilter filter, int page, int size) {
+    long offset = (long) page * size;
+    return call(sessionPageCalls, () -> sessionPageCall(filter, offset, size));
+  }
+
+  private Mono<ProviderSessionPage> sessionPageCall(
+      ProviderSessionFilter filter, long offset, int size) {
+    return webClient
+        .get()
+        .uri(
+            uriBuilder ->
+                sessionsUri(uriBuilder, filter)
+                    .queryParam("offset", offset)
+                    .queryParam("limit", size)
+                    .build())
+        .retrieve()
+        .toEntityFlux(ProviderSession.class)
+        .flatMap(
+            response ->
+                toPage(
+                    response.getHeaders().getFirst(TOTAL_COUNT_HEADER),
+                    response.getBody(),
+                    offset,
+                    size))
+        .timeout(timeout);
+  }
+
+  // A paging provider sends the page and its total. Otherwise the full listing streams past and
+  // only the requested slice is kept, while the rest is just counted. A total that is not a count
+  // leaves it unknown whether the body is the page or the full listing, so the provider is
+  // treated as unavailable rather than guessed at.
+  private static Mono<ProviderSessionPage> toPage(
+      String total, Flux<ProviderSession> sessions, long offset, int size) {
+    if (total != null) {
+      int count = parseTotal(total);
+      if (count < 0) {
+        // the body is still read, so the connection goes back to the pool
+        return sessions.then(
+            Mono.error(
+                new ProviderUnavailableException(
+                    "Provider sent an invalid " + TOTAL_COUNT_HEADER + ": " + total)));
+      }
+      return sessions.collectList().map(page -> new ProviderSessionPage(page, count));
+    }
+    return sessions.reduceWith(() -> new Slice(offset, size), Slice::add).map(Slice::toPage);
+  }
+
+  // -1 unless the header is a non-negative int
+  private static int parseTotal(String total) {
+    try {
+      return Math.max(-1, Integer.parseInt(total.trim()));
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  private static final class Slice {
+    private final long offset;
+    private final int size;
+    private final List<ProviderSession> page = new ArrayList<>();
+    private long seen;
+
+    Slice(long offset, int size) {
+      this.offset = offset;
+      this.size = size;
+    }
+
+    Slice add(ProviderSession session) {
+      if (seen++ >= offset && page.size() < size) {
+        page.add(session);
+      }
+      return this;
+    }
+
+    ProviderSessionPage toPage() {
+      return new ProviderSessionPage(List.copyOf(page), Math.toIntExact(seen));
+    }
+  }
+
+  private static UriBuilder sessionsUri(UriBuilder uriBuilder, ProviderSessionFilter filter) {
+    return uriBuilder
+        .path("/sessions")
+        .queryParam("sessionType", filter.sessionType())
+        .queryParam("year", filter.year())
+        .queryParam("country", filter.country());
   }
 
   @Override
   public List<ProviderDriver> listDriversForSession(String sessionId) {
-    return retry(
-            () ->
-                webClient
-                    .get()
-                    .uri("/sessions/" + sessionId + "/drivers")
-                    .retrieve()
-                    .bodyToFlux(Map.class)
-                    .timeout(timeout)
-                    .collectList()
-                    .block(),
-            3)
-        .stream()
-        .map(this::mapDriver)
-        .collect(Collectors.toList());
-  }
-
-  private ProviderSession mapSession(Map<String, Object> json) {
-    // Map JSON to ProviderSession (implement as per actual JSON structure)
-    return new ProviderSession(
-        (String) json.get("id"),
-        (String) json.get("name"),
-        com.example.f1bet.domain.enums.SessionType.valueOf((String) json.get("sessionType")),
-        (String) json.get("country"),
-        (Integer) json.get("year"),
-        java.time.Instant.parse((String) json.get("startTime")));
-  }
-
-  private ProviderDriver mapDriver(Map<String, Object> json) {
-    return new ProviderDriver((String) json.get("id"), (String) json.get("fullName"));
-  }
-
-  private <T> T retry(java.util.concurrent.Callable<T> action, int attempts) {
-    Exception lastException = null;
-    for (int i = 0; i < attempts; i++) {
-      try {
-        return action.call();
-      } catch (WebClientResponseException e) {
-        lastException = e;
-        if (i == attempts - 1) break;
-        try {
-          Thread.sleep(100 * (i + 1)); // Simple backoff
-        } catch (InterruptedException ie) {
-          Thread.currentThread().interrupt();
-          break;
-        }
-      } catch (Exception e) {
-        lastException = e;
-        break;
+    return fetchDrivers(sessionId).block();
+  }
+
+  @Override
+  public Map<String, List<ProviderDriver>> listDriversForSessions(List<String> sessionIds) {
+    return fetchDriversForSessions(sessionIds).block();
+  }
+
+  @Override
+  public Mono<Map<String, List<ProviderDriver>>> fetchDriversForSessions(List<String> sessionIds) {
+    if (sessionIds.isEmpty()) {
+      return Mono.just(Map.of());
+    }
+    // one round trip per session, at most driverConcurrency of them in flight at once
+    return Flux.fromIterable(sessionIds)
+        .flatMap(id -> fetchDrivers(id).map(drivers -> Map.entry(id, drivers)), driverConcurrency)
+        .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+        .map(
+            fetched -> {
+              Map<String, List<ProviderDriver>> result = new LinkedHashMap<>();
+              for (String id : sessionIds) {
+                result.put(id, fetched.getOrDefault(id, List.of()));
+              }
+              return result;
+            });
+  }
+
+  private Mono<List<ProviderDriver>> fetchDrivers(String sessionId) {
+    return call(
+        driversCalls,
+        () ->
+            webClient
+                .get()
+                .uri("/sessions/" + sessionId + "/drivers")
+                .retrieve()
+                .bodyToFlux(ProviderDriver.class)
+                .collectList()
+                .timeout(timeout));
+  }
+
+  // Every round trip goes through the endpoint's circuit breaker and is timed; a slow one is
+  // hedged while the breaker is closed, and provider failures are retried with jittered
+  // exponential backoff. The backoff is scheduled on a timer rather than slept, so the blocking
+  // methods only wait in block() and the reactive ones hold no thread at all.
+  private <T> Mono<T> call(Endpoint endpoint, Supplier<Mono<T>> request) {
+    Supplier<Mono<T>> attempt = () -> endpoint.time(endpoint.guard(request.get()));
+    return Mono.defer(
+            () -> {
+              Duration hedgeDelay = endpoint.hedgeDelay();
+              return hedgeDelay == null
+                  ? attempt.get()
+                  : Hedging.hedged(attempt, hedgeDelay, endpoint.hedges::increment);
+            })
+        .retryWhen(retry);
+  }
+
+  // server errors, throttling, timeouts and connection failures; a 4xx other than 429 is the
+  // caller's problem and neither retried nor held against the provider
+  private static boolean isProviderFailure(Throwable e) {
+    if (e instanceof WebClientResponseException response) {
+      return response.getStatusCode().is5xxServerError()
+          || response.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+    return e instanceof WebClientRequestException || e instanceof TimeoutException;
+  }
+
+  // Breaker, latency timers and hedging state of one provider operation
+  private static final class Endpoint {
+    private static final long HEDGE_DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+    // successful calls seen before the percentile is trusted
+    private static final long HEDGE_MIN_SAMPLES = 20;
+
+    private final CircuitBreaker breaker;
+    private final Timer success;
+    private final Timer failure;
+    private final LongAdder hedges = new LongAdder();
+    private final boolean hedging;
+    private final long hedgeMinDelayNanos;
+    // recomputed from the success timer at most once per HEDGE_DELAY_REFRESH_NANOS; 0 = no hedge
+    private volatile long hedgeDelayNanos;
+    private volatile long hedgeDelayAt = System.nanoTime() - HEDGE_DELAY_REFRESH_NANOS;
+
+    Endpoint(
+        MeterRegistry registry,
+        String operation,
+        CircuitBreaker.Settings breaker,
+        double hedgePercentile,
+        Duration hedgeMinDelay) {
+      this.breaker = new CircuitBreaker(operation, breaker);
+      this.breaker.bindTo(registry);
+      this.hedging = hedgePercentile > 0;
+      this.hedgeMinDelayNanos = hedgeMinDelay.toNanos();
+      Timer.Builder successTimer = timerBuilder(operation, "success");
+      if (hedging) {
+        // client-side percentile over a decaying window, read back for the hedge delay
+        successTimer.publishPercentiles(hedgePercentile);
       }
+      this.success = successTimer.register(registry);
+      this.failure = timerBuilder(operation, "error").register(registry);
+      FunctionCounter.builder("f1bet.provider.hedges", hedges, LongAdder::sum)
+          .tag("operation", operation)
+          .register(registry);
+    }
+
+    private static Timer.Builder timerBuilder(String operation, String outcome) {
+      return Timer.builder("f1bet.provider.requests")
+          .tag("operation", operation)
+          .tag("outcome", outcome)
+          .publishPercentileHistogram();
+    }
+
+    <T> Mono<T> guard(Mono<T> call) {
+      return Mono.defer(
+          () -> {
+            CircuitBreaker.Permit permit;
+            try {
+              permit = breaker.acquire();
+            } catch (ProviderUnavailableException e) {
+              return Mono.error(e);
+            }
+            return call.doOnSuccess(v -> permit.success())
+                .doOnError(
+                    e -> {
+                      if (isProviderFailure(e)) {
+                        permit.failure();
+                      } else {
+                        permit.release();
+                      }
+                    })
+                .doOnCancel(permit::release);
+          });
+    }
+
+    // latency of each round trip by outcome; retries and hedges are timed one by one, and a
+    // cancelled hedge not at all
+    <T> Mono<T> time(Mono<T> call) {
+      return Mono.defer(
+          () -> {
+            long start = System.nanoTime();
+            return call.doOnSuccess(
+                    v -> success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                .doOnError(e -> failure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+          });
+    }
+
+    // null when the call should not be hedged: hedging is off, the breaker is not closed (a
+    // struggling provider gets no extra traffic), or there is no recent latency to go by
+    Duration hedgeDelay() {
+      if (!hedging || breaker.state() != CircuitBreaker.State.CLOSED) return null;
+      long now = System.nanoTime();
+      if (now - hedgeDelayAt >= HEDGE_DELAY_REFRESH_NANOS) {
+        hedgeDelayAt = now;
+        hedgeDelayNanos = computeHedgeDelay();
+      }
+      long delay = hedgeDelayNanos;
+      return delay == 0 ? null : Duration.ofNanos(delay);
+    }
+
+    private long computeHedgeDelay() {
+      HistogramSnapshot snapshot = success.takeSnapshot();
+      ValueAtPercentile[] percentiles = snapshot.percentileValues();
+      if (snapshot.count() < HEDGE_MIN_SAMPLES || percentiles.length == 0) return 0;
+      long percentile = (long) percentiles[0].value(TimeUnit.NANOSECONDS);
+      return percentile == 0 ? 0 : Math.max(percentile, hedgeMinDelayNanos);
     }
-    throw new RuntimeException("Failed after " + attempts + " attempts", lastException);
   }
 }
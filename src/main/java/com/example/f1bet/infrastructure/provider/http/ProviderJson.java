@@ -0,0 +1,124 @@
+package com.example.f1bet.infrastructure.provider.http;
+
+import com.example.f1bet.domain.enums.SessionType;
+import com.example.f1bet.ports.out.ProviderDriver;
+import com.example.f1bet.ports.out.ProviderSession;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+
+// Reads provider JSON straight into ProviderSession and ProviderDriver, field by field off the
+// token stream, instead of into a Map per entry whose values are then cast and parsed. Used as the
+// provider WebClient's JSON decoder: a Flux of either type is decoded one array element at a time
+// as the body arrives, so a large listing is never held as a tree. Unknown fields are skipped.
+final class ProviderJson {
+
+  static Jackson2JsonDecoder decoder() {
+    SimpleModule module = new SimpleModule("f1-provider");
+    module.addDeserializer(ProviderSession.class, new SessionDeserializer());
+    module.addDeserializer(ProviderDriver.class, new DriverDeserializer());
+    return new Jackson2JsonDecoder(JsonMapper.builder().addModule(module).build());
+  }
+
+  private static final class SessionDeserializer extends StdDeserializer<ProviderSession> {
+    SessionDeserializer() {
+      super(ProviderSession.class);
+    }
+
+    @Override
+    public ProviderSession deserialize(JsonParser p, DeserializationContext ctxt)
+        throws IOException {
+      expectObject(p, ctxt, ProviderSession.class);
+      String id = null;
+      String name = null;
+      SessionType sessionType = null;
+      String country = null;
+      int year = 0;
+      Instant startTime = null;
+      for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+        p.nextToken();
+        switch (field) {
+          case "id" -> id = text(p);
+          case "name" -> name = text(p);
+          case "sessionType" -> sessionType = sessionType(p, ctxt);
+          case "country" -> country = text(p);
+          case "year" -> year = p.getValueAsInt();
+          case "startTime" -> startTime = instant(p, ctxt);
+          default -> p.skipChildren();
+        }
+      }
+      if (id == null || sessionType == null) {
+        return ctxt.reportInputMismatch(
+            ProviderSession.class, "Provider session without id or sessionType");
+      }
+      return new ProviderSession(id, name, sessionType, country, year, startTime);
+    }
+
+    private static SessionType sessionType(JsonParser p, DeserializationContext ctxt)
+        throws IOException {
+      String value = text(p);
+      if (value == null) return null;
+      try {
+        return SessionType.valueOf(value);
+      } catch (IllegalArgumentException e) {
+        return ctxt.reportInputMismatch(SessionType.class, "Unknown sessionType %s", value);
+      }
+    }
+
+    private static Instant instant(JsonParser p, DeserializationContext ctxt) throws IOException {
+      String value = text(p);
+      if (value == null) return null;
+      try {
+        return Instant.parse(value);
+      } catch (DateTimeParseException e) {
+        return ctxt.reportInputMismatch(Instant.class, "Bad startTime %s", value);
+      }
+    }
+  }
+
+  private static final class DriverDeserializer extends StdDeserializer<ProviderDriver> {
+    DriverDeserializer() {
+      super(ProviderDriver.class);
+    }
+
+    @Override
+    public ProviderDriver deserialize(JsonParser p, DeserializationContext ctxt)
+        throws IOException {
+      expectObject(p, ctxt, ProviderDriver.class);
+      String id = null;
+      String fullName = null;
+      for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+        p.nextToken();
+        switch (field) {
+          case "id" -> id = text(p);
+          case "fullName" -> fullName = text(p);
+          default -> p.skipChildren();
+        }
+      }
+      if (id == null) {
+        return ctxt.reportInputMismatch(ProviderDriver.class, "Provider driver without id");
+      }
+      return new ProviderDriver(id, fullName);
+    }
+  }
+
+  private static void expectObject(JsonParser p, DeserializationContext ctxt, Class<?> type)
+      throws IOException {
+    if (p.currentToken() != JsonToken.START_OBJECT) {
+      ctxt.reportInputMismatch(type, "Expected a JSON object, got %s", p.currentToken());
+    }
+  }
+
+  private static String text(JsonParser p) throws IOException {
+    return p.currentToken() == JsonToken.VALUE_NULL ? null : p.getValueAsString();
+  }
+
+  private ProviderJson() {}
+}
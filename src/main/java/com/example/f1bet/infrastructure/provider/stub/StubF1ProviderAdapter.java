@@ -5,54 +5,142 @@ import com.example.f1bet.ports.out.F1ProviderPort;
 import com.example.f1bet.ports.out.ProviderDriver;
 import com.example.f1bet.ports.out.ProviderSession;
 import com.example.f1bet.ports.out.ProviderSessionFilter;
+import com.example.f1bet.ports.out.ProviderSessionPage;
+import com.example.f1bet.ports.out.ReactiveF1ProviderPort;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import reactor.core.publisher.Mono;
+
+// Canned sessions and drivers. A latency can be set to stand in for a slow provider in load tests;
+// each call sleeps for it once, like one round trip. The reactive calls wait on a timer instead.
+public class StubF1ProviderAdapter implements F1ProviderPort, ReactiveF1ProviderPort {
+  private static final List<ProviderSession> ALL_SESSIONS =
+      List.of(
+          new ProviderSession(
+              "550e8400-e29b-41d4-a716-446655440001",
+              "Australian GP - Race",
+              SessionType.RACE,
+              "Australia",
+              2025,
+              Instant.parse("2025-03-16T05:00:00Z")),
+          new ProviderSession(
+              "550e8400-e29b-41d4-a716-446655440002",
+              "Monaco GP - Qualifying",
+              SessionType.QUALIFYING,
+              "Monaco",
+              2025,
+              Instant.parse("2025-05-24T14:00:00Z")),
+          new ProviderSession(
+              "550e8400-e29b-41d4-a716-446655440003",
+              "British GP - Practice",
+              SessionType.PRACTICE,
+              "UK",
+              2025,
+              Instant.parse("2025-07-04T10:00:00Z")));
+
+  private final Duration latency;
+
+  public StubF1ProviderAdapter() {
+    this(Duration.ZERO);
+  }
+
+  public StubF1ProviderAdapter(Duration latency) {
+    this.latency = latency;
+  }
 
-public class StubF1ProviderAdapter implements F1ProviderPort {
   @Override
   public List<ProviderSession> listSessions(ProviderSessionFilter filter) {
-    List<ProviderSession> allSessions =
-        Arrays.asList(
-            new ProviderSession(
-                "550e8400-e29b-41d4-a716-446655440001",
-                "Australian GP - Race",
-                SessionType.RACE,
-                "Australia",
-                2025,
-                Instant.parse("2025-03-16T05:00:00Z")),
-            new ProviderSession(
-                "550e8400-e29b-41d4-a716-446655440002",
-                "Monaco GP - Qualifying",
-                SessionType.QUALIFYING,
-                "Monaco",
-                2025,
-                Instant.parse("2025-05-24T14:00:00Z")),
-            new ProviderSession(
-                "550e8400-e29b-41d4-a716-446655440003",
-                "British GP - Practice",
-                SessionType.PRACTICE,
-                "UK",
-                2025,
-                Instant.parse("2025-07-04T10:00:00Z")));
-
+    roundTrip();
     // Apply filtering
-    return allSessions.stream()
-        .filter(
-            session ->
-                filter.sessionType() == null || session.sessionType() == filter.sessionType())
-        .filter(session -> filter.year() == null || session.year() == filter.year())
-        .filter(
-            session ->
-                filter.country() == null || session.country().equalsIgnoreCase(filter.country()))
+    return ALL_SESSIONS.stream()
+        .filter(session -> matches(session, filter))
         .collect(java.util.stream.Collectors.toList());
   }
 
+  @Override
+  public ProviderSessionPage listSessions(ProviderSessionFilter filter, int page, int size) {
+    roundTrip();
+    return page(filter, page, size);
+  }
+
+  @Override
+  public Mono<ProviderSessionPage> fetchSessionPage(
+      ProviderSessionFilter filter, int page, int size) {
+    return afterRoundTrip(() -> page(filter, page, size));
+  }
+
+  private static ProviderSessionPage page(ProviderSessionFilter filter, int page, int size) {
+    // single pass: count every match, keep only the ones on the requested page
+    long skip = (long) page * size;
+    List<ProviderSession> pageItems = new ArrayList<>(Math.min(size, ALL_SESSIONS.size()));
+    int total = 0;
+    for (ProviderSession session : ALL_SESSIONS) {
+      if (!matches(session, filter)) continue;
+      if (total >= skip && pageItems.size() < size) {
+        pageItems.add(session);
+      }
+      total++;
+    }
+    return new ProviderSessionPage(pageItems, total);
+  }
+
+  private static boolean matches(ProviderSession session, ProviderSessionFilter filter) {
+    return (filter.sessionType() == null || session.sessionType() == filter.sessionType())
+        && (filter.year() == null || session.year() == filter.year())
+        && (filter.country() == null || session.country().equalsIgnoreCase(filter.country()));
+  }
+
   @Override
   public List<ProviderDriver> listDriversForSession(String sessionId) {
+    roundTrip();
+    return drivers();
+  }
+
+  // the http adapter fetches a batch concurrently, so a batch costs about one round trip
+  @Override
+  public Map<String, List<ProviderDriver>> listDriversForSessions(List<String> sessionIds) {
+    roundTrip();
+    return drivers(sessionIds);
+  }
+
+  @Override
+  public Mono<Map<String, List<ProviderDriver>>> fetchDriversForSessions(List<String> sessionIds) {
+    return afterRoundTrip(() -> drivers(sessionIds));
+  }
+
+  private static Map<String, List<ProviderDriver>> drivers(List<String> sessionIds) {
+    Map<String, List<ProviderDriver>> result = new LinkedHashMap<>();
+    for (String sessionId : sessionIds) {
+      result.put(sessionId, drivers());
+    }
+    return result;
+  }
+
+  private static List<ProviderDriver> drivers() {
     return Arrays.asList(
         new ProviderDriver("d1", "Lewis Hamilton"),
         new ProviderDriver("d2", "Max Verstappen"),
         new ProviderDriver("d3", "Charles Leclerc"));
   }
+
+  private <T> Mono<T> afterRoundTrip(Supplier<T> result) {
+    if (latency.isZero()) return Mono.fromSupplier(result);
+    return Mono.delay(latency).map(tick -> result.get());
+  }
+
+  private void roundTrip() {
+    if (latency.isZero()) return;
+    try {
+      Thread.sleep(latency.toMillis());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("interrupted during simulated provider latency", e);
+    }
+  }
 }
@@ -0,0 +1,227 @@
+package com.example.f1bet.infrastructure.stream;
+
+import com.example.f1bet.domain.event.DomainEvent;
+import com.example.f1bet.ports.out.DomainEventPublisher;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+// Fans domain events out to stream subscribers. publish() never blocks: it only files the event
+// in each interested subscriber's pending map, keyed by event market, event state or user
+// balance, so a newer event replaces an undelivered older one with the same key. Each subscriber
+// is drained by its own task, so a slow client only delays itself; one whose backlog grows past
+// maxPending keys is dropped and has to reconnect. Balance changes may be published in another
+// order than they were stored, so a subscription drops any balance not newer than the last one
+// it accepted for that user.
+public class EventStreamHub implements DomainEventPublisher, MeterBinder, AutoCloseable {
+
+  @FunctionalInterface
+  public interface Sink {
+    // may block; an exception ends the subscription
+    void send(DomainEvent event) throws Exception;
+  }
+
+  public record Stats(int subscribers, long delivered, long coalesced, long dropped) {}
+
+  private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+  private final int maxSubscribers;
+  private final int maxPending;
+  private final ExecutorService delivery;
+
+  private final LongAdder delivered = new LongAdder();
+  private final LongAdder coalesced = new LongAdder();
+  private final LongAdder dropped = new LongAdder();
+
+  public EventStreamHub(int maxSubscribers, int maxPending) {
+    // a delivery task may block on a slow client's socket, which only parks a virtual thread
+    this(maxSubscribers, maxPending, Executors.newVirtualThreadPerTaskExecutor());
+  }
+
+  // package-private constructor for tests
+  EventStreamHub(int maxSubscribers, int maxPending, ExecutorService delivery) {
+    if (maxSubscribers <= 0 || maxPending <= 0) {
+      throw new IllegalArgumentException("stream limits must be > 0");
+    }
+    this.maxSubscribers = maxSubscribers;
+    this.maxPending = maxPending;
+    this.delivery = delivery;
+  }
+
+  // Throws IllegalStateException when maxSubscribers are already connected. onClose runs once,
+  // whether the subscription was closed by the caller, by a failed send or for falling behind.
+  public Subscription subscribe(Predicate<DomainEvent> filter, Sink sink, Runnable onClose) {
+    Subscription subscription = new Subscription(filter, sink, onClose);
+    synchronized (subscriptions) {
+      if (subscriptions.size() >= maxSubscribers) {
+        throw new IllegalStateException("Too many stream subscribers");
+      }
+      subscriptions.add(subscription);
+    }
+    return subscription;
+  }
+
+  // Event state and odds changes, of one event if eventId is set; balance changes only for userId
+  public static Predicate<DomainEvent> filterFor(UUID eventId, UUID userId) {
+    return event -> {
+      if (event instanceof DomainEvent.BalanceChanged e) {
+        return e.userId().equals(userId);
+      }
+      if (eventId == null) {
+        return true;
+      }
+      return event instanceof DomainEvent.EventStateChanged e
+          ? e.eventId().equals(eventId)
+          : ((DomainEvent.OddsChanged) event).eventId().equals(eventId);
+    };
+  }
+
+  @Override
+  public void publish(DomainEvent event) {
+    for (Subscription subscription : subscriptions) {
+      if (subscription.filter.test(event)) {
+        subscription.offer(event);
+      }
+    }
+  }
+
+  public Stats stats() {
+    return new Stats(subscriptions.size(), delivered.sum(), coalesced.sum(), dropped.sum());
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("f1bet.stream.subscribers", subscriptions, Set::size).register(registry);
+    FunctionCounter.builder("f1bet.stream.events", delivered, LongAdder::sum)
+        .tag("outcome", "delivered")
+        .register(registry);
+    FunctionCounter.builder("f1bet.stream.events", coalesced, LongAdder::sum)
+        .tag("outcome", "coalesced")
+        .register(registry);
+    FunctionCounter.builder("f1bet.stream.dropped", dropped, LongAdder::sum)
+        .description("Subscribers disconnected for falling behind")
+        .register(registry);
+  }
+
+  @Override
+  public void close() {
+    for (Subscription subscription : List.copyOf(subscriptions)) {
+      subscription.close();
+    }
+    delivery.shutdownNow();
+  }
+
+  private static Object keyOf(DomainEvent event) {
+    if (event instanceof DomainEvent.EventStateChanged e) {
+      return new StateKey(e.eventId());
+    }
+    if (event instanceof DomainEvent.OddsChanged e) {
+      return new OddsKey(e.eventId());
+    }
+    return new BalanceKey(((DomainEvent.BalanceChanged) event).userId());
+  }
+
+  private record StateKey(UUID eventId) {}
+
+  private record OddsKey(UUID eventId) {}
+
+  private record BalanceKey(UUID userId) {}
+
+  public final class Subscription implements AutoCloseable {
+    private final Predicate<DomainEvent> filter;
+    private final Sink sink;
+    private final Runnable onClose;
+    private final Map<Object, DomainEvent> pending = new LinkedHashMap<>(); // guarded by this
+    private final Map<UUID, Long> balanceVersions = new HashMap<>(); // guarded by this
+    private boolean draining; // guarded by this
+    private boolean closed; // guarded by this
+
+    private Subscription(Predicate<DomainEvent> filter, Sink sink, Runnable onClose) {
+      this.filter = filter;
+      this.sink = sink;
+      this.onClose = onClose;
+    }
+
+    private void offer(DomainEvent event) {
+      boolean start;
+      boolean overflow;
+      synchronized (this) {
+        if (closed) return;
+        if (event instanceof DomainEvent.BalanceChanged b) {
+          Long accepted = balanceVersions.get(b.userId());
+          if (accepted != null && accepted >= b.version()) {
+            coalesced.increment();
+            return;
+          }
+          balanceVersions.put(b.userId(), b.version());
+        }
+        // re-inserted, so events still go out in the order they were last published
+        Object key = keyOf(event);
+        if (pending.remove(key) != null) {
+          coalesced.increment();
+        }
+        pending.put(key, event);
+        overflow = pending.size() > maxPending;
+        start = !overflow && !draining;
+        draining |= start;
+      }
+      if (overflow) {
+        dropped.increment();
+        close();
+      } else if (start) {
+        try {
+          delivery.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+          close(); // the hub is shutting down
+        }
+      }
+    }
+
+    private void drain() {
+      while (true) {
+        List<DomainEvent> batch;
+        synchronized (this) {
+          if (closed || pending.isEmpty()) {
+            draining = false;
+            return;
+          }
+          batch = new ArrayList<>(pending.values());
+          pending.clear();
+        }
+        for (DomainEvent event : batch) {
+          try {
+            sink.send(event);
+            delivered.increment();
+          } catch (Exception e) {
+            close();
+            return;
+          }
+        }
+      }
+    }
+
+    @Override
+    public void close() {
+      synchronized (this) {
+        if (closed) return;
+        closed = true;
+        pending.clear();
+      }
+      subscriptions.remove(this);
+      onClose.run();
+    }
+  }
+}
@@ -3,14 +3,18 @@ package com.example.f1bet.infrastructure.web.controller;
 import com.example.f1bet.application.service.PlaceBetService;
 import com.example.f1bet.domain.entity.Bet;
 import com.example.f1bet.infrastructure.web.dto.BetResponse;
+import com.example.f1bet.infrastructure.web.dto.PlaceBetBatchRequest;
+import com.example.f1bet.infrastructure.web.dto.PlaceBetBatchResponse;
 import com.example.f1bet.infrastructure.web.dto.PlaceBetRequest;
 import com.example.f1bet.infrastructure.web.mapper.DomainWebMappers;
 import jakarta.validation.Valid;
-import java.util.UUID;
+import java.util.List;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/v1/bets")
 public class BetController {
   private final PlaceBetService placeBetService;
@@ -23,17 +27,19 @@ public class BetController {
   public ResponseEntity<BetResponse> placeBet(
       @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
       @Valid @RequestBody PlaceBetRequest request) {
-    // Build command
-    PlaceBetService.Command cmd =
-        new PlaceBetService.Command(
-            UUID.fromString(request.getUserId()),
-            UUID.fromString(request.getEventId()),
-            UUID.fromString(request.getSelectionId()),
-            request.getStakeAmount(),
-            request.getCurrency(),
-            idempotencyKey);
-    Bet bet = placeBetService.place(cmd);
+    Bet bet = placeBetService.place(DomainWebMappers.toCommand(request, idempotencyKey));
     BetResponse response = DomainWebMappers.toBetResponse(bet);
     return ResponseEntity.ok(response);
   }
+
+  // Per-item results: the response is 200 even when some items were rejected
+  @PostMapping("/batch")
+  public ResponseEntity<PlaceBetBatchResponse> placeBets(
+      @Valid @RequestBody PlaceBetBatchRequest request) {
+    List<PlaceBetService.Command> cmds =
+        request.getBets().stream()
+            .map(item -> DomainWebMappers.toCommand(item, item.getIdempotencyKey()))
+            .toList();
+    return ResponseEntity.ok(DomainWebMappers.toBatchResponse(placeBetService.placeBatch(cmds)));
+  }
 }
@@ -1,24 +1,37 @@
 package com.example.f1bet.infrastructure.web.controller;
 
+import com.example.f1bet.application.service.ExposureLedger;
 import com.example.f1bet.application.service.ListEventsService;
-import com.example.f1bet.application.service.RecordOutcomeService;
+import com.example.f1bet.application.service.SettlementJobService;
+import com.example.f1bet.infrastructure.web.dto.ExposureResponse;
 import com.example.f1bet.infrastructure.web.dto.ListEventsResponse;
 import com.example.f1bet.infrastructure.web.dto.RecordOutcomeRequest;
+import com.example.f1bet.infrastructure.web.dto.SettlementJobResponse;
+import com.example.f1bet.infrastructure.web.mapper.DomainWebMappers;
 import com.example.f1bet.ports.out.ProviderSessionFilter;
 import jakarta.validation.Valid;
+import java.net.URI;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/v1/events")
 public class EventController {
   private final ListEventsService listEventsService;
-  private final RecordOutcomeService recordOutcomeService;
+  private final SettlementJobService settlementJobService;
+  private final ExposureLedger exposureLedger;
 
   public EventController(
-      ListEventsService listEventsService, RecordOutcomeService recordOutcomeService) {
+      ListEventsService listEventsService,
+      SettlementJobService settlementJobService,
+      ExposureLedger exposureLedger) {
     this.listEventsService = listEventsService;
-    this.recordOutcomeService = recordOutcomeService;
+    this.settlementJobService = settlementJobService;
+    this.exposureLedger = exposureLedger;
   }
 
   @GetMapping
@@ -35,15 +48,42 @@ public class EventController {
                 : null,
             year,
             country);
-    // Pagination is not implemented in service, so just pass all params
+    // page/size are passed through to the provider
     ListEventsResponse response = listEventsService.list(filter, page, size);
     return ResponseEntity.ok(response);
   }
 
+  // Cursor paging over the loaded event catalog; pass the previous page's nextCursor as "after"
+  @GetMapping("/cursor")
+  public ResponseEntity<ListEventsResponse> listEventsAfter(
+      @RequestParam(required = false) String after,
+      @RequestParam(required = false) Integer size) {
+    java.util.UUID cursor = after != null ? java.util.UUID.fromString(after) : null;
+    return ResponseEntity.ok(listEventsService.listAfter(cursor, size));
+  }
+
+  // Settlement runs as a background job; poll the returned Location for its progress
   @PostMapping("/{eventId}/outcome")
-  public ResponseEntity<Void> recordOutcome(
+  public ResponseEntity<SettlementJobResponse> recordOutcome(
       @PathVariable String eventId, @Valid @RequestBody RecordOutcomeRequest request) {
-    recordOutcomeService.record(java.util.UUID.fromString(eventId), request.getWinningDriverId());
-    return ResponseEntity.ok().build();
+    SettlementJobService.Job job;
+    try {
+      job =
+          settlementJobService.submit(
+              java.util.UUID.fromString(eventId), request.getWinningDriverId());
+    } catch (IllegalStateException e) {
+      throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+    }
+    return ResponseEntity.accepted()
+        .location(URI.create("/api/v1/settlements/" + job.id()))
+        .body(DomainWebMappers.toSettlementJobResponse(job));
+  }
+
+  // Stake and potential payout per selection of an open event, most exposed first
+  @GetMapping("/{eventId}/exposure")
+  public ResponseEntity<ExposureResponse> getExposure(@PathVariable String eventId) {
+    return ResponseEntity.ok(
+        DomainWebMappers.toExposureResponse(
+            exposureLedger.exposure(java.util.UUID.fromString(eventId))));
   }
 }
@@ -0,0 +1,28 @@
+package com.example.f1bet.infrastructure.web.controller;
+
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+// Every registered meter in the Prometheus text exposition format
+@RestController
+@RequestMapping("/actuator/prometheus")
+public class MetricsController {
+  private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+  private final PrometheusMeterRegistry registry;
+
+  public MetricsController(PrometheusMeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  @GetMapping
+  public ResponseEntity<String> scrape() {
+    return ResponseEntity.ok()
+        .header(HttpHeaders.CONTENT_TYPE, CONTENT_TYPE)
+        .body(registry.scrape());
+  }
+}
@@ -0,0 +1,32 @@
+package com.example.f1bet.infrastructure.web.controller;
+
+import com.example.f1bet.application.service.SettlementJobService;
+import com.example.f1bet.infrastructure.web.dto.SettlementJobResponse;
+import com.example.f1bet.infrastructure.web.mapper.DomainWebMappers;
+import java.util.UUID;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/settlements")
+public class SettlementController {
+  private final SettlementJobService settlementJobService;
+
+  public SettlementController(SettlementJobService settlementJobService) {
+    this.settlementJobService = settlementJobService;
+  }
+
+  // finished jobs are only kept up to app.settlement.jobs.retained
+  @GetMapping("/{jobId}")
+  public ResponseEntity<SettlementJobResponse> getJob(@PathVariable String jobId) {
+    return settlementJobService
+        .find(UUID.fromString(jobId))
+        .map(job -> ResponseEntity.ok(DomainWebMappers.toSettlementJobResponse(job)))
+        .orElseThrow(
+            () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Settlement job not found"));
+  }
+}
@@ -0,0 +1,60 @@
+package com.example.f1bet.infrastructure.web.controller;
+
+import com.example.f1bet.infrastructure.stream.EventStreamHub;
+import com.example.f1bet.infrastructure.web.dto.StreamEventResponse;
+import com.example.f1bet.infrastructure.web.mapper.DomainWebMappers;
+import java.time.Duration;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+// Server-sent events instead of polling: event state and odds changes (of one event, or of all
+// with no eventId) and, with userId, that user's balance changes. Intermediate updates a slow
+// client has not received yet are replaced by the latest one.
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/stream")
+public class StreamController {
+  private final EventStreamHub hub;
+  private final Duration timeout;
+
+  public StreamController(
+      EventStreamHub hub, @Value("${app.stream.timeout:30m}") Duration timeout) {
+    this.hub = hub;
+    this.timeout = timeout;
+  }
+
+  @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter stream(
+      @RequestParam(required = false) String eventId,
+      @RequestParam(required = false) String userId) {
+    SseEmitter emitter = new SseEmitter(timeout.toMillis());
+    EventStreamHub.Subscription subscription;
+    try {
+      subscription =
+          hub.subscribe(
+              EventStreamHub.filterFor(parse(eventId), parse(userId)),
+              event -> {
+                StreamEventResponse dto = DomainWebMappers.toStreamEvent(event);
+                emitter.send(SseEmitter.event().name(dto.getType()).data(dto));
+              },
+              emitter::complete);
+    } catch (IllegalStateException e) {
+      throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+    }
+    // the client went away or the stream timed out
+    emitter.onCompletion(subscription::close);
+    emitter.onTimeout(subscription::close);
+    emitter.onError(e -> subscription.close());
+    return emitter;
+  }
+
+  private static UUID parse(String id) {
+    return id != null ? UUID.fromString(id) : null;
+  }
+}
@@ -1,17 +1,26 @@
 package com.example.f1bet.infrastructure.web.controller;
 
+import com.example.f1bet.application.service.BetHistoryService;
 import com.example.f1bet.application.service.UserBalanceService;
+import com.example.f1bet.domain.enums.BetStatus;
+import com.example.f1bet.infrastructure.web.dto.BetHistoryResponse;
 import com.example.f1bet.infrastructure.web.dto.UserBalanceResponse;
+import java.util.UUID;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/v1/users")
 public class UserController {
   private final UserBalanceService userBalanceService;
+  private final BetHistoryService betHistoryService;
 
-  public UserController(UserBalanceService userBalanceService) {
+  public UserController(
+      UserBalanceService userBalanceService, BetHistoryService betHistoryService) {
     this.userBalanceService = userBalanceService;
+    this.betHistoryService = betHistoryService;
   }
 
   @GetMapping("/{userId}/balance")
@@ -19,4 +28,19 @@ public class UserController {
     UserBalanceResponse response = userBalanceService.getBalance(userId);
     return ResponseEntity.ok(response);
   }
+
+  // Most recent first; pass the previous page's nextCursor as "cursor"
+  @GetMapping("/{userId}/bets")
+  public ResponseEntity<BetHistoryResponse> getBets(
+      @PathVariable String userId,
+      @RequestParam(required = false) String status,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer size) {
+    return ResponseEntity.ok(
+        betHistoryService.history(
+            UUID.fromString(userId),
+            status != null ? BetStatus.valueOf(status) : null,
+            cursor != null ? UUID.fromString(cursor) : null,
+            size));
+  }
 }
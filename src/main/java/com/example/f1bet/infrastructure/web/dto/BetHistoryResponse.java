@@ -0,0 +1,35 @@
+package com.example.f1bet.infrastructure.web.dto;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+
+public class BetHistoryResponse {
+  @NotNull private List<BetResponse> items;
+  private Integer size;
+  // pass as "cursor" for the next page; null on the last one
+  private String nextCursor;
+
+  public List<BetResponse> getItems() {
+    return items;
+  }
+
+  public void setItems(List<BetResponse> items) {
+    this.items = items;
+  }
+
+  public Integer getSize() {
+    return size;
+  }
+
+  public void setSize(Integer size) {
+    this.size = size;
+  }
+
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+  public void setNextCursor(String nextCursor) {
+    this.nextCursor = nextCursor;
+  }
+}
@@ -11,6 +11,7 @@ public class BetResponse {
   @NotNull private Double capturedOdds;
   @NotBlank private String eventId;
   @NotBlank private String selectionId;
+  private String placedAt;
 
   public String getBetId() {
     return betId;
@@ -59,4 +60,12 @@ public class BetResponse {
   public void setSelectionId(String selectionId) {
     this.selectionId = selectionId;
   }
+
+  public String getPlacedAt() {
+    return placedAt;
+  }
+
+  public void setPlacedAt(String placedAt) {
+    this.placedAt = placedAt;
+  }
 }
@@ -0,0 +1,93 @@
+package com.example.f1bet.infrastructure.web.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class ExposureResponse {
+  private String eventId;
+  // potential payout allowed per selection and currency; null when there is no cap
+  private BigDecimal maxLiability;
+  // most exposed first
+  private List<SelectionExposureDto> selections;
+
+  public String getEventId() {
+    return eventId;
+  }
+
+  public void setEventId(String eventId) {
+    this.eventId = eventId;
+  }
+
+  public BigDecimal getMaxLiability() {
+    return maxLiability;
+  }
+
+  public void setMaxLiability(BigDecimal maxLiability) {
+    this.maxLiability = maxLiability;
+  }
+
+  public List<SelectionExposureDto> getSelections() {
+    return selections;
+  }
+
+  public void setSelections(List<SelectionExposureDto> selections) {
+    this.selections = selections;
+  }
+
+  public static class SelectionExposureDto {
+    private String selectionId;
+    private String driverId;
+    private String currency;
+    private long bets;
+    private BigDecimal totalStake;
+    private BigDecimal potentialPayout;
+
+    public String getSelectionId() {
+      return selectionId;
+    }
+
+    public void setSelectionId(String selectionId) {
+      this.selectionId = selectionId;
+    }
+
+    public String getDriverId() {
+      return driverId;
+    }
+
+    public void setDriverId(String driverId) {
+      this.driverId = driverId;
+    }
+
+    public String getCurrency() {
+      return currency;
+    }
+
+    public void setCurrency(String currency) {
+      this.currency = currency;
+    }
+
+    public long getBets() {
+      return bets;
+    }
+
+    public void setBets(long bets) {
+      this.bets = bets;
+    }
+
+    public BigDecimal getTotalStake() {
+      return totalStake;
+    }
+
+    public void setTotalStake(BigDecimal totalStake) {
+      this.totalStake = totalStake;
+    }
+
+    public BigDecimal getPotentialPayout() {
+      return potentialPayout;
+    }
+
+    public void setPotentialPayout(BigDecimal potentialPayout) {
+      this.potentialPayout = potentialPayout;
+    }
+  }
+}
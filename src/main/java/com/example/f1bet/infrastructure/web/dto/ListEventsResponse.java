@@ -8,6 +8,7 @@ public class ListEventsResponse {
   private Integer page;
   private Integer size;
   private Integer total;
+  private String nextCursor;
 
   public List<EventResponse> getItems() {
     return items;
@@ -40,4 +41,12 @@ public class ListEventsResponse {
   public void setTotal(Integer total) {
     this.total = total;
   }
+
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+  public void setNextCursor(String nextCursor) {
+    this.nextCursor = nextCursor;
+  }
 }
@@ -0,0 +1,33 @@
+package com.example.f1bet.infrastructure.web.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public class PlaceBetBatchRequest {
+  @NotEmpty
+  @Size(max = 1000)
+  private List<@Valid Item> bets;
+
+  public List<Item> getBets() {
+    return bets;
+  }
+
+  public void setBets(List<Item> bets) {
+    this.bets = bets;
+  }
+
+  // A bet of the batch; the key plays the role of the Idempotency-Key header, per item
+  public static class Item extends PlaceBetRequest {
+    private String idempotencyKey;
+
+    public String getIdempotencyKey() {
+      return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+      this.idempotencyKey = idempotencyKey;
+    }
+  }
+}
@@ -0,0 +1,57 @@
+package com.example.f1bet.infrastructure.web.dto;
+
+import com.example.f1bet.infrastructure.web.exception.Problem;
+import java.util.List;
+
+public class PlaceBetBatchResponse {
+  private List<Result> results;
+
+  public List<Result> getResults() {
+    return results;
+  }
+
+  public void setResults(List<Result> results) {
+    this.results = results;
+  }
+
+  // One per request item, in order. status is what the item would have got from POST
+  // /api/v1/bets; bet is set when it was placed or replayed, error when it was rejected.
+  public static class Result {
+    private int status;
+    private boolean replayed;
+    private BetResponse bet;
+    private Problem error;
+
+    public int getStatus() {
+      return status;
+    }
+
+    public void setStatus(int status) {
+      this.status = status;
+    }
+
+    public boolean isReplayed() {
+      return replayed;
+    }
+
+    public void setReplayed(boolean replayed) {
+      this.replayed = replayed;
+    }
+
+    public BetResponse getBet() {
+      return bet;
+    }
+
+    public void setBet(BetResponse bet) {
+      this.bet = bet;
+    }
+
+    public Problem getError() {
+      return error;
+    }
+
+    public void setError(Problem error) {
+      this.error = error;
+    }
+  }
+}
@@ -0,0 +1,126 @@
+package com.example.f1bet.infrastructure.web.dto;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+public class SettlementJobResponse {
+  private String jobId;
+  private String eventId;
+  private String winningDriverId;
+  // QUEUED, RUNNING, COMPLETED or FAILED
+  private String status;
+  private int betsTotal;
+  private long betsProcessed;
+  private long usersCredited;
+  // currency -> amount
+  private Map<String, BigDecimal> payoutsCredited;
+  private long betsPerSecond;
+  private String submittedAt;
+  private String startedAt;
+  private String finishedAt;
+  private String error;
+
+  public String getJobId() {
+    return jobId;
+  }
+
+  public void setJobId(String jobId) {
+    this.jobId = jobId;
+  }
+
+  public String getEventId() {
+    return eventId;
+  }
+
+  public void setEventId(String eventId) {
+    this.eventId = eventId;
+  }
+
+  public String getWinningDriverId() {
+    return winningDriverId;
+  }
+
+  public void setWinningDriverId(String winningDriverId) {
+    this.winningDriverId = winningDriverId;
+  }
+
+  public String getStatus() {
+    return status;
+  }
+
+  public void setStatus(String status) {
+    this.status = status;
+  }
+
+  public int getBetsTotal() {
+    return betsTotal;
+  }
+
+  public void setBetsTotal(int betsTotal) {
+    this.betsTotal = betsTotal;
+  }
+
+  public long getBetsProcessed() {
+    return betsProcessed;
+  }
+
+  public void setBetsProcessed(long betsProcessed) {
+    this.betsProcessed = betsProcessed;
+  }
+
+  public long getUsersCredited() {
+    return usersCredited;
+  }
+
+  public void setUsersCredited(long usersCredited) {
+    this.usersCredited = usersCredited;
+  }
+
+  public Map<String, BigDecimal> getPayoutsCredited() {
+    return payoutsCredited;
+  }
+
+  public void setPayoutsCredited(Map<String, BigDecimal> payoutsCredited) {
+    this.payoutsCredited = payoutsCredited;
+  }
+
+  public long getBetsPerSecond() {
+    return betsPerSecond;
+  }
+
+  public void setBetsPerSecond(long betsPerSecond) {
+    this.betsPerSecond = betsPerSecond;
+  }
+
+  public String getSubmittedAt() {
+    return submittedAt;
+  }
+
+  public void setSubmittedAt(String submittedAt) {
+    this.submittedAt = submittedAt;
+  }
+
+  public String getStartedAt() {
+    return startedAt;
+  }
+
+  public void setStartedAt(String startedAt) {
+    this.startedAt = startedAt;
+  }
+
+  public String getFinishedAt() {
+    return finishedAt;
+  }
+
+  public void setFinishedAt(String finishedAt) {
+    this.finishedAt = finishedAt;
+  }
+
+  public String getError() {
+    return error;
+  }
+
+  public void setError(String error) {
+    this.error = error;
+  }
+}
@@ -0,0 +1,73 @@
+package com.example.f1bet.infrastructure.web.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Data of one server-sent event. type is also the SSE event name; only the fields of that type
+// are set: "event-state" (eventId, state), "odds" (eventId, driverMarket), "balance" (userId,
+// balance, currency).
+public class StreamEventResponse {
+  private String type;
+  private String eventId;
+  private String state;
+  private List<EventResponse.DriverMarketDto> driverMarket;
+  private String userId;
+  private BigDecimal balance;
+  private String currency;
+
+  public String getType() {
+    return type;
+  }
+
+  public void setType(String type) {
+    this.type = type;
+  }
+
+  public String getEventId() {
+    return eventId;
+  }
+
+  public void setEventId(String eventId) {
+    this.eventId = eventId;
+  }
+
+  public String getState() {
+    return state;
+  }
+
+  public void setState(String state) {
+    this.state = state;
+  }
+
+  public List<EventResponse.DriverMarketDto> getDriverMarket() {
+    return driverMarket;
+  }
+
+  public void setDriverMarket(List<EventResponse.DriverMarketDto> driverMarket) {
+    this.driverMarket = driverMarket;
+  }
+
+  public String getUserId() {
+    return userId;
+  }
+
+  public void setUserId(String userId) {
+    this.userId = userId;
+  }
+
+  public BigDecimal getBalance() {
+    return balance;
+  }
+
+  public void setBalance(BigDecimal balance) {
+    this.balance = balance;
+  }
+
+  public String getCurrency() {
+    return currency;
+  }
+
+  public void setCurrency(String currency) {
+    this.currency = currency;
+  }
+}
@@ -3,6 +3,8 @@ package com.example.f1bet.infrastructure.web.exception;
 import com.example.f1bet.domain.exception.IllegalEventStateException;
 import com.example.f1bet.domain.exception.InsufficientBalanceException;
 import com.example.f1bet.domain.exception.InvalidBetException;
+import com.example.f1bet.domain.exception.LiabilityLimitException;
+import com.example.f1bet.ports.out.ProviderUnavailableException;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
@@ -10,19 +12,19 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
-import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
+// Shared by the MVC and the reactive controllers, so handlers take no servlet-only arguments
 @ControllerAdvice
 public class GlobalExceptionHandler {
-  @ExceptionHandler(MethodArgumentNotValidException.class)
-  public ResponseEntity<Problem> handleValidation(
-      MethodArgumentNotValidException ex, WebRequest request) {
+  @ExceptionHandler({MethodArgumentNotValidException.class, WebExchangeBindException.class})
+  public ResponseEntity<Problem> handleValidation(Exception ex) {
     return ResponseEntity.status(HttpStatus.BAD_REQUEST)
         .body(Problem.of(400, "Validation failed", ex.getMessage()));
   }
 
   @ExceptionHandler({IllegalArgumentException.class, ConstraintViolationException.class})
-  public ResponseEntity<Problem> handleBadRequest(Exception ex, WebRequest request) {
+  public ResponseEntity<Problem> handleBadRequest(Exception ex) {
     return ResponseEntity.status(HttpStatus.BAD_REQUEST)
         .body(Problem.of(400, "Bad request", ex.getMessage()));
   }
@@ -30,23 +32,29 @@ public class GlobalExceptionHandler {
   @ExceptionHandler({
     InvalidBetException.class,
     InsufficientBalanceException.class,
-    IllegalEventStateException.class
+    IllegalEventStateException.class,
+    LiabilityLimitException.class
   })
-  public ResponseEntity<Problem> handleDomainValidation(Exception ex, WebRequest request) {
+  public ResponseEntity<Problem> handleDomainValidation(Exception ex) {
     return ResponseEntity.status(422)
         .body(Problem.of(422, "Domain validation error", ex.getMessage()));
   }
 
   @ExceptionHandler(OptimisticLockingFailureException.class)
-  public ResponseEntity<Problem> handleOptimisticLock(
-      OptimisticLockingFailureException ex, WebRequest request) {
+  public ResponseEntity<Problem> handleOptimisticLock(OptimisticLockingFailureException ex) {
     return ResponseEntity.status(HttpStatus.CONFLICT)
         .body(Problem.of(409, "Optimistic lock error", ex.getMessage()));
   }
 
+  @ExceptionHandler(ProviderUnavailableException.class)
+  public ResponseEntity<Problem> handleProviderUnavailable(ProviderUnavailableException ex) {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .body(Problem.of(503, "Provider unavailable", ex.getMessage()));
+  }
+
   @ExceptionHandler({org.springframework.web.server.ResponseStatusException.class})
   public ResponseEntity<Problem> handleNotFound(
-      org.springframework.web.server.ResponseStatusException ex, WebRequest request) {
+      org.springframework.web.server.ResponseStatusException ex) {
     if (ex.getStatusCode() == HttpStatus.NOT_FOUND) {
       return ResponseEntity.status(HttpStatus.NOT_FOUND)
           .body(Problem.of(404, "Not found", ex.getMessage()));
@@ -56,7 +64,7 @@ public class GlobalExceptionHandler {
   }
 
   @ExceptionHandler(Exception.class)
-  public ResponseEntity<Problem> handleOther(Exception ex, WebRequest request) {
+  public ResponseEntity<Problem> handleOther(Exception ex) {
     return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
         .body(Problem.of(500, "Internal error", ex.getMessage()));
   }
@@ -10,9 +10,11 @@ import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.UUID;
 import org.slf4j.MDC;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 @Component
+@Profile("!reactive")
 public class CorrelationIdFilter implements Filter {
   public static final String CORRELATION_ID_HEADER = "X-Correlation-Id";
   public static final String MDC_KEY = "correlationId";
@@ -1,11 +1,23 @@
 package com.example.f1bet.infrastructure.web.mapper;
 
+import com.example.f1bet.application.service.ExposureLedger;
+import com.example.f1bet.application.service.PlaceBetService;
+import com.example.f1bet.application.service.SettlementJobService;
 import com.example.f1bet.domain.entity.Bet;
 import com.example.f1bet.domain.entity.Event;
+import com.example.f1bet.domain.entity.Selection;
 import com.example.f1bet.domain.entity.User;
+import com.example.f1bet.domain.event.DomainEvent;
+import com.example.f1bet.domain.exception.DomainException;
 import com.example.f1bet.domain.vo.Money;
 import com.example.f1bet.infrastructure.web.dto.*;
+import com.example.f1bet.infrastructure.web.exception.Problem;
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 public final class DomainWebMappers {
@@ -19,21 +31,24 @@ public final class DomainWebMappers {
     dto.setCountry(event.getCountry());
     dto.setYear(event.getYear());
     dto.setStartTime(event.getStartTime());
-    dto.setDriverMarket(
-        event.getMarket().getSelections().stream()
-            .map(
-                sel -> {
-                  EventResponse.DriverMarketDto d = new EventResponse.DriverMarketDto();
-                  d.setSelectionId(sel.getId().toString());
-                  d.setDriverId(sel.getDriverId());
-                  d.setDriverName(sel.getDriverName());
-                  d.setOdds(sel.getOdds().getValue().doubleValue());
-                  return d;
-                })
-            .collect(Collectors.toList()));
+    dto.setDriverMarket(toDriverMarket(event.getMarket().getSelections()));
     return dto;
   }
 
+  private static List<EventResponse.DriverMarketDto> toDriverMarket(List<Selection> selections) {
+    return selections.stream()
+        .map(
+            sel -> {
+              EventResponse.DriverMarketDto d = new EventResponse.DriverMarketDto();
+              d.setSelectionId(sel.getId().toString());
+              d.setDriverId(sel.getDriverId());
+              d.setDriverName(sel.getDriverName());
+              d.setOdds(sel.getOdds().getValue().doubleValue());
+              return d;
+            })
+        .collect(Collectors.toList());
+  }
+
   public static ListEventsResponse toListEventsResponse(
       List<Event> events, Integer page, Integer size, Integer total) {
     ListEventsResponse dto = new ListEventsResponse();
@@ -45,6 +60,16 @@ public final class DomainWebMappers {
     return dto;
   }
 
+  public static ListEventsResponse toEventCursorPage(
+      List<Event> events, Integer size, UUID nextCursor) {
+    ListEventsResponse dto = new ListEventsResponse();
+    dto.setItems(
+        events.stream().map(DomainWebMappers::toEventResponse).collect(Collectors.toList()));
+    dto.setSize(size);
+    dto.setNextCursor(nextCursor == null ? null : nextCursor.toString());
+    return dto;
+  }
+
   public static BetResponse toBetResponse(Bet bet) {
     BetResponse dto = new BetResponse();
     dto.setBetId(bet.getId().toString());
@@ -53,9 +78,111 @@ public final class DomainWebMappers {
     dto.setCapturedOdds(bet.getCapturedOdds().getValue().doubleValue());
     dto.setEventId(bet.getEventId().toString());
     dto.setSelectionId(bet.getSelectionId().toString());
+    dto.setPlacedAt(bet.getPlacedAt().toString());
+    return dto;
+  }
+
+  public static BetHistoryResponse toBetHistoryPage(List<Bet> bets, Integer size, UUID nextCursor) {
+    BetHistoryResponse dto = new BetHistoryResponse();
+    dto.setItems(bets.stream().map(DomainWebMappers::toBetResponse).collect(Collectors.toList()));
+    dto.setSize(size);
+    dto.setNextCursor(nextCursor == null ? null : nextCursor.toString());
+    return dto;
+  }
+
+  public static PlaceBetBatchResponse toBatchResponse(List<PlaceBetService.BatchResult> results) {
+    PlaceBetBatchResponse dto = new PlaceBetBatchResponse();
+    dto.setResults(
+        results.stream().map(DomainWebMappers::toBatchResult).collect(Collectors.toList()));
     return dto;
   }
 
+  // the status and problem GlobalExceptionHandler would give the item's failure on its own
+  private static PlaceBetBatchResponse.Result toBatchResult(PlaceBetService.BatchResult result) {
+    PlaceBetBatchResponse.Result dto = new PlaceBetBatchResponse.Result();
+    RuntimeException error = result.error();
+    if (error == null) {
+      dto.setStatus(200);
+      dto.setReplayed(result.replayed());
+      dto.setBet(toBetResponse(result.bet()));
+    } else if (error instanceof DomainException) {
+      dto.setStatus(422);
+      dto.setError(Problem.of(422, "Domain validation error", error.getMessage()));
+    } else if (error instanceof IllegalArgumentException) {
+      dto.setStatus(400);
+      dto.setError(Problem.of(400, "Bad request", error.getMessage()));
+    } else {
+      dto.setStatus(500);
+      dto.setError(Problem.of(500, "Internal error", error.getMessage()));
+    }
+    return dto;
+  }
+
+  public static StreamEventResponse toStreamEvent(DomainEvent event) {
+    StreamEventResponse dto = new StreamEventResponse();
+    if (event instanceof DomainEvent.EventStateChanged e) {
+      dto.setType("event-state");
+      dto.setEventId(e.eventId().toString());
+      dto.setState(e.state().name());
+    } else if (event instanceof DomainEvent.OddsChanged e) {
+      dto.setType("odds");
+      dto.setEventId(e.eventId().toString());
+      dto.setDriverMarket(toDriverMarket(e.selections()));
+    } else if (event instanceof DomainEvent.BalanceChanged e) {
+      dto.setType("balance");
+      dto.setUserId(e.userId().toString());
+      dto.setBalance(e.balance().getAmount());
+      dto.setCurrency(e.balance().getCurrency());
+    }
+    return dto;
+  }
+
+  public static SettlementJobResponse toSettlementJobResponse(SettlementJobService.Job job) {
+    SettlementJobResponse dto = new SettlementJobResponse();
+    dto.setJobId(job.id().toString());
+    dto.setEventId(job.eventId().toString());
+    dto.setWinningDriverId(job.winningDriverId());
+    dto.setStatus(job.status().name());
+    dto.setBetsTotal(job.betsTotal());
+    dto.setBetsProcessed(job.betsProcessed());
+    dto.setUsersCredited(job.usersCredited());
+    Map<String, BigDecimal> payouts = new TreeMap<>();
+    job.payoutsCredited().forEach((currency, money) -> payouts.put(currency, money.getAmount()));
+    dto.setPayoutsCredited(payouts);
+    dto.setBetsPerSecond(Math.round(job.betsPerSecond()));
+    dto.setSubmittedAt(toText(job.submittedAt()));
+    dto.setStartedAt(toText(job.startedAt()));
+    dto.setFinishedAt(toText(job.finishedAt()));
+    dto.setError(job.error());
+    return dto;
+  }
+
+  public static ExposureResponse toExposureResponse(ExposureLedger.Exposure exposure) {
+    ExposureResponse dto = new ExposureResponse();
+    dto.setEventId(exposure.eventId().toString());
+    dto.setMaxLiability(exposure.maxLiability());
+    dto.setSelections(
+        exposure.selections().stream()
+            .map(
+                line -> {
+                  ExposureResponse.SelectionExposureDto d =
+                      new ExposureResponse.SelectionExposureDto();
+                  d.setSelectionId(line.selectionId().toString());
+                  d.setDriverId(line.driverId());
+                  d.setCurrency(line.stake().getCurrency());
+                  d.setBets(line.bets());
+                  d.setTotalStake(line.stake().getAmount());
+                  d.setPotentialPayout(line.payout().getAmount());
+                  return d;
+                })
+            .collect(Collectors.toList()));
+    return dto;
+  }
+
+  private static String toText(Instant instant) {
+    return instant != null ? instant.toString() : null;
+  }
+
   public static UserBalanceResponse toUserBalanceResponse(User user) {
     UserBalanceResponse dto = new UserBalanceResponse();
     dto.setUserId(user.getId().toString());
@@ -63,6 +190,16 @@ public final class DomainWebMappers {
     return dto;
   }
 
+  public static PlaceBetService.Command toCommand(PlaceBetRequest req, String idempotencyKey) {
+    return new PlaceBetService.Command(
+        UUID.fromString(req.getUserId()),
+        UUID.fromString(req.getEventId()),
+        UUID.fromString(req.getSelectionId()),
+        req.getStakeAmount(),
+        req.getCurrency(),
+        idempotencyKey);
+  }
+
   public static Money toMoney(PlaceBetRequest req) {
     return Money.stake(req.getCurrency(), req.getStakeAmount());
   }
@@ -0,0 +1,28 @@
+package com.example.f1bet.infrastructure.web.reactive;
+
+import static com.example.f1bet.infrastructure.web.filter.CorrelationIdFilter.CORRELATION_ID_HEADER;
+import static com.example.f1bet.infrastructure.web.filter.CorrelationIdFilter.MDC_KEY;
+
+import java.util.UUID;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+// CorrelationIdFilter for WebFlux. A request hops between threads here, so the id travels in the
+// Reactor context instead of the MDC.
+@Component
+@Profile("reactive")
+public class CorrelationIdWebFilter implements WebFilter {
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+    String header = exchange.getRequest().getHeaders().getFirst(CORRELATION_ID_HEADER);
+    String correlationId =
+        header == null || header.isBlank() ? UUID.randomUUID().toString() : header;
+    exchange.getResponse().getHeaders().set(CORRELATION_ID_HEADER, correlationId);
+    return chain.filter(exchange).contextWrite(ctx -> ctx.put(MDC_KEY, correlationId));
+  }
+}
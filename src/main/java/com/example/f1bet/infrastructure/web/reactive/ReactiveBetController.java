@@ -0,0 +1,52 @@
+package com.example.f1bet.infrastructure.web.reactive;
+
+import com.example.f1bet.application.service.PlaceBetService;
+import com.example.f1bet.infrastructure.web.dto.BetResponse;
+import com.example.f1bet.infrastructure.web.dto.PlaceBetBatchRequest;
+import com.example.f1bet.infrastructure.web.dto.PlaceBetBatchResponse;
+import com.example.f1bet.infrastructure.web.dto.PlaceBetRequest;
+import com.example.f1bet.infrastructure.web.mapper.DomainWebMappers;
+import jakarta.validation.Valid;
+import java.util.List;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+// Replays with the same Idempotency-Key are still answered by PlaceBetService; the response
+// cache in front of the MVC controller is servlet-only.
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/v1/bets")
+public class ReactiveBetController {
+  private final PlaceBetService placeBetService;
+  private final Scheduler repositoryScheduler;
+
+  public ReactiveBetController(PlaceBetService placeBetService, Scheduler repositoryScheduler) {
+    this.placeBetService = placeBetService;
+    this.repositoryScheduler = repositoryScheduler;
+  }
+
+  @PostMapping
+  public Mono<ResponseEntity<BetResponse>> placeBet(
+      @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+      @Valid @RequestBody PlaceBetRequest request) {
+    PlaceBetService.Command cmd = DomainWebMappers.toCommand(request, idempotencyKey);
+    return Mono.fromCallable(() -> placeBetService.place(cmd))
+        .subscribeOn(repositoryScheduler)
+        .map(bet -> ResponseEntity.ok(DomainWebMappers.toBetResponse(bet)));
+  }
+
+  @PostMapping("/batch")
+  public Mono<ResponseEntity<PlaceBetBatchResponse>> placeBets(
+      @Valid @RequestBody PlaceBetBatchRequest request) {
+    List<PlaceBetService.Command> cmds =
+        request.getBets().stream()
+            .map(item -> DomainWebMappers.toCommand(item, item.getIdempotencyKey()))
+            .toList();
+    return Mono.fromCallable(() -> placeBetService.placeBatch(cmds))
+        .subscribeOn(repositoryScheduler)
+        .map(results -> ResponseEntity.ok(DomainWebMappers.toBatchResponse(results)));
+  }
+}
@@ -0,0 +1,84 @@
+package com.example.f1bet.infrastructure.web.reactive;
+
+import com.example.f1bet.application.service.ExposureLedger;
+import com.example.f1bet.application.service.ReactiveListEventsService;
+import com.example.f1bet.application.service.SettlementJobService;
+import com.example.f1bet.domain.enums.SessionType;
+import com.example.f1bet.infrastructure.web.dto.ExposureResponse;
+import com.example.f1bet.infrastructure.web.dto.ListEventsResponse;
+import com.example.f1bet.infrastructure.web.dto.RecordOutcomeRequest;
+import com.example.f1bet.infrastructure.web.dto.SettlementJobResponse;
+import com.example.f1bet.infrastructure.web.mapper.DomainWebMappers;
+import com.example.f1bet.ports.out.ProviderSessionFilter;
+import jakarta.validation.Valid;
+import java.net.URI;
+import java.util.UUID;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/v1/events")
+public class ReactiveEventController {
+  private final ReactiveListEventsService listEventsService;
+  private final SettlementJobService settlementJobService;
+  private final ExposureLedger exposureLedger;
+
+  public ReactiveEventController(
+      ReactiveListEventsService listEventsService,
+      SettlementJobService settlementJobService,
+      ExposureLedger exposureLedger) {
+    this.listEventsService = listEventsService;
+    this.settlementJobService = settlementJobService;
+    this.exposureLedger = exposureLedger;
+  }
+
+  @GetMapping
+  public Mono<ResponseEntity<ListEventsResponse>> listEvents(
+      @RequestParam(required = false) String sessionType,
+      @RequestParam(required = false) Integer year,
+      @RequestParam(required = false) String country,
+      @RequestParam(required = false) Integer page,
+      @RequestParam(required = false) Integer size) {
+    ProviderSessionFilter filter =
+        new ProviderSessionFilter(
+            sessionType != null ? SessionType.valueOf(sessionType) : null, year, country);
+    return listEventsService.list(filter, page, size).map(ResponseEntity::ok);
+  }
+
+  @GetMapping("/cursor")
+  public Mono<ResponseEntity<ListEventsResponse>> listEventsAfter(
+      @RequestParam(required = false) String after,
+      @RequestParam(required = false) Integer size) {
+    UUID cursor = after != null ? UUID.fromString(after) : null;
+    return listEventsService.listAfter(cursor, size).map(ResponseEntity::ok);
+  }
+
+  // only enqueues the job (an event lookup and a queue offer), so it stays on the event loop
+  @PostMapping("/{eventId}/outcome")
+  public Mono<ResponseEntity<SettlementJobResponse>> recordOutcome(
+      @PathVariable String eventId, @Valid @RequestBody RecordOutcomeRequest request) {
+    UUID id = UUID.fromString(eventId);
+    return Mono.fromCallable(() -> settlementJobService.submit(id, request.getWinningDriverId()))
+        .onErrorMap(
+            IllegalStateException.class,
+            e -> new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage()))
+        .map(
+            job ->
+                ResponseEntity.accepted()
+                    .location(URI.create("/api/v1/settlements/" + job.id()))
+                    .body(DomainWebMappers.toSettlementJobResponse(job)));
+  }
+
+  // summed from in-memory counters, so it stays on the event loop
+  @GetMapping("/{eventId}/exposure")
+  public Mono<ResponseEntity<ExposureResponse>> getExposure(@PathVariable String eventId) {
+    UUID id = UUID.fromString(eventId);
+    return Mono.fromCallable(() -> exposureLedger.exposure(id))
+        .map(exposure -> ResponseEntity.ok(DomainWebMappers.toExposureResponse(exposure)));
+  }
+}
@@ -0,0 +1,32 @@
+package com.example.f1bet.infrastructure.web.reactive;
+
+import com.example.f1bet.application.service.SettlementJobService;
+import com.example.f1bet.infrastructure.web.dto.SettlementJobResponse;
+import com.example.f1bet.infrastructure.web.mapper.DomainWebMappers;
+import java.util.UUID;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/v1/settlements")
+public class ReactiveSettlementController {
+  private final SettlementJobService settlementJobService;
+
+  public ReactiveSettlementController(SettlementJobService settlementJobService) {
+    this.settlementJobService = settlementJobService;
+  }
+
+  @GetMapping("/{jobId}")
+  public Mono<ResponseEntity<SettlementJobResponse>> getJob(@PathVariable String jobId) {
+    return Mono.justOrEmpty(settlementJobService.find(UUID.fromString(jobId)))
+        .map(job -> ResponseEntity.ok(DomainWebMappers.toSettlementJobResponse(job)))
+        .switchIfEmpty(
+            Mono.error(
+                new ResponseStatusException(HttpStatus.NOT_FOUND, "Settlement job not found")));
+  }
+}
@@ -0,0 +1,69 @@
+package com.example.f1bet.infrastructure.web.reactive;
+
+import com.example.f1bet.infrastructure.stream.EventStreamHub;
+import com.example.f1bet.infrastructure.web.dto.StreamEventResponse;
+import com.example.f1bet.infrastructure.web.mapper.DomainWebMappers;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/v1/stream")
+public class ReactiveStreamController {
+  private final EventStreamHub hub;
+  private final Duration timeout;
+  private final int maxPending;
+
+  public ReactiveStreamController(
+      EventStreamHub hub,
+      @Value("${app.stream.timeout:30m}") Duration timeout,
+      @Value("${app.stream.max-pending:256}") int maxPending) {
+    this.hub = hub;
+    this.timeout = timeout;
+    this.maxPending = maxPending;
+  }
+
+  // The hub's delivery task cannot wait for demand here, so it hands events to a bounded buffer;
+  // a client that lets the buffer fill up is disconnected, like one falling behind on MVC.
+  @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public Flux<ServerSentEvent<StreamEventResponse>> stream(
+      @RequestParam(required = false) String eventId,
+      @RequestParam(required = false) String userId) {
+    UUID event = eventId != null ? UUID.fromString(eventId) : null;
+    UUID user = userId != null ? UUID.fromString(userId) : null;
+    return Flux.defer(
+        () -> {
+          Sinks.Many<StreamEventResponse> sink =
+              Sinks.many().unicast().onBackpressureBuffer(new ArrayBlockingQueue<>(maxPending));
+          EventStreamHub.Subscription subscription;
+          try {
+            subscription =
+                hub.subscribe(
+                    EventStreamHub.filterFor(event, user),
+                    // a full buffer or a cancelled stream throws, which ends the subscription
+                    e -> sink.tryEmitNext(DomainWebMappers.toStreamEvent(e)).orThrow(),
+                    sink::tryEmitComplete);
+          } catch (IllegalStateException e) {
+            return Flux.error(
+                new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage()));
+          }
+          Flux<StreamEventResponse> events = sink.asFlux();
+          if (timeout.isPositive()) {
+            events = events.take(timeout);
+          }
+          return events
+              .map(dto -> ServerSentEvent.builder(dto).event(dto.getType()).build())
+              .doFinally(signal -> subscription.close());
+        });
+  }
+}
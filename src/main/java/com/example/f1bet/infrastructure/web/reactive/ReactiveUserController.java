@@ -0,0 +1,56 @@
+package com.example.f1bet.infrastructure.web.reactive;
+
+import com.example.f1bet.application.service.BetHistoryService;
+import com.example.f1bet.application.service.UserBalanceService;
+import com.example.f1bet.domain.enums.BetStatus;
+import com.example.f1bet.infrastructure.web.dto.BetHistoryResponse;
+import com.example.f1bet.infrastructure.web.dto.UserBalanceResponse;
+import java.util.UUID;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/v1/users")
+public class ReactiveUserController {
+  private final UserBalanceService userBalanceService;
+  private final BetHistoryService betHistoryService;
+  private final Scheduler repositoryScheduler;
+
+  public ReactiveUserController(
+      UserBalanceService userBalanceService,
+      BetHistoryService betHistoryService,
+      Scheduler repositoryScheduler) {
+    this.userBalanceService = userBalanceService;
+    this.betHistoryService = betHistoryService;
+    this.repositoryScheduler = repositoryScheduler;
+  }
+
+  // the first lookup of an unknown user creates it, which is a repository write
+  @GetMapping("/{userId}/balance")
+  public Mono<ResponseEntity<UserBalanceResponse>> getBalance(@PathVariable String userId) {
+    return Mono.fromCallable(() -> userBalanceService.getBalance(userId))
+        .subscribeOn(repositoryScheduler)
+        .map(ResponseEntity::ok);
+  }
+
+  // a page read off an in-memory index, so it stays on the event loop
+  @GetMapping("/{userId}/bets")
+  public Mono<ResponseEntity<BetHistoryResponse>> getBets(
+      @PathVariable String userId,
+      @RequestParam(required = false) String status,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer size) {
+    return Mono.fromCallable(
+            () ->
+                betHistoryService.history(
+                    UUID.fromString(userId),
+                    status != null ? BetStatus.valueOf(status) : null,
+                    cursor != null ? UUID.fromString(cursor) : null,
+                    size))
+        .map(ResponseEntity::ok);
+  }
+}
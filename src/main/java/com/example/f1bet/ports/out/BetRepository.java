@@ -1,6 +1,7 @@
 package com.example.f1bet.ports.out;
 
 import com.example.f1bet.domain.entity.Bet;
+import com.example.f1bet.domain.enums.BetStatus;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -14,5 +15,9 @@ public interface BetRepository {
 
   List<Bet> findByEventId(UUID eventId);
 
+  // A user's bets, most recently placed first, only those with the given status unless it is
+  // null. after is the id of the last bet of the previous page, null for the first page.
+  List<Bet> findByUserId(UUID userId, BetStatus status, UUID after, int size);
+
   long versionOf(UUID id);
 }
@@ -0,0 +1,10 @@
+package com.example.f1bet.ports.out;
+
+import com.example.f1bet.domain.event.DomainEvent;
+
+// Must not block the caller: publishers sit on the betting and settlement hot paths
+public interface DomainEventPublisher {
+  DomainEventPublisher NONE = event -> {};
+
+  void publish(DomainEvent event);
+}
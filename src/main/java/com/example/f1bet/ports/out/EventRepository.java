@@ -10,9 +10,15 @@ public interface EventRepository {
 
   Event save(Event event);
 
+  // returns the already stored event when one exists for the same id
+  Event saveIfAbsent(Event event);
+
   Event update(Event event, long expectedVersion);
 
   List<Event> findPage(int page, int size);
 
+  // events ordered by id, starting strictly after the given id (null for the first page)
+  List<Event> findPageAfter(UUID after, int size);
+
   long versionOf(UUID id);
 }
@@ -1,9 +1,29 @@
 package com.example.f1bet.ports.out;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public interface F1ProviderPort {
   List<ProviderSession> listSessions(ProviderSessionFilter filter);
 
+  // sessions [page * size, page * size + size) of the filtered catalog; adapters that can filter
+  // and page at the source should override this instead of loading every session
+  default ProviderSessionPage listSessions(ProviderSessionFilter filter, int page, int size) {
+    List<ProviderSession> all = listSessions(filter);
+    int from = (int) Math.min((long) page * size, all.size());
+    int to = (int) Math.min((long) from + size, all.size());
+    return new ProviderSessionPage(List.copyOf(all.subList(from, to)), all.size());
+  }
+
   List<ProviderDriver> listDriversForSession(String sessionId);
+
+  // drivers keyed by session id; adapters that can fetch concurrently should override this
+  default Map<String, List<ProviderDriver>> listDriversForSessions(List<String> sessionIds) {
+    Map<String, List<ProviderDriver>> result = new LinkedHashMap<>();
+    for (String sessionId : sessionIds) {
+      result.put(sessionId, listDriversForSession(sessionId));
+    }
+    return result;
+  }
 }
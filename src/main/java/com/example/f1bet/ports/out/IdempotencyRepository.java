@@ -2,9 +2,18 @@ package com.example.f1bet.ports.out;
 
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public interface IdempotencyRepository {
   Optional<UUID> findByUserIdAndKey(UUID userId, String key);
 
+  // Registers the key as in flight. Empty means the caller is first and must run the request;
+  // otherwise the future completes with the first caller's bet id (or its failure).
+  Optional<CompletableFuture<UUID>> register(UUID userId, String key);
+
+  // completes a registered key; later lookups and waiting callers get this bet id
   void save(UUID userId, String key, UUID betId);
+
+  // the first caller failed: waiting callers get the failure and the key can be retried
+  void release(UUID userId, String key, RuntimeException failure);
 }
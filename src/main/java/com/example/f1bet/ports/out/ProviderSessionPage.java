@@ -0,0 +1,6 @@
+package com.example.f1bet.ports.out;
+
+import java.util.List;
+
+// one page of sessions plus the number of sessions matching the filter across all pages
+public record ProviderSessionPage(List<ProviderSession> sessions, int total) {}
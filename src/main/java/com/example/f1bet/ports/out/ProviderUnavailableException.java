@@ -0,0 +1,12 @@
+package com.example.f1bet.ports.out;
+
+// The provider could not answer: it kept failing, or calls to it are suspended for a while
+public class ProviderUnavailableException extends RuntimeException {
+  public ProviderUnavailableException(String message) {
+    super(message);
+  }
+
+  public ProviderUnavailableException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -0,0 +1,13 @@
+package com.example.f1bet.ports.out;
+
+import java.util.List;
+import java.util.Map;
+import reactor.core.publisher.Mono;
+
+// Non-blocking view of the provider for the reactive stack; same results as F1ProviderPort
+public interface ReactiveF1ProviderPort {
+  Mono<ProviderSessionPage> fetchSessionPage(ProviderSessionFilter filter, int page, int size);
+
+  // drivers keyed by session id
+  Mono<Map<String, List<ProviderDriver>>> fetchDriversForSessions(List<String> sessionIds);
+}
@@ -1,6 +1,7 @@
 package com.example.f1bet.ports.out;
 
 import com.example.f1bet.domain.entity.User;
+import com.example.f1bet.domain.vo.Money;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -12,4 +13,17 @@ public interface UserRepository {
   User update(User user, long expectedVersion);
 
   long versionOf(UUID id);
+
+  // atomically subtracts amount if the balance covers it; empty (balance untouched) otherwise
+  Optional<User> tryDebit(UUID id, Money amount);
+
+  // atomically adds amount to the balance
+  User credit(UUID id, Money amount);
+
+  // Atomically adds an event's payout and marks it in flight for the user; empty (balance
+  // untouched) if that payout is already in flight, so a retried settlement cannot pay it twice
+  Optional<User> creditPayout(UUID id, Money amount, UUID eventId);
+
+  // clears the in-flight mark once the user's bets on the event are settled
+  void completePayout(UUID id, UUID eventId);
 }
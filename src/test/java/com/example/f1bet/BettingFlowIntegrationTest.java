@@ -74,14 +74,26 @@ public class BettingFlowIntegrationTest {
     // 3. Settle outcome
     RecordOutcomeRequest outcome = new RecordOutcomeRequest();
     outcome.setWinningDriverId(selection.getDriverId());
-    webTestClient
-        .post()
-        .uri("/api/v1/events/" + eventId + "/outcome")
-        .contentType(MediaType.APPLICATION_JSON)
-        .bodyValue(outcome)
-        .exchange()
-        .expectStatus()
-        .isOk();
+    SettlementJobResponse job =
+        webTestClient
+            .post()
+            .uri("/api/v1/events/" + eventId + "/outcome")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(outcome)
+            .exchange()
+            .expectStatus()
+            .isAccepted()
+            .expectHeader()
+            .exists("Location")
+            .expectBody(SettlementJobResponse.class)
+            .returnResult()
+            .getResponseBody();
+    assert job != null;
+    SettlementJobResponse settled = awaitSettlement(job);
+    assertThat(settled.getStatus()).isEqualTo("COMPLETED");
+    // other tests in this context may have bet on the same event
+    assertThat(settled.getBetsProcessed()).isEqualTo(settled.getBetsTotal()).isPositive();
+    assertThat(settled.getPayoutsCredited()).containsKey("EUR");
 
     // 4. Check user balance increased
     UserBalanceResponse balance =
@@ -174,4 +186,117 @@ public class BettingFlowIntegrationTest {
         .expectStatus()
         .isEqualTo(422);
   }
+
+  @Test
+  void batch_placesEachItem_andReportsPerItemResults() {
+    ListEventsResponse events =
+        webTestClient
+            .get()
+            .uri("/api/v1/events?year=2025&country=Australia&sessionType=RACE")
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(ListEventsResponse.class)
+            .returnResult()
+            .getResponseBody();
+
+    assert events != null && !events.getItems().isEmpty();
+    EventResponse event = events.getItems().get(0);
+    String userId = UUID.randomUUID().toString();
+    PlaceBetBatchRequest batch = new PlaceBetBatchRequest();
+    batch.setBets(
+        java.util.List.of(
+            batchItem(userId, event, BigDecimal.valueOf(10), "batch-key-1"),
+            batchItem(userId, event, BigDecimal.valueOf(1000), null),
+            batchItem(userId, event, BigDecimal.valueOf(10), "batch-key-1")));
+
+    PlaceBetBatchResponse response =
+        webTestClient
+            .post()
+            .uri("/api/v1/bets/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(batch)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(PlaceBetBatchResponse.class)
+            .returnResult()
+            .getResponseBody();
+
+    assert response != null;
+    assertThat(response.getResults())
+        .extracting(PlaceBetBatchResponse.Result::getStatus)
+        .containsExactly(200, 422, 200);
+    assertThat(response.getResults().get(2).isReplayed()).isTrue();
+    assertThat(response.getResults().get(2).getBet().getBetId())
+        .isEqualTo(response.getResults().get(0).getBet().getBetId());
+  }
+
+  private static PlaceBetBatchRequest.Item batchItem(
+      String userId, EventResponse event, BigDecimal stake, String idempotencyKey) {
+    PlaceBetBatchRequest.Item item = new PlaceBetBatchRequest.Item();
+    item.setUserId(userId);
+    item.setEventId(event.getId());
+    item.setSelectionId(event.getDriverMarket().get(0).getSelectionId());
+    item.setStakeAmount(stake);
+    item.setCurrency("EUR");
+    item.setIdempotencyKey(idempotencyKey);
+    return item;
+  }
+
+  @Test
+  void metrics_areExposedInPrometheusFormat() {
+    webTestClient
+        .get()
+        .uri("/api/v1/events?year=2025&country=Australia&sessionType=RACE")
+        .exchange()
+        .expectStatus()
+        .isOk();
+
+    String body =
+        webTestClient
+            .get()
+            .uri("/actuator/prometheus")
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentTypeCompatibleWith(MediaType.TEXT_PLAIN)
+            .expectBody(String.class)
+            .returnResult()
+            .getResponseBody();
+
+    assertThat(body)
+        .contains("f1bet_events_list_seconds_count{mode=\"page\"}")
+        .contains("f1bet_repository_ops_seconds_bucket")
+        .contains("f1bet_provider_cache_requests_total");
+  }
+
+  // settlement runs as a background job; poll it until it is done
+  private SettlementJobResponse awaitSettlement(SettlementJobResponse job) {
+    long deadline = System.nanoTime() + java.util.concurrent.TimeUnit.SECONDS.toNanos(10);
+    while (true) {
+      SettlementJobResponse current =
+          webTestClient
+              .get()
+              .uri("/api/v1/settlements/" + job.getJobId())
+              .exchange()
+              .expectStatus()
+              .isOk()
+              .expectBody(SettlementJobResponse.class)
+              .returnResult()
+              .getResponseBody();
+      assert current != null;
+      if (current.getStatus().equals("COMPLETED") || current.getStatus().equals("FAILED")) {
+        return current;
+      }
+      assertThat(System.nanoTime()).isLessThan(deadline);
+      try {
+        Thread.sleep(20);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new AssertionError(e);
+      }
+    }
+  }
 }
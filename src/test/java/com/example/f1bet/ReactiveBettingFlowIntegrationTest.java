@@ -0,0 +1,153 @@
+package com.example.f1bet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.f1bet.infrastructure.web.dto.*;
+import java.math.BigDecimal;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+// The same API served by the WebFlux controllers of the "reactive" profile
+@SpringBootTest(
+    classes = com.example.f1bet.bootstrap.F1BetApplication.class,
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "spring.main.web-application-type=reactive")
+@ActiveProfiles("reactive")
+public class ReactiveBettingFlowIntegrationTest {
+
+  @Autowired private WebTestClient webTestClient;
+
+  @Test
+  void happyPath_bet_and_settle() {
+    String userId = UUID.randomUUID().toString();
+
+    ListEventsResponse events =
+        webTestClient
+            .get()
+            .uri("/api/v1/events?year=2025&country=Australia&sessionType=RACE")
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .exists("X-Correlation-Id")
+            .expectBody(ListEventsResponse.class)
+            .returnResult()
+            .getResponseBody();
+
+    assert events != null;
+    EventResponse event = events.getItems().get(0);
+    EventResponse.DriverMarketDto selection = event.getDriverMarket().get(0);
+
+    PlaceBetRequest betRequest = new PlaceBetRequest();
+    betRequest.setUserId(userId);
+    betRequest.setEventId(event.getId());
+    betRequest.setSelectionId(selection.getSelectionId());
+    betRequest.setStakeAmount(BigDecimal.valueOf(10));
+    betRequest.setCurrency("EUR");
+
+    // a replay with the same Idempotency-Key returns the original bet
+    BetResponse first = placeBet(betRequest, "reactive-key-1");
+    BetResponse replay = placeBet(betRequest, "reactive-key-1");
+    assertThat(replay.getBetId()).isEqualTo(first.getBetId());
+
+    RecordOutcomeRequest outcome = new RecordOutcomeRequest();
+    outcome.setWinningDriverId(selection.getDriverId());
+    SettlementJobResponse job =
+        webTestClient
+            .post()
+            .uri("/api/v1/events/" + event.getId() + "/outcome")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(outcome)
+            .exchange()
+            .expectStatus()
+            .isAccepted()
+            .expectHeader()
+            .exists("Location")
+            .expectBody(SettlementJobResponse.class)
+            .returnResult()
+            .getResponseBody();
+    assert job != null;
+    SettlementJobResponse settled = awaitSettlement(job);
+    assertThat(settled.getStatus()).isEqualTo("COMPLETED");
+    // other tests in this context may have bet on the same event
+    assertThat(settled.getBetsProcessed()).isEqualTo(settled.getBetsTotal()).isPositive();
+    assertThat(settled.getPayoutsCredited()).containsKey("EUR");
+
+    UserBalanceResponse balance =
+        webTestClient
+            .get()
+            .uri("/api/v1/users/" + userId + "/balance")
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(UserBalanceResponse.class)
+            .returnResult()
+            .getResponseBody();
+
+    assert balance != null;
+    assertThat(balance.getBalance()).isGreaterThan(new BigDecimal("90.00"));
+  }
+
+  @Test
+  void negative_invalid_request_isRejected() {
+    PlaceBetRequest betRequest = new PlaceBetRequest();
+    betRequest.setUserId(UUID.randomUUID().toString());
+
+    webTestClient
+        .post()
+        .uri("/api/v1/bets")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(betRequest)
+        .exchange()
+        .expectStatus()
+        .isBadRequest();
+  }
+
+  private BetResponse placeBet(PlaceBetRequest request, String idempotencyKey) {
+    return webTestClient
+        .post()
+        .uri("/api/v1/bets")
+        .header("Idempotency-Key", idempotencyKey)
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(request)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody(BetResponse.class)
+        .returnResult()
+        .getResponseBody();
+  }
+
+  // settlement runs as a background job; poll it until it is done
+  private SettlementJobResponse awaitSettlement(SettlementJobResponse job) {
+    long deadline = System.nanoTime() + java.util.concurrent.TimeUnit.SECONDS.toNanos(10);
+    while (true) {
+      SettlementJobResponse current =
+          webTestClient
+              .get()
+              .uri("/api/v1/settlements/" + job.getJobId())
+              .exchange()
+              .expectStatus()
+              .isOk()
+              .expectBody(SettlementJobResponse.class)
+              .returnResult()
+              .getResponseBody();
+      assert current != null;
+      if (current.getStatus().equals("COMPLETED") || current.getStatus().equals("FAILED")) {
+        return current;
+      }
+      assertThat(System.nanoTime()).isLessThan(deadline);
+      try {
+        Thread.sleep(20);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new AssertionError(e);
+      }
+    }
+  }
+}
@@ -2,20 +2,43 @@ package com.example.f1bet.application.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 
+import com.example.f1bet.domain.entity.Bet;
 import com.example.f1bet.domain.entity.Event;
 import com.example.f1bet.domain.entity.Market;
 import com.example.f1bet.domain.entity.Selection;
+import com.example.f1bet.domain.entity.User;
+import com.example.f1bet.domain.enums.BetStatus;
+import com.example.f1bet.domain.enums.EventState;
 import com.example.f1bet.domain.enums.SessionType;
+import com.example.f1bet.domain.event.DomainEvent;
+import com.example.f1bet.domain.exception.IllegalEventStateException;
 import com.example.f1bet.domain.exception.InsufficientBalanceException;
+import com.example.f1bet.domain.exception.InvalidBetException;
+import com.example.f1bet.domain.exception.LiabilityLimitException;
+import com.example.f1bet.domain.policy.OddsPolicy;
+import com.example.f1bet.domain.vo.Money;
 import com.example.f1bet.domain.vo.Odds;
 import com.example.f1bet.infrastructure.persistence.memory.InMemoryBetRepository;
 import com.example.f1bet.infrastructure.persistence.memory.InMemoryEventRepository;
+import com.example.f1bet.infrastructure.persistence.memory.InMemoryIdempotencyRepository;
 import com.example.f1bet.infrastructure.persistence.memory.InMemoryUserRepository;
 import com.example.f1bet.ports.out.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
 
 class ApplicationServicesTest {
@@ -83,6 +106,77 @@ class ApplicationServicesTest {
         .isInstanceOf(InsufficientBalanceException.class);
   }
 
+  @Test
+  void placeBet_stampsTheBetWithTheClock() {
+    var users = new InMemoryUserRepository();
+    var events = new InMemoryEventRepository();
+    var bets = new InMemoryBetRepository();
+    Instant now = Instant.parse("2025-03-02T14:59:30Z");
+    var service =
+        new PlaceBetService(
+            users,
+            events,
+            bets,
+            new InMemoryIdempotencyRepository(),
+            DomainEventPublisher.NONE,
+            new ExposureLedger(events, bets, BigDecimal.ZERO),
+            () -> now,
+            new SimpleMeterRegistry());
+    UUID eventId = UUID.randomUUID();
+    UUID selId = UUID.randomUUID();
+    events.save(
+        new Event(
+            eventId,
+            "X",
+            SessionType.RACE,
+            "GB",
+            2024,
+            new Market(
+                Market.WINNER,
+                List.of(new Selection(selId, "d1", "Norris", Odds.of(new BigDecimal("2.00")))))));
+
+    var bet =
+        service.place(
+            new PlaceBetService.Command(
+                UUID.randomUUID(), eventId, selId, new BigDecimal("10.00"), "EUR", null));
+
+    assertThat(bet.getPlacedAt()).isEqualTo(now);
+    assertThat(bets.findById(bet.getId()).orElseThrow().getPlacedAt()).isEqualTo(now);
+  }
+
+  @Test
+  void placeBet_stakeWhosePayoutOverflows_isRejectedBeforeTheDebit() {
+    var users = new InMemoryUserRepository();
+    var events = new InMemoryEventRepository();
+    var bets = new InMemoryBetRepository();
+    var service = new PlaceBetService(users, events, bets);
+
+    UUID userId = UUID.randomUUID();
+    UUID eventId = UUID.randomUUID();
+    UUID selId = UUID.randomUUID();
+    events.save(
+        new Event(
+            eventId,
+            "X",
+            SessionType.RACE,
+            "GB",
+            2024,
+            new Market(
+                Market.WINNER,
+                List.of(new Selection(selId, "d1", "Norris", Odds.of(new BigDecimal("4.00")))))));
+
+    // fits in Money, but four times it does not
+    assertThatThrownBy(
+            () ->
+                service.place(
+                    new PlaceBetService.Command(
+                        userId, eventId, selId, new BigDecimal("50000000000000000"), "EUR", null)))
+        .isInstanceOf(InvalidBetException.class);
+    assertThat(users.findById(userId).orElseThrow().getBalance().getAmount())
+        .isEqualByComparingTo("100.00");
+    assertThat(bets.findByEventId(eventId)).isEmpty();
+  }
+
   @Test
   void recordOutcome_settlesAndCreditsWinners_idempotent() {
     var users = new InMemoryUserRepository();
@@ -123,4 +217,965 @@ class ApplicationServicesTest {
     assertThat(second.getBalance().getAmount())
         .isEqualByComparingTo(first.getBalance().getAmount());
   }
+
+  @Test
+  void recordOutcome_paysEverySelectionOfAWinnerListedTwice() {
+    var users = new InMemoryUserRepository();
+    var events = new InMemoryEventRepository();
+    var bets = new InMemoryBetRepository();
+    var place = new PlaceBetService(users, events, bets);
+    var record = new RecordOutcomeService(events, bets, users);
+
+    UUID eventId = UUID.randomUUID();
+    UUID first = UUID.randomUUID();
+    UUID second = UUID.randomUUID();
+    var market =
+        new Market(
+            Market.WINNER,
+            List.of(
+                new Selection(first, "d1", "Winner", Odds.of(new BigDecimal("2.00"))),
+                new Selection(second, "d1", "Winner again", Odds.of(new BigDecimal("4.00")))));
+    events.save(new Event(eventId, "X", SessionType.RACE, "GB", 2024, market));
+    UUID onFirst = UUID.randomUUID();
+    UUID onSecond = UUID.randomUUID();
+    place.place(
+        new PlaceBetService.Command(
+            onFirst, eventId, first, new BigDecimal("10.00"), "EUR", "dup-1"));
+    place.place(
+        new PlaceBetService.Command(
+            onSecond, eventId, second, new BigDecimal("10.00"), "EUR", "dup-2"));
+
+    record.record(eventId, "d1");
+
+    assertThat(users.findById(onFirst).orElseThrow().getBalance().getAmount())
+        .isEqualByComparingTo("110.00");
+    assertThat(users.findById(onSecond).orElseThrow().getBalance().getAmount())
+        .isEqualByComparingTo("130.00");
+  }
+
+  @Test
+  void recordOutcome_shardsLargeEventsByUser_andCreditsEachUserOnce() {
+    var users = new InMemoryUserRepository();
+    var events = new InMemoryEventRepository();
+    var bets = new InMemoryBetRepository();
+    var place = new PlaceBetService(users, events, bets);
+    var record = new RecordOutcomeService(events, bets, users);
+
+    UUID eventId = UUID.randomUUID();
+    UUID winnerSelId = UUID.randomUUID();
+    UUID loserSelId = UUID.randomUUID();
+    var market =
+        new Market(
+            Market.WINNER,
+            List.of(
+                new Selection(winnerSelId, "d1", "Winner", Odds.of(new BigDecimal("2.00"))),
+                new Selection(loserSelId, "d2", "Loser", Odds.of(new BigDecimal("4.00")))));
+    events.save(new Event(eventId, "X", SessionType.RACE, "GB", 2024, market));
+
+    int userCount = 50;
+    int betsPerUser = 60;
+    List<UUID> userIds = new ArrayList<>();
+    for (int u = 0; u < userCount; u++) {
+      UUID userId = UUID.randomUUID();
+      userIds.add(userId);
+      for (int b = 0; b < betsPerUser; b++) {
+        UUID selId = b % 2 == 0 ? winnerSelId : loserSelId;
+        place.place(
+            new PlaceBetService.Command(
+                userId, eventId, selId, new BigDecimal("1.00"), "EUR", null));
+      }
+    }
+    assertThat(userCount * betsPerUser).isGreaterThan(SettlementEngine.SEQUENTIAL_THRESHOLD);
+
+    var report = record.record(eventId, "d1");
+
+    assertThat(report.betsSettled()).isEqualTo(userCount * betsPerUser);
+    assertThat(report.winningBets()).isEqualTo(userCount * betsPerUser / 2);
+    assertThat(report.usersCredited()).isEqualTo(userCount);
+    assertThat(report.shards()).isGreaterThan(1);
+    assertThat(bets.findByEventId(eventId))
+        .allSatisfy(bet -> assertThat(bet.getStatus()).isNotEqualTo(BetStatus.PENDING));
+    // 100.00 - 60 x 1.00 stakes + 30 winning bets x 2.00 payout
+    for (UUID userId : userIds) {
+      assertThat(users.findById(userId).orElseThrow().getBalance().getAmount())
+          .isEqualByComparingTo("100.00");
+    }
+  }
+
+  @Test
+  void placeBet_concurrentBetsOnSameUser_neverOverdrawOrConflict() throws Exception {
+    var users = new InMemoryUserRepository();
+    var events = new InMemoryEventRepository();
+    var bets = new InMemoryBetRepository();
+    var service = new PlaceBetService(users, events, bets);
+
+    UUID userId = UUID.randomUUID();
+    UUID eventId = UUID.randomUUID();
+    UUID selId = UUID.randomUUID();
+    events.save(
+        new Event(
+            eventId,
+            "X",
+            SessionType.RACE,
+            "GB",
+            2024,
+            new Market(
+                Market.WINNER,
+                List.of(new Selection(selId, "d1", "Norris", Odds.of(new BigDecimal("2.00")))))));
+
+    int threads = 16;
+    int attemptsPerThread = 25; // 400 attempts of 1.00 against a 100.00 balance
+    AtomicInteger placed = new AtomicInteger();
+    AtomicInteger rejected = new AtomicInteger();
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      futures.add(
+          pool.submit(
+              () -> {
+                start.await();
+                for (int i = 0; i < attemptsPerThread; i++) {
+                  try {
+                    service.place(
+                        new PlaceBetService.Command(
+                            userId, eventId, selId, new BigDecimal("1.00"), "EUR", null));
+                    placed.incrementAndGet();
+                  } catch (InsufficientBalanceException e) {
+                    rejected.incrementAndGet();
+                  }
+                }
+                return null;
+              }));
+    }
+    start.countDown();
+    try {
+      for (Future<?> f : futures) {
+        f.get(10, TimeUnit.SECONDS);
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+
+    assertThat(placed).hasValue(100);
+    assertThat(rejected).hasValue(threads * attemptsPerThread - 100);
+    assertThat(bets.findByEventId(eventId)).hasSize(100);
+    assertThat(users.findById(userId).orElseThrow().getBalance().getAmount())
+        .isEqualByComparingTo("0.00");
+  }
+
+  @Test
+  void placeBet_recordsOutcomeTimers_andIdempotencyHits() {
+    var users = new InMemoryUserRepository();
+    var events = new InMemoryEventRepository();
+    var bets = new InMemoryBetRepository();
+    var registry = new SimpleMeterRegistry();
+    var service =
+        new PlaceBetService(
+            users,
+            events,
+            bets,
+            new InMemoryIdempotencyRepository(),
+            DomainEventPublisher.NONE,
+            new ExposureLedger(events, bets, BigDecimal.ZERO),
+            Instant::now,
+            registry);
+
+    UUID userId = UUID.randomUUID();
+    UUID eventId = UUID.randomUUID();
+    UUID selId = UUID.randomUUID();
+    events.save(
+        new Event(
+            eventId,
+            "X",
+            SessionType.RACE,
+            "GB",
+            2024,
+            new Market(
+                Market.WINNER,
+                List.of(new Selection(selId, "d1", "Norris", Odds.of(new BigDecimal("2.00")))))));
+    var cmd =
+        new PlaceBetService.Command(userId, eventId, selId, new BigDecimal("10.00"), "EUR", "k1");
+
+    service.place(cmd);
+    service.place(cmd);
+    assertThatThrownBy(
+            () ->
+                service.place(
+                    new PlaceBetService.Command(
+                        userId, eventId, selId, new BigDecimal("500.00"), "EUR", null)))
+        .isInstanceOf(InsufficientBalanceException.class);
+
+    assertThat(registry.get("f1bet.idempotency.hits").counter().count()).isEqualTo(1.0);
+    assertThat(registry.get("f1bet.bets.place").tag("outcome", "placed").timer().count())
+        .isEqualTo(1);
+    assertThat(registry.get("f1bet.bets.place").tag("outcome", "replayed").timer().count())
+        .isEqualTo(1);
+    assertThat(registry.get("f1bet.bets.place").tag("outcome", "rejected").timer().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void placeBet_concurrentRequestsWithSameKey_placeOneBet_andReplayIt() throws Exception {
+    var users = new InMemoryUserRepository();
+    var events = new InMemoryEventRepository();
+    var bets = new InMemoryBetRepository();
+    var service = new PlaceBetService(users, events, bets);
+
+    UUID userId = UUID.randomUUID();
+    UUID eventId = UUID.randomUUID();
+    UUID selId = UUID.randomUUID();
+    events.save(
+        new Event(
+            eventId,
+            "X",
+            SessionType.RACE,
+            "GB",
+            2024,
+            new Market(
+                Market.WINNER,
+                List.of(new Selection(selId, "d1", "Norris", Odds.of(new BigDecimal("2.00")))))));
+    var cmd =
+        new PlaceBetService.Command(userId, eventId, selId, new BigDecimal("10.00"), "EUR", "k1");
+
+    int threads = 16;
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<UUID>> futures = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      futures.add(
+          pool.submit(
+              () -> {
+                start.await();
+                return service.place(cmd).getId();
+              }));
+    }
+    start.countDown();
+    List<UUID> betIds = new ArrayList<>();
+    try {
+      for (Future<UUID> f : futures) {
+        betIds.add(f.get(10, TimeUnit.SECONDS));
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+
+    assertThat(betIds).containsOnly(betIds.get(0));
+    assertThat(bets.findByEventId(eventId)).hasSize(1);
+    assertThat(users.findById(userId).orElseThrow().getBalance().getAmount())
+        .isEqualByComparingTo("90.00");
+  }
+
+  @Test
+  void placeBet_failedRequest_releasesItsKeyForRetry() {
+    var users = new InMemoryUserRepository();
+    var events = new InMemoryEventRepository();
+    var bets = new InMemoryBetRepository();
+    var service = new PlaceBetService(users, events, bets);
+    UUID userId = UUID.randomUUID();
+    UUID eventId = UUID.randomUUID();
+    UUID selId = UUID.randomUUID();
+    var cmd =
+        new PlaceBetService.Command(userId, eventId, selId, new BigDecimal("10.00"), "EUR", "k1");
+
+    assertThatThrownBy(() -> service.place(cmd)).hasMessage("Event not found");
+    events.save(
+        new Event(
+            eventId,
+            "X",
+            SessionType.RACE,
+            "GB",
+            2024,
+            new Market(
+                Market.WINNER,
+                List.of(new Selection(selId, "d1", "Norris", Odds.of(new BigDecimal("2.00")))))));
+
+    assertThat(service.place(cmd).getStatus()).isEqualTo(BetStatus.PENDING);
+  }
+
+  @Test
+  void placeBatch_unexpectedFailure_releasesTheKeysOfItsItems() {
+    AtomicBoolean failNextDebit = new AtomicBoolean();
+    var users =
+        new InMemoryUserRepository() {
+          @Override
+          public Optional<User> tryDebit(UUID id, Money amount) {
+            if (failNextDebit.getAndSet(false)) throw new IllegalStateException("wallet down");
+            return super.tryDebit(id, amount);
+          }
+        };
+    var events = new InMemoryEventRepository();
+    var bets = new InMemoryBetRepository();
+    var service = new PlaceBetService(users, events, bets);
+    UUID eventId = UUID.randomUUID();
+    UUID selId = UUID.randomUUID();
+    events.save(
+        new Event(
+            eventId,
+            "X",
+            SessionType.RACE,
+            "GB",
+            2024,
+            new Market(
+                Market.WINNER,
+                List.of(new Selection(selId, "d1", "Norris", Odds.of(new BigDecimal("2.00")))))));
+    UUID userId = UUID.randomUUID();
+    var cmd =
+        new PlaceBetService.Command(userId, eventId, selId, new BigDecimal("10.00"), "EUR", "k1");
+
+    failNextDebit.set(true);
+    assertThatThrownBy(() -> service.placeBatch(List.of(cmd))).hasMessage("wallet down");
+
+    // the key was released, so the retry runs instead of waiting on the failed batch
+    var bet = service.place(cmd);
+    assertThat(bets.findById(bet.getId())).isPresent();
+    assertThat(users.findById(userId).orElseThrow().getBalance().getAmount())
+        .isEqualByComparingTo("90.00");
+  }
+
+  @Test
+  void placeBatch_debitsEachUserOnce_andSettlesItemsIndependently() {
+    var users = new InMemoryUserRepository();
+    var events = new InMemoryEventRepository();
+    var bets = new InMemoryBetRepository();
+    var service = new PlaceBetService(users, events, bets);
+    UUID eventId = UUID.randomUUID();
+    UUID selId = UUID.randomUUID();
+    events.save(
+        new Event(
+            eventId,
+            "X",
+            SessionType.RACE,
+            "GB",
+            2024,
+            new Market(
+                Market.WINNER,
+                List.of(new Selection(selId, "d1", "Norris", Odds.of(new BigDecimal("2.00")))))));
+    UUID rich = UUID.randomUUID();
+    UUID poor = UUID.randomUUID();
+    BigDecimal twenty = new BigDecimal("20.00");
+    BigDecimal sixty = new BigDecimal("60.00");
+
+    List<PlaceBetService.BatchResult> results =
+        service.placeBatch(
+            List.of(
+                new PlaceBetService.Command(rich, eventId, selId, twenty, "EUR", "k1"),
+                new PlaceBetService.Command(poor, eventId, selId, sixty, "EUR", null),
+                new PlaceBetService.Command(rich, eventId, selId, twenty, "EUR", null),
+                new PlaceBetService.Command(poor, eventId, selId, sixty, "EUR", null),
+                new PlaceBetService.Command(rich, UUID.randomUUID(), selId, twenty, "EUR", null),
+                new PlaceBetService.Command(rich, eventId, selId, twenty, "EUR", "k1")));
+
+    assertThat(results.get(0).bet()).isNotNull();
+    assertThat(results.get(2).bet()).isNotNull();
+    // the sum of both stakes is not covered, so only the first one goes in
+    assertThat(results.get(1).bet()).isNotNull();
+    assertThat(results.get(3).error()).isInstanceOf(InsufficientBalanceException.class);
+    assertThat(results.get(4).error()).hasMessage("Event not found");
+    assertThat(results.get(5).replayed()).isTrue();
+    assertThat(results.get(5).bet().getId()).isEqualTo(results.get(0).bet().getId());
+
+    // one debit for both of rich's bets
+    assertThat(users.versionOf(rich)).isEqualTo(1);
+    assertThat(users.findById(rich).orElseThrow().getBalance().getAmount())
+        .isEqualByComparingTo("60.00");
+    assertThat(users.findById(poor).orElseThrow().getBalance().getAmount())
+        .isEqualByComparingTo("40.00");
+    assertThat(bets.findByEventId(eventId)).hasSize(3);
+  }
+
+  @Test
+  void settlementJob_reportsProgress_andRetriesReturnTheSameJob() throws Exception {
+    var users = new InMemoryUserRepository();
+    var events = new InMemoryEventRepository();
+    var bets = new InMemoryBetRepository();
+    var place = new PlaceBetService(users, events, bets);
+    ExecutorService workers = Executors.newSingleThreadExecutor();
+    var record = new RecordOutcomeService(events, bets, users);
+    var jobs = new SettlementJobService(events, record, workers, 10);
+    UUID userId = UUID.randomUUID();
+    UUID eventId = UUID.randomUUID();
+    UUID winnerSelId = UUID.randomUUID();
+    UUID loserSelId = UUID.randomUUID();
+    events.save(
+        new Event(
+            eventId,
+            "X",
+            SessionType.RACE,
+            "GB",
+            2024,
+            new Market(
+                Market.WINNER,
+                List.of(
+                    new Selection(winnerSelId, "d1", "Winner", Odds.of(new BigDecimal("2.00"))),
+                    new Selection(loserSelId, "d2", "Loser", Odds.of(new BigDecimal("4.00")))))));
+    place.place(
+        new PlaceBetService.Command(
+            userId, eventId, winnerSelId, new BigDecimal("10.00"), "EUR", null));
+    place.place(
+        new PlaceBetService.Command(
+            userId, eventId, loserSelId, new BigDecimal("10.00"), "EUR", null));
+
+    SettlementJobService.Job submitted = jobs.submit(eventId, "d1");
+    // an admin tool retrying the request gets the same job instead of a second settlement
+    assertThat(jobs.submit(eventId, "d1").id()).isEqualTo(submitted.id());
+    workers.shutdown();
+    assertThat(workers.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+    SettlementJobService.Job done = jobs.find(submitted.id()).orElseThrow();
+    assertThat(done.status()).isEqualTo(SettlementJobService.Status.COMPLETED);
+    assertThat(done.betsTotal()).isEqualTo(2);
+    assertThat(done.betsProcessed()).isEqualTo(2);
+    assertThat(done.usersCredited()).isEqualTo(1);
+    assertThat(done.payoutsCredited()).containsEntry("EUR", Money.of("EUR", "20.00"));
+    assertThat(done.finishedAt()).isNotNull();
+    assertThat(users.findById(userId).orElseThrow().getBalance().getAmount())
+        .isEqualByComparingTo("100.00");
+    assertThatThrownBy(() -> jobs.submit(UUID.randomUUID(), "d1"))
+        .hasMessage("Event not found");
+  }
+
+  @Test
+  void settlementJob_failedJob_isReplaced_andTheRetryPaysOut() throws Exception {
+    AtomicBoolean failNextCredit = new AtomicBoolean();
+    var users =
+        new InMemoryUserRepository() {
+          @Override
+          public Optional<User> creditPayout(UUID id, Money amount, UUID eventId) {
+            if (failNextCredit.getAndSet(false)) throw new IllegalStateException("wallet down");
+            return super.creditPayout(id, amount, eventId);
+          }
+        };
+    var events = new InMemoryEventRepository();
+    var bets = new InMemoryBetRepository();
+    var place = new PlaceBetService(users, events, bets);
+    ExecutorService workers = Executors.newSingleThreadExecutor();
+    var record = new RecordOutcomeService(events, bets, users);
+    var jobs = new SettlementJobService(events, record, workers, 10);
+    UUID userId = UUID.randomUUID();
+    UUID eventId = UUID.randomUUID();
+    UUID selId = UUID.randomUUID();
+    events.save(
+        new Event(
+            eventId,
+            "X",
+            SessionType.RACE,
+            "GB",
+            2024,
+            new Market(
+                Market.WINNER,
+                List.of(new Selection(selId, "d1", "Norris", Odds.of(new BigDecimal("2.00")))))));
+    place.place(
+        new PlaceBetService.Command(userId, eventId, selId, new BigDecimal("10.00"), "EUR", null));
+
+    failNextCredit.set(true);
+    SettlementJobService.Job failed = jobs.submit(eventId, "d1");
+    workers.submit(() -> {}).get(5, TimeUnit.SECONDS); // the job ran before this on the one worker
+    assertThat(jobs.find(failed.id()).orElseThrow().status())
+        .isEqualTo(SettlementJobService.Status.FAILED);
+    assertThat(events.findById(eventId).orElseThrow().getState()).isEqualTo(EventState.FINISHED);
+    assertThat(bets.findByEventId(eventId))
+        .extracting(b -> b.getStatus())
+        .containsExactly(BetStatus.PENDING);
+
+    SettlementJobService.Job retried = jobs.submit(eventId, "d1");
+    assertThat(retried.id()).isNotEqualTo(failed.id());
+    workers.shutdown();
+    assertThat(workers.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+    SettlementJobService.Job done = jobs.find(retried.id()).orElseThrow();
+    assertThat(done.status()).isEqualTo(SettlementJobService.Status.COMPLETED);
+    assertThat(done.betsProcessed()).isEqualTo(1);
+    assertThat(events.findById(eventId).orElseThrow().getState()).isEqualTo(EventState.SETTLED);
+    assertThat(bets.findByEventId(eventId))
+        .extracting(b -> b.getStatus())
+        .containsExactly(BetStatus.WON);
+    assertThat(users.findById(userId).orElseThrow().getBalance().getAmount())
+        .isEqualByComparingTo("110.00");
+  }
+
+  @Test
+  void settlementJob_refusesAWinnerOtherThanTheOneSubmitted() throws Exception {
+    var users = new InMemoryUserRepository();
+    var events = new InMemoryEventRepository();
+    var bets = new InMemoryBetRepository();
+    ExecutorService workers = Executors.newSingleThreadExecutor();
+    var record = new RecordOutcomeService(events, bets, users);
+    var jobs = new SettlementJobService(events, record, workers, 10);
+    UUID eventId = UUID.randomUUID();
+    events.save(
+        new Event(
+            eventId,
+            "X",
+            SessionType.RACE,
+            "GB",
+            2024,
+            new Market(
+                Market.WINNER,
+                List.of(
+                    new Selection(
+                        UUID.randomUUID(), "d1", "Norris", Odds.of(new BigDecimal("2.00"))),
+                    new Selection(
+                        UUID.randomUUID(), "d2", "Piastri", Odds.of(new BigDecimal("4.00")))))));
+
+    // holds the only worker, so the job stays queued
+    CountDownLatch release = new CountDownLatch(1);
+    workers.submit(() -> release.await(5, TimeUnit.SECONDS));
+    SettlementJobService.Job queued = jobs.submit(eventId, "d1");
+    assertThatThrownBy(() -> jobs.submit(eventId, "d2"))
+        .isInstanceOf(IllegalEventStateException.class)
+        .hasMessageContaining("d1");
+    release.countDown();
+    workers.shutdown();
+    assertThat(workers.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(jobs.find(queued.id()).orElseThrow().status())
+        .isEqualTo(SettlementJobService.Status.COMPLETED);
+
+    // the winner is stored with the event, so it holds for later requests too
+    assertThat(events.findById(eventId).orElseThrow().getWinningDriverId()).isEqualTo("d1");
+    assertThatThrownBy(() -> jobs.submit(eventId, "d2"))
+        .isInstanceOf(IllegalEventStateException.class);
+    assertThatThrownBy(() -> record.record(eventId, "d2"))
+        .isInstanceOf(IllegalEventStateException.class);
+  }
+
+  @Test
+  void settlementJob_retryAfterAFailedStore_doesNotPayTwice() throws Exception {
+    AtomicBoolean failNextUpdate = new AtomicBoolean();
+    var users = new InMemoryUserRepository();
+    var events = new InMemoryEventRepository();
+    var bets =
+        new InMemoryBetRepository() {
+          @Override
+          public Bet update(Bet bet, long expectedVersion) {
+            if (failNextUpdate.getAndSet(false)) throw new IllegalStateException("disk full");
+            return super.update(bet, expectedVersion);
+          }
+        };
+    var place = new PlaceBetService(users, events, bets);
+    ExecutorService workers = Executors.newSingleThreadExecutor();
+    var record = new RecordOutcomeService(events, bets, users);
+    var jobs = new SettlementJobService(events, record, workers, 10);
+    UUID userId = UUID.randomUUID();
+    UUID eventId = UUID.randomUUID();
+    UUID winnerSelId = UUID.randomUUID();
+    UUID loserSelId = UUID.randomUUID();
+    events.save(
+        new Event(
+            eventId,
+            "X",
+            SessionType.RACE,
+            "GB",
+            2024,
+            new Market(
+                Market.WINNER,
+                List.of(
+                    new Selection(winnerSelId, "d1", "Winner", Odds.of(new BigDecimal("2.00"))),
+                    new Selection(loserSelId, "d2", "Loser", Odds.of(new BigDecimal("4.00")))))));
+    place.place(
+        new PlaceBetService.Command(
+            userId, eventId, winnerSelId, new BigDecimal("10.00"), "EUR", null));
+    place.place(
+        new PlaceBetService.Command(
+            userId, eventId, loserSelId, new BigDecimal("10.00"), "EUR", null));
+
+    // the user is credited, then storing their first bet fails
+    failNextUpdate.set(true);
+    SettlementJobService.Job failed = jobs.submit(eventId, "d1");
+    workers.submit(() -> {}).get(5, TimeUnit.SECONDS);
+    assertThat(jobs.find(failed.id()).orElseThrow().status())
+        .isEqualTo(SettlementJobService.Status.FAILED);
+    assertThat(users.findById(userId).orElseThrow().getBalance().getAmount())
+        .isEqualByComparingTo("100.00");
+
+    SettlementJobService.Job retried = jobs.submit(eventId, "d1");
+    workers.shutdown();
+    assertThat(workers.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+    assertThat(jobs.find(retried.id()).orElseThrow().status())
+        .isEqualTo(SettlementJobService.Status.COMPLETED);
+    assertThat(bets.findByEventId(eventId))
+        .extracting(b -> b.getStatus())
+        .containsExactlyInAnyOrder(BetStatus.WON, BetStatus.LOST);
+    User user = users.findById(userId).orElseThrow();
+    assertThat(user.getBalance().getAmount()).isEqualByComparingTo("100.00");
+    assertThat(user.getPayoutsInFlight()).isEmpty();
+  }
+
+  @Test
+  void placeAndSettle_publishBalances_andAnnounceSettledAfterThePayouts() {
+    var users = new InMemoryUserRepository();
+    var events = new InMemoryEventRepository();
+    var bets = new InMemoryBetRepository();
+    List<DomainEvent> published = new ArrayList<>();
+    var registry = new SimpleMeterRegistry();
+    var exposure = new ExposureLedger(events, bets, BigDecimal.ZERO);
+    var place =
+        new PlaceBetService(
+            users,
+            events,
+            bets,
+            new InMemoryIdempotencyRepository(),
+            published::add,
+            exposure,
+            Instant::now,
+            registry);
+    var record =
+        new RecordOutcomeService(
+            events,
+            new SettlementEngine(bets, users, published::add, 0),
+            published::add,
+            exposure,
+            registry);
+    UUID userId = UUID.randomUUID();
+    UUID eventId = UUID.randomUUID();
+    UUID selId = UUID.randomUUID();
+    events.save(
+        new Event(
+            eventId,
+            "X",
+            SessionType.RACE,
+            "GB",
+            2024,
+            new Market(
+                Market.WINNER,
+                List.of(new Selection(selId, "d1", "Norris", Odds.of(new BigDecimal("2.00")))))));
+
+    place.place(
+        new PlaceBetService.Command(userId, eventId, selId, new BigDecimal("10.00"), "EUR", null));
+    record.record(eventId, "d1");
+
+    assertThat(published)
+        .containsExactly(
+            new DomainEvent.BalanceChanged(userId, Money.of("EUR", "90.00"), 1),
+            new DomainEvent.EventStateChanged(eventId, EventState.FINISHED),
+            new DomainEvent.BalanceChanged(userId, Money.of("EUR", "110.00"), 2),
+            new DomainEvent.EventStateChanged(eventId, EventState.SETTLED));
+  }
+
+  @Test
+  void exposure_tracksPlacedBets_releasesRefusedOnes_andClearsOnSettlement() {
+    var users = new InMemoryUserRepository();
+    var events = new InMemoryEventRepository();
+    var bets = new InMemoryBetRepository();
+    var registry = new SimpleMeterRegistry();
+    var exposure = new ExposureLedger(events, bets, BigDecimal.ZERO);
+    var place =
+        new PlaceBetService(
+            users,
+            events,
+            bets,
+            new InMemoryIdempotencyRepository(),
+            DomainEventPublisher.NONE,
+            exposure,
+            Instant::now,
+            registry);
+    var record =
+        new RecordOutcomeService(
+            events,
+            new SettlementEngine(bets, users),
+            DomainEventPublisher.NONE,
+            exposure,
+            registry);
+
+    UUID userId = UUID.randomUUID();
+    UUID eventId = UUID.randomUUID();
+    UUID norris = UUID.randomUUID();
+    UUID piastri = UUID.randomUUID();
+    events.save(
+        new Event(
+            eventId,
+            "X",
+            SessionType.RACE,
+            "GB",
+            2024,
+            new Market(
+                Market.WINNER,
+                List.of(
+                    new Selection(norris, "d1", "Norris", Odds.of(new BigDecimal("2.00"))),
+                    new Selection(piastri, "d2", "Piastri", Odds.of(new BigDecimal("4.00")))))));
+    place.place(
+        new PlaceBetService.Command(
+            userId, eventId, norris, new BigDecimal("10.00"), "EUR", null));
+    place.place(
+        new PlaceBetService.Command(
+            userId, eventId, norris, new BigDecimal("10.00"), "EUR", null));
+    place.place(
+        new PlaceBetService.Command(
+            userId, eventId, piastri, new BigDecimal("5.00"), "EUR", null));
+    assertThatThrownBy(
+            () ->
+                place.place(
+                    new PlaceBetService.Command(
+                        userId, eventId, piastri, new BigDecimal("500.00"), "EUR", null)))
+        .isInstanceOf(InsufficientBalanceException.class);
+
+    var lines = exposure.exposure(eventId).selections();
+    assertThat(lines)
+        .extracting(ExposureLedger.Line::driverId, ExposureLedger.Line::bets)
+        .containsExactly(tuple("d1", 2L), tuple("d2", 1L));
+    assertThat(lines.get(0).stake()).isEqualTo(Money.of("EUR", "20.00"));
+    assertThat(lines.get(0).payout()).isEqualTo(Money.of("EUR", "40.00"));
+    assertThat(lines.get(1).payout()).isEqualTo(Money.of("EUR", "20.00"));
+    assertThat(exposure.exposure(eventId).maxLiability()).isNull();
+    // a fresh ledger, as after a restart, rebuilds the same totals from the pending bets
+    assertThat(new ExposureLedger(events, bets, BigDecimal.ZERO).exposure(eventId).selections())
+        .isEqualTo(lines);
+
+    record.record(eventId, "d1");
+    assertThat(exposure.exposure(eventId).selections()).isEmpty();
+  }
+
+  @Test
+  void exposure_releaseAfterSettlement_doesNotReloadTheEvent() {
+    var users = new InMemoryUserRepository();
+    var events = new InMemoryEventRepository();
+    var bets = new InMemoryBetRepository();
+    var exposure = new ExposureLedger(events, bets, BigDecimal.ZERO);
+    var place =
+        new PlaceBetService(
+            users,
+            events,
+            bets,
+            new InMemoryIdempotencyRepository(),
+            DomainEventPublisher.NONE,
+            exposure,
+            Instant::now,
+            new SimpleMeterRegistry());
+    UUID userId = UUID.randomUUID();
+    UUID eventId = UUID.randomUUID();
+    UUID selId = UUID.randomUUID();
+    events.save(
+        new Event(
+            eventId,
+            "X",
+            SessionType.RACE,
+            "GB",
+            2024,
+            new Market(
+                Market.WINNER,
+                List.of(new Selection(selId, "d1", "Norris", Odds.of(new BigDecimal("2.00")))))));
+    var first =
+        place.place(
+            new PlaceBetService.Command(
+                userId, eventId, selId, new BigDecimal("10.00"), "EUR", null));
+    place.place(
+        new PlaceBetService.Command(userId, eventId, selId, new BigDecimal("5.00"), "EUR", null));
+
+    // the event itself is still SCHEDULED here, so its lines would show if they were reloaded
+    exposure.settled(eventId);
+    exposure.release(first);
+    exposure.reserve(first);
+
+    assertThat(exposure.exposure(eventId).selections()).isEmpty();
+    // tombstones belong to their ledger
+    assertThat(new ExposureLedger(events, bets, BigDecimal.ZERO).exposure(eventId).selections())
+        .singleElement()
+        .satisfies(line -> assertThat(line.bets()).isEqualTo(2));
+  }
+
+  @Test
+  void exposure_liabilityCapHoldsUnderConcurrentPlacements() throws Exception {
+    var users = new InMemoryUserRepository();
+    var events = new InMemoryEventRepository();
+    var bets = new InMemoryBetRepository();
+    var exposure = new ExposureLedger(events, bets, new BigDecimal("100.00"));
+    var service =
+        new PlaceBetService(
+            users,
+            events,
+            bets,
+            new InMemoryIdempotencyRepository(),
+            DomainEventPublisher.NONE,
+            exposure,
+            Instant::now,
+            new SimpleMeterRegistry());
+
+    UUID eventId = UUID.randomUUID();
+    UUID capped = UUID.randomUUID();
+    UUID other = UUID.randomUUID();
+    events.save(
+        new Event(
+            eventId,
+            "X",
+            SessionType.RACE,
+            "GB",
+            2024,
+            new Market(
+                Market.WINNER,
+                List.of(
+                    new Selection(capped, "d1", "Norris", Odds.of(new BigDecimal("2.00"))),
+                    new Selection(other, "d2", "Piastri", Odds.of(new BigDecimal("2.00")))))));
+
+    int threads = 16;
+    int attemptsPerThread = 25; // 400 bets paying 2.00 each against a 100.00 cap
+    AtomicInteger placed = new AtomicInteger();
+    AtomicInteger refused = new AtomicInteger();
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      futures.add(
+          pool.submit(
+              () -> {
+                start.await();
+                for (int i = 0; i < attemptsPerThread; i++) {
+                  try {
+                    service.place(
+                        new PlaceBetService.Command(
+                            UUID.randomUUID(),
+                            eventId,
+                            capped,
+                            new BigDecimal("1.00"),
+                            "EUR",
+                            null));
+                    placed.incrementAndGet();
+                  } catch (LiabilityLimitException e) {
+                    refused.incrementAndGet();
+                  }
+                }
+                return null;
+              }));
+    }
+    start.countDown();
+    try {
+      for (Future<?> f : futures) {
+        f.get(10, TimeUnit.SECONDS);
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+
+    assertThat(placed).hasValue(50);
+    assertThat(refused).hasValue(threads * attemptsPerThread - 50);
+    assertThat(bets.findByEventId(eventId)).hasSize(50);
+    var line = exposure.exposure(eventId).selections().get(0);
+    assertThat(line.payout()).isEqualTo(Money.of("EUR", "100.00"));
+    assertThat(line.bets()).isEqualTo(50L);
+
+    // the cap is per selection
+    service.place(
+        new PlaceBetService.Command(
+            UUID.randomUUID(), eventId, other, new BigDecimal("1.00"), "EUR", null));
+    assertThat(exposure.exposure(eventId).selections()).hasSize(2);
+  }
+
+  @Test
+  void betHistory_pagesAUsersBets_andFiltersByStatus() {
+    var users = new InMemoryUserRepository();
+    var events = new InMemoryEventRepository();
+    var bets = new InMemoryBetRepository();
+    var place = new PlaceBetService(users, events, bets);
+    var history = new BetHistoryService(bets);
+
+    UUID userId = UUID.randomUUID();
+    UUID eventId = UUID.randomUUID();
+    UUID selId = UUID.randomUUID();
+    events.save(
+        new Event(
+            eventId,
+            "X",
+            SessionType.RACE,
+            "GB",
+            2024,
+            new Market(
+                Market.WINNER,
+                List.of(new Selection(selId, "d1", "Norris", Odds.of(new BigDecimal("2.00")))))));
+    for (int i = 0; i < 3; i++) {
+      place.place(
+          new PlaceBetService.Command(
+              userId, eventId, selId, new BigDecimal("10.00"), "EUR", "key-" + i));
+    }
+
+    var first = history.history(userId, null, null, 2);
+    assertThat(first.getItems()).hasSize(2);
+    assertThat(first.getNextCursor()).isNotNull();
+    var second = history.history(userId, null, UUID.fromString(first.getNextCursor()), 2);
+    assertThat(second.getItems()).hasSize(1);
+    assertThat(second.getNextCursor()).isNull();
+    assertThat(second.getItems().get(0).getBetId())
+        .isNotIn(first.getItems().get(0).getBetId(), first.getItems().get(1).getBetId());
+    assertThat(history.history(userId, BetStatus.WON, null, null).getItems()).isEmpty();
+  }
+
+  @Test
+  void listEvents_pagesAtTheProvider_andOnlyBuildsEventsForThatPage() {
+    List<ProviderSession> catalog = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      catalog.add(
+          new ProviderSession(
+              UUID.randomUUID().toString(), "GP " + i, SessionType.RACE, "UK", 2025, null));
+    }
+    List<String> driverLookups = new ArrayList<>();
+    F1ProviderPort provider =
+        new F1ProviderPort() {
+          @Override
+          public List<ProviderSession> listSessions(ProviderSessionFilter filter) {
+            throw new AssertionError("full catalog should not be loaded");
+          }
+
+          @Override
+          public ProviderSessionPage listSessions(
+              ProviderSessionFilter filter, int page, int size) {
+            int from = Math.min(page * size, catalog.size());
+            int to = Math.min(from + size, catalog.size());
+            return new ProviderSessionPage(catalog.subList(from, to), catalog.size());
+          }
+
+          @Override
+          public List<ProviderDriver> listDriversForSession(String sessionId) {
+            driverLookups.add(sessionId);
+            return List.of(new ProviderDriver("d1", "Lewis Hamilton"));
+          }
+        };
+    var events = new InMemoryEventRepository();
+    var service = new ListEventsService(provider, new OddsPolicy(), bound -> 0, events);
+
+    var response = service.list(new ProviderSessionFilter(null, null, null), 1, 20);
+
+    assertThat(response.getTotal()).isEqualTo(200);
+    assertThat(response.getItems())
+        .extracting(e -> e.getId())
+        .containsExactlyElementsOf(
+            catalog.subList(20, 40).stream().map(ProviderSession::id).toList());
+    assertThat(driverLookups).hasSize(20);
+    assertThat(events.findPage(0, 1000)).hasSize(20);
+  }
+
+  @Test
+  void listEvents_listingAgain_keepsTheStoredEvent() {
+    String sessionId = UUID.randomUUID().toString();
+    F1ProviderPort provider =
+        new F1ProviderPort() {
+          @Override
+          public List<ProviderSession> listSessions(ProviderSessionFilter filter) {
+            return List.of(
+                new ProviderSession(sessionId, "GP", SessionType.RACE, "UK", 2025, null));
+          }
+
+          @Override
+          public ProviderSessionPage listSessions(
+              ProviderSessionFilter filter, int page, int size) {
+            throw new AssertionError("not paged");
+          }
+
+          @Override
+          public List<ProviderDriver> listDriversForSession(String sessionId) {
+            return List.of(new ProviderDriver("d1", "Lewis Hamilton"));
+          }
+        };
+    var events = new InMemoryEventRepository();
+    var service = new ListEventsService(provider, new OddsPolicy(), bound -> 0, events);
+    var filter = new ProviderSessionFilter(null, null, null);
+
+    UUID selectionId = service.list(filter).get(0).selections().get(0).id();
+    Event stored = events.findById(UUID.fromString(sessionId)).orElseThrow();
+    stored.markFinished("d1");
+    events.update(stored, events.versionOf(stored.getId()));
+
+    // bets hold the selection ids of the first listing, so a later one must not replace them
+    assertThat(service.list(filter).get(0).selections().get(0).id()).isEqualTo(selectionId);
+    assertThat(events.findById(stored.getId()).orElseThrow().getState())
+        .isEqualTo(EventState.FINISHED);
+  }
 }
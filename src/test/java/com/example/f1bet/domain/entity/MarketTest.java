@@ -0,0 +1,44 @@
+package com.example.f1bet.domain.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.f1bet.domain.vo.Odds;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class MarketTest {
+
+  private static Selection selection(String driverId) {
+    return new Selection(UUID.randomUUID(), driverId, driverId, Odds.of(new BigDecimal("2.00")));
+  }
+
+  @Test
+  void shouldFindSelections_bySelectionIdAndDriverId() {
+    Selection norris = selection("d1");
+    Selection piastri = selection("d2");
+    Market market = new Market(Market.WINNER, List.of(norris, piastri));
+
+    // a copy, as held by a bet decoded from the journal
+    UUID copy =
+        new UUID(
+            piastri.getId().getMostSignificantBits(), piastri.getId().getLeastSignificantBits());
+    assertThat(market.containsSelectionId(copy)).isTrue();
+    assertThat(market.findSelection(copy)).containsSame(piastri);
+    assertThat(market.selectionIdsOfDriver("d1")).containsExactly(norris.getId());
+    assertThat(market.containsSelectionId(UUID.randomUUID())).isFalse();
+    assertThat(market.selectionIdsOfDriver("d3")).isEmpty();
+  }
+
+  @Test
+  void shouldKeepEverySelection_whenADriverIsListedTwice() {
+    Selection first = selection("d1");
+    Selection second = selection("d1");
+    Market market = new Market(Market.WINNER, List.of(first, second, selection("d2")));
+
+    assertThat(market.getSelections()).hasSize(3);
+    assertThat(market.selectionIdsOfDriver("d1"))
+        .containsExactlyInAnyOrder(first.getId(), second.getId());
+  }
+}
@@ -50,4 +50,42 @@ class MoneyTest {
     assertThatThrownBy(() -> a.add(b)).isInstanceOf(IllegalArgumentException.class);
     assertThatThrownBy(() -> a.subtract(b)).isInstanceOf(IllegalArgumentException.class);
   }
+
+  @Test
+  void shouldKeepAmountsInMinorUnits_andConvertOnlyAtTheEdges() {
+    Money m = Money.of("EUR", "12.34");
+    assertThat(m.getMinorUnits()).isEqualTo(1234L);
+    assertThat(Money.ofMinor("EUR", 1234L)).isEqualTo(m);
+    assertThat(m.getAmount()).isEqualByComparingTo("12.34");
+  }
+
+  @Test
+  void shouldRoundHalfEven_whenMultiplyingByHundredths() {
+    assertThat(Money.of("EUR", "0.05").multiplyByHundredths(50).getAmount())
+        .isEqualByComparingTo("0.02");
+    assertThat(Money.of("EUR", "0.15").multiplyByHundredths(50).getAmount())
+        .isEqualByComparingTo("0.08");
+    assertThat(Money.of("EUR", "-0.15").multiplyByHundredths(50).getAmount())
+        .isEqualByComparingTo("-0.08");
+    assertThat(Money.of("EUR", "12.34").multiplyByHundredths(300))
+        .isEqualTo(Money.of("EUR", "12.34").multiply(new BigDecimal("3.00")));
+  }
+
+  @Test
+  void shouldRejectOutOfRangeAmounts_andOverflowingArithmetic() {
+    assertThatThrownBy(() -> Money.of("EUR", new BigDecimal("1e30")))
+        .isInstanceOf(IllegalArgumentException.class);
+    Money max = Money.ofMinor("EUR", Long.MAX_VALUE);
+    assertThatThrownBy(() -> max.add(Money.ofMinor("EUR", 1L)))
+        .isInstanceOf(ArithmeticException.class);
+    assertThatThrownBy(() -> max.multiplyByHundredths(200))
+        .isInstanceOf(ArithmeticException.class);
+  }
+
+  @Test
+  void shouldShareOneCurrencyInstance_perCode() {
+    Money a = Money.of(new String("EUR"), "1.00");
+    Money b = Money.of(new String("EUR"), "2.00");
+    assertThat(a.getCurrency()).isSameAs(b.getCurrency());
+  }
 }
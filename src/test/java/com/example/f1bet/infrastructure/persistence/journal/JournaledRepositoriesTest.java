@@ -0,0 +1,143 @@
+package com.example.f1bet.infrastructure.persistence.journal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.f1bet.domain.entity.Bet;
+import com.example.f1bet.domain.entity.Event;
+import com.example.f1bet.domain.entity.Market;
+import com.example.f1bet.domain.entity.Selection;
+import com.example.f1bet.domain.enums.BetStatus;
+import com.example.f1bet.domain.enums.EventState;
+import com.example.f1bet.domain.enums.SessionType;
+import com.example.f1bet.domain.vo.Money;
+import com.example.f1bet.domain.vo.Odds;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JournaledRepositoriesTest {
+
+  @TempDir Path dir;
+
+  private Journal.Options options(FsyncPolicy fsync) {
+    // small segments so the tests also cover rolling
+    return new Journal.Options(dir, 4096, fsync, Duration.ofMillis(5));
+  }
+
+  @Test
+  void restart_rebuildsUsersEventsBetsAndIdempotencyKeys() {
+    UUID userId = UUID.randomUUID();
+    UUID eventId = UUID.randomUUID();
+    UUID selId = UUID.randomUUID();
+    UUID betId = UUID.randomUUID();
+    Instant placedAt;
+
+    try (var repos = new JournaledRepositories(options(FsyncPolicy.GROUP))) {
+      Event event =
+          new Event(
+              eventId,
+              "Bahrain GP",
+              SessionType.RACE,
+              "BH",
+              2025,
+              new Market(
+                  Market.WINNER,
+                  List.of(new Selection(selId, "d1", "Norris", Odds.of(new BigDecimal("3.00"))))));
+      repos.events().save(event);
+      for (int i = 0; i < 100; i++) {
+        repos.users().tryDebit(userId, Money.of("EUR", "0.10"));
+      }
+      Bet bet =
+          new Bet(
+              betId,
+              userId,
+              eventId,
+              selId,
+              Money.of("EUR", "10.00"),
+              Odds.of(new BigDecimal("3.00")),
+              Instant.now(),
+              event,
+              0L);
+      placedAt = bet.getPlacedAt();
+      repos.bets().save(bet);
+      repos.idempotency().save(userId, "k1", betId);
+      event.markFinished("d1");
+      repos.events().update(event, 0L);
+      bet.markWon();
+      repos.bets().update(bet, 0L);
+      repos.users().credit(userId, Money.of("EUR", "30.00"));
+    }
+
+    try (var repos = new JournaledRepositories(options(FsyncPolicy.GROUP))) {
+      assertThat(repos.users().findById(userId).orElseThrow().getBalance())
+          .isEqualTo(Money.of("EUR", "120.00"));
+      assertThat(repos.users().versionOf(userId)).isEqualTo(101L);
+      assertThat(repos.events().findById(eventId).orElseThrow().getState())
+          .isEqualTo(EventState.FINISHED);
+      assertThat(repos.events().findById(eventId).orElseThrow().getWinningDriverId())
+          .isEqualTo("d1");
+      assertThat(repos.events().versionOf(eventId)).isEqualTo(1L);
+      assertThat(repos.bets().findByEventId(eventId))
+          .singleElement()
+          .satisfies(b -> assertThat(b.getStatus()).isEqualTo(BetStatus.WON));
+      assertThat(repos.bets().findByUserId(userId, BetStatus.WON, null, 10))
+          .singleElement()
+          .satisfies(b -> assertThat(b.getPlacedAt()).isEqualTo(placedAt));
+      assertThat(repos.idempotency().findByUserIdAndKey(userId, "k1")).contains(betId);
+    }
+  }
+
+  @Test
+  void tornRecordAtTheTail_isIgnoredOnReplay() throws Exception {
+    byte[] payload = new byte[32];
+    try (Journal journal = Journal.open(options(FsyncPolicy.EVERY_WRITE), -1L, (l, t, p) -> {})) {
+      for (int i = 0; i < 3; i++) {
+        journal.append((byte) 1, payload);
+      }
+    }
+    // flip a payload byte of the third record, as if the crash hit mid-write
+    Path segment = Journal.segments(dir).get(0);
+    long offset = Journal.HEADER_BYTES + 2L * (Journal.RECORD_OVERHEAD + payload.length) + 20;
+    try (FileChannel ch = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+      ch.write(ByteBuffer.wrap(new byte[] {42}), offset);
+    }
+
+    List<Long> replayed = new ArrayList<>();
+    try (Journal journal =
+        Journal.open(options(FsyncPolicy.EVERY_WRITE), -1L, (l, t, p) -> replayed.add(l))) {
+      assertThat(replayed).containsExactly(0L, 1L);
+      assertThat(journal.append((byte) 1, payload)).isEqualTo(2L);
+    }
+  }
+
+  @Test
+  void snapshot_dropsCoveredSegments_andRecoveryReplaysOnlyTheTail() {
+    UUID userId = UUID.randomUUID();
+    try (var repos = new JournaledRepositories(options(FsyncPolicy.INTERVAL))) {
+      for (int i = 0; i < 200; i++) {
+        repos.users().tryDebit(userId, Money.of("EUR", "0.10"));
+      }
+      int segmentsBefore = Journal.segments(dir).size();
+      long lsn = repos.snapshot();
+
+      assertThat(lsn).isEqualTo(199L);
+      assertThat(Journal.segments(dir)).hasSizeLessThan(segmentsBefore);
+      repos.users().credit(userId, Money.of("EUR", "5.00"));
+    }
+
+    try (var repos = new JournaledRepositories(options(FsyncPolicy.INTERVAL))) {
+      assertThat(repos.users().findById(userId).orElseThrow().getBalance())
+          .isEqualTo(Money.of("EUR", "85.00"));
+      assertThat(repos.users().versionOf(userId)).isEqualTo(201L);
+    }
+  }
+}
@@ -7,6 +7,8 @@ import com.example.f1bet.domain.entity.Bet;
 import com.example.f1bet.domain.entity.Event;
 import com.example.f1bet.domain.entity.Market;
 import com.example.f1bet.domain.entity.Selection;
+import com.example.f1bet.domain.entity.User;
+import com.example.f1bet.domain.enums.BetStatus;
 import com.example.f1bet.domain.enums.SessionType;
 import com.example.f1bet.domain.vo.Money;
 import com.example.f1bet.domain.vo.Odds;
@@ -14,6 +16,9 @@ import com.example.f1bet.ports.out.BetRepository;
 import com.example.f1bet.ports.out.EventRepository;
 import com.example.f1bet.ports.out.UserRepository;
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -35,6 +40,41 @@ class InMemoryRepositoriesTest {
     assertThatThrownBy(() -> users.update(u2, 0L)).isInstanceOf(OptimisticLockException.class);
   }
 
+  @Test
+  void user_tryDebit_and_credit_adjustBalanceAtomically() {
+    UserRepository users = new InMemoryUserRepository();
+    UUID id = UUID.randomUUID();
+
+    assertThat(users.tryDebit(id, Money.of("EUR", "30.00")))
+        .hasValueSatisfying(u -> assertThat(u.getBalance()).isEqualTo(Money.of("EUR", "70.00")));
+    assertThat(users.tryDebit(id, Money.of("EUR", "70.01"))).isEmpty();
+    assertThat(users.tryDebit(id, Money.of("USD", "1.00"))).isEmpty();
+    assertThat(users.credit(id, Money.of("EUR", "5.00")).getBalance())
+        .isEqualTo(Money.of("EUR", "75.00"));
+    assertThat(users.versionOf(id)).isEqualTo(2L);
+  }
+
+  @Test
+  void user_restore_appliesOnlyNewerRecords_andASaveOnlyToAnEmptySlot() {
+    InMemoryUserRepository users = new InMemoryUserRepository();
+    UUID id = UUID.randomUUID();
+    User saved = User.create(id);
+    User debited = saved.withBalance(Money.of("EUR", "90.00"));
+
+    // the update's record was appended before the save's
+    users.restore(debited, 1L);
+    users.restore(saved, 0L);
+
+    assertThat(users.findById(id).orElseThrow().getBalance()).isEqualTo(Money.of("EUR", "90.00"));
+    assertThat(users.versionOf(id)).isEqualTo(1L);
+
+    UUID other = UUID.randomUUID();
+    users.restore(User.create(other), 0L);
+    assertThat(users.versionOf(other)).isZero();
+    users.save(User.create(other));
+    assertThat(users.versionOf(other)).isEqualTo(1L); // a re-save continues the versions
+  }
+
   @Test
   void event_save_find_paging_update_withOptimisticLock() {
     EventRepository events = new InMemoryEventRepository();
@@ -61,6 +101,29 @@ class InMemoryRepositoriesTest {
         .isInstanceOf(OptimisticLockException.class);
   }
 
+  @Test
+  void event_cursorPages_walkAllEventsInIdOrder() {
+    EventRepository events = new InMemoryEventRepository();
+    List<UUID> ids = new ArrayList<>();
+    for (int i = 0; i < 25; i++) {
+      Event e = eventWithSelection(UUID.randomUUID());
+      events.save(e);
+      ids.add(e.getId());
+    }
+    Collections.sort(ids);
+
+    List<UUID> seen = new ArrayList<>();
+    UUID cursor = null;
+    List<Event> page;
+    while (!(page = events.findPageAfter(cursor, 10)).isEmpty()) {
+      page.forEach(e -> seen.add(e.getId()));
+      cursor = page.get(page.size() - 1).getId();
+    }
+
+    assertThat(seen).containsExactlyElementsOf(ids);
+    assertThat(events.findPage(2, 10)).extracting(Event::getId).isEqualTo(ids.subList(20, 25));
+  }
+
   @Test
   void bet_save_find_update_withOptimisticLock() {
     BetRepository bets = new InMemoryBetRepository();
@@ -75,6 +138,7 @@ class InMemoryRepositoriesTest {
             selId,
             Money.stake("EUR", new BigDecimal("10.00")),
             Odds.of(new BigDecimal("2.00")),
+            Instant.now(),
             // Event precondition not checked here; repository test focuses on versioning
             new Event(
                 eventId,
@@ -95,4 +159,102 @@ class InMemoryRepositoriesTest {
     bets.update(b1, 0L);
     assertThatThrownBy(() -> bets.update(b2, 0L)).isInstanceOf(OptimisticLockException.class);
   }
+
+  @Test
+  void bet_findByEventId_returnsOnlyBetsOnThatEvent() {
+    BetRepository bets = new InMemoryBetRepository();
+    UUID selId = UUID.randomUUID();
+    Event race = eventWithSelection(selId);
+    Event other = eventWithSelection(selId);
+
+    Bet onRace = pendingBet(race, selId);
+    bets.save(onRace);
+    for (int i = 0; i < 100; i++) {
+      bets.save(pendingBet(other, selId));
+    }
+
+    assertThat(bets.findByEventId(race.getId()))
+        .extracting(Bet::getId)
+        .containsExactly(onRace.getId());
+    assertThat(bets.findByEventId(other.getId())).hasSize(100);
+    assertThat(bets.findByEventId(UUID.randomUUID())).isEmpty();
+
+    onRace.markWon();
+    bets.update(onRace, 0L);
+    assertThat(bets.findByEventId(race.getId())).hasSize(1);
+  }
+
+  @Test
+  void bet_findByUserId_pagesNewestFirst_andFollowsStatusChanges() {
+    InMemoryBetRepository bets = new InMemoryBetRepository();
+    UUID userId = UUID.randomUUID();
+    Instant start = Instant.parse("2025-03-01T12:00:00Z");
+    List<UUID> newestFirst = new ArrayList<>();
+    for (int i = 0; i < 25; i++) {
+      Bet bet = placedAt(userId, start.plusSeconds(i));
+      bets.save(bet);
+      newestFirst.add(0, bet.getId());
+    }
+    bets.save(placedAt(UUID.randomUUID(), start.plusSeconds(100)));
+
+    List<UUID> walked = new ArrayList<>();
+    UUID cursor = null;
+    List<Bet> page;
+    while (!(page = bets.findByUserId(userId, null, cursor, 10)).isEmpty()) {
+      page.forEach(b -> walked.add(b.getId()));
+      cursor = page.get(page.size() - 1).getId();
+    }
+    assertThat(walked).isEqualTo(newestFirst);
+
+    Bet settled = bets.findById(newestFirst.get(3)).orElseThrow();
+    settled.markWon();
+    bets.update(settled, 0L);
+    assertThat(bets.findByUserId(userId, BetStatus.WON, null, 10))
+        .extracting(Bet::getId)
+        .containsExactly(settled.getId());
+    assertThat(bets.findByUserId(userId, BetStatus.PENDING, null, 100)).hasSize(24);
+    assertThat(bets.findByUserId(userId, BetStatus.PENDING, newestFirst.get(2), 2))
+        .extracting(Bet::getId)
+        .containsExactly(newestFirst.get(4), newestFirst.get(5));
+    assertThatThrownBy(() -> bets.findByUserId(UUID.randomUUID(), null, settled.getId(), 10))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static Bet placedAt(UUID userId, Instant placedAt) {
+    return Bet.restore(
+        UUID.randomUUID(),
+        userId,
+        UUID.randomUUID(),
+        UUID.randomUUID(),
+        Money.stake("EUR", new BigDecimal("10.00")),
+        Odds.of(new BigDecimal("2.00")),
+        placedAt,
+        BetStatus.PENDING,
+        0L);
+  }
+
+  private static Event eventWithSelection(UUID selId) {
+    return new Event(
+        UUID.randomUUID(),
+        "X",
+        SessionType.RACE,
+        "GB",
+        2024,
+        new Market(
+            Market.WINNER,
+            List.of(new Selection(selId, "d1", "Norris", Odds.of(new BigDecimal("2.00"))))));
+  }
+
+  private static Bet pendingBet(Event event, UUID selId) {
+    return new Bet(
+        UUID.randomUUID(),
+        UUID.randomUUID(),
+        event.getId(),
+        selId,
+        Money.stake("EUR", new BigDecimal("10.00")),
+        Odds.of(new BigDecimal("2.00")),
+        Instant.now(),
+        event,
+        0L);
+  }
 }
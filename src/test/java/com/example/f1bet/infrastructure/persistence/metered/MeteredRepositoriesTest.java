@@ -0,0 +1,49 @@
+package com.example.f1bet.infrastructure.persistence.metered;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.f1bet.domain.vo.Money;
+import com.example.f1bet.infrastructure.persistence.memory.InMemoryUserRepository;
+import com.example.f1bet.infrastructure.persistence.memory.OptimisticLockException;
+import com.example.f1bet.ports.out.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class MeteredRepositoriesTest {
+
+  @Test
+  void user_callsAreTimedPerOperation_andVersionConflictsCounted() {
+    var registry = new SimpleMeterRegistry();
+    UserRepository users = new MeteredUserRepository(new InMemoryUserRepository(), registry);
+    UUID id = UUID.randomUUID();
+
+    var u1 = users.findById(id).orElseThrow();
+    var u2 = users.findById(id).orElseThrow();
+    users.update(u1, 0L);
+    assertThatThrownBy(() -> users.update(u2, 0L)).isInstanceOf(OptimisticLockException.class);
+    users.credit(id, Money.of("EUR", "5.00"));
+
+    assertThat(timerCount(registry, "findById")).isEqualTo(2);
+    assertThat(timerCount(registry, "update")).isEqualTo(2);
+    assertThat(timerCount(registry, "credit")).isEqualTo(1);
+    assertThat(timerCount(registry, "tryDebit")).isZero();
+    assertThat(
+            registry
+                .get("f1bet.repository.conflicts")
+                .tag("repository", "user")
+                .counter()
+                .count())
+        .isEqualTo(1.0);
+  }
+
+  private static long timerCount(SimpleMeterRegistry registry, String operation) {
+    return registry
+        .get("f1bet.repository.ops")
+        .tag("repository", "user")
+        .tag("operation", operation)
+        .timer()
+        .count();
+  }
+}
@@ -0,0 +1,197 @@
+package com.example.f1bet.infrastructure.provider.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.f1bet.domain.enums.SessionType;
+import com.example.f1bet.ports.out.F1ProviderPort;
+import com.example.f1bet.ports.out.ProviderDriver;
+import com.example.f1bet.ports.out.ProviderSession;
+import com.example.f1bet.ports.out.ProviderSessionFilter;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class CachingF1ProviderAdapterTest {
+
+  private static final ProviderSessionFilter ALL = new ProviderSessionFilter(null, null, null);
+
+  private static final class CountingProvider implements F1ProviderPort {
+    final AtomicInteger sessionCalls = new AtomicInteger();
+    final AtomicInteger driverCalls = new AtomicInteger();
+    volatile CountDownLatch gate = new CountDownLatch(0);
+    final List<List<String>> batches = new ArrayList<>();
+    volatile RuntimeException failure;
+
+    @Override
+    public List<ProviderSession> listSessions(ProviderSessionFilter filter) {
+      sessionCalls.incrementAndGet();
+      try {
+        gate.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      if (failure != null) throw failure;
+      return List.of(new ProviderSession("s1", "Race", SessionType.RACE, "UK", 2025, null));
+    }
+
+    @Override
+    public List<ProviderDriver> listDriversForSession(String sessionId) {
+      driverCalls.incrementAndGet();
+      return List.of(new ProviderDriver("d1", "Lewis Hamilton"));
+    }
+
+    @Override
+    public Map<String, List<ProviderDriver>> listDriversForSessions(List<String> sessionIds) {
+      batches.add(sessionIds);
+      return F1ProviderPort.super.listDriversForSessions(sessionIds);
+    }
+  }
+
+  @Test
+  void concurrentMisses_areCoalescedIntoOneLoad() throws Exception {
+    CountingProvider provider = new CountingProvider();
+    provider.gate = new CountDownLatch(1);
+    var cache =
+        new CachingF1ProviderAdapter(provider, Duration.ofMinutes(1), Duration.ofMinutes(1), 10);
+
+    ExecutorService pool = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<List<ProviderSession>>> results = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        results.add(pool.submit(() -> cache.listSessions(ALL)));
+      }
+      Thread.sleep(100);
+      provider.gate.countDown();
+      for (Future<List<ProviderSession>> r : results) {
+        assertThat(r.get(5, TimeUnit.SECONDS)).hasSize(1);
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+
+    assertThat(provider.sessionCalls).hasValue(1);
+    assertThat(cache.stats().loads()).isEqualTo(1);
+    assertThat(cache.stats().hits() + cache.stats().misses()).isEqualTo(8);
+  }
+
+  @Test
+  void entries_expireAfterTheirTtl() {
+    CountingProvider provider = new CountingProvider();
+    AtomicLong now = new AtomicLong();
+    var cache =
+        new CachingF1ProviderAdapter(
+            provider, Duration.ofSeconds(30), Duration.ofMinutes(10), 10, now::get);
+
+    cache.listSessions(ALL);
+    cache.listDriversForSession("s1");
+    now.addAndGet(Duration.ofSeconds(29).toNanos());
+    cache.listSessions(ALL);
+    assertThat(provider.sessionCalls).hasValue(1);
+
+    now.addAndGet(Duration.ofSeconds(1).toNanos());
+    cache.listSessions(ALL);
+    cache.listDriversForSession("s1");
+    assertThat(provider.sessionCalls).hasValue(2);
+    assertThat(provider.driverCalls).hasValue(1);
+  }
+
+  @Test
+  void leastRecentlyUsedEntry_isEvictedWhenFull() {
+    CountingProvider provider = new CountingProvider();
+    var cache =
+        new CachingF1ProviderAdapter(provider, Duration.ofMinutes(1), Duration.ofMinutes(1), 2);
+
+    cache.listDriversForSession("s1");
+    cache.listDriversForSession("s2");
+    cache.listDriversForSession("s1");
+    cache.listDriversForSession("s3");
+
+    assertThat(cache.stats().evictions()).isEqualTo(1);
+    cache.listDriversForSession("s1");
+    assertThat(provider.driverCalls).hasValue(3);
+    cache.listDriversForSession("s2");
+    assertThat(provider.driverCalls).hasValue(4);
+  }
+
+  @Test
+  void failedLoads_areNotCached() {
+    CountingProvider provider = new CountingProvider();
+    provider.failure = new IllegalStateException("provider down");
+    var cache =
+        new CachingF1ProviderAdapter(provider, Duration.ofMinutes(1), Duration.ofMinutes(1), 10);
+
+    assertThatThrownBy(() -> cache.listSessions(ALL)).hasMessage("provider down");
+    provider.failure = null;
+    assertThat(cache.listSessions(ALL)).hasSize(1);
+    assertThat(cache.stats().loadFailures()).isEqualTo(1);
+  }
+
+  @Test
+  void batchLookup_loadsOnlyMissingSessions_inOneDelegateCall() {
+    CountingProvider provider = new CountingProvider();
+    var cache =
+        new CachingF1ProviderAdapter(provider, Duration.ofMinutes(1), Duration.ofMinutes(1), 10);
+    cache.listDriversForSession("s1");
+
+    Map<String, List<ProviderDriver>> drivers =
+        cache.listDriversForSessions(List.of("s1", "s2", "s3"));
+
+    assertThat(drivers).containsOnlyKeys("s1", "s2", "s3");
+    assertThat(provider.batches).containsExactly(List.of("s2", "s3"));
+    assertThat(cache.listDriversForSessions(List.of("s2", "s3"))).hasSize(2);
+    assertThat(provider.batches).hasSize(1);
+  }
+
+  @Test
+  void sessionPages_areCachedPerFilterPageAndSize() {
+    CountingProvider provider = new CountingProvider();
+    var cache =
+        new CachingF1ProviderAdapter(provider, Duration.ofMinutes(1), Duration.ofMinutes(1), 10);
+
+    assertThat(cache.listSessions(ALL, 0, 20).total()).isEqualTo(1);
+    cache.listSessions(ALL, 0, 20);
+    assertThat(provider.sessionCalls).hasValue(1);
+    assertThat(cache.listSessions(ALL, 1, 20).sessions()).isEmpty();
+    assertThat(provider.sessionCalls).hasValue(2);
+  }
+
+  @Test
+  void reactiveLookups_shareEntriesWithBlockingOnes() {
+    CountingProvider provider = new CountingProvider();
+    var cache =
+        new CachingF1ProviderAdapter(provider, Duration.ofMinutes(1), Duration.ofMinutes(1), 10);
+    cache.listDriversForSession("s1");
+
+    assertThat(cache.fetchSessionPage(ALL, 0, 20).block().total()).isEqualTo(1);
+    assertThat(cache.listSessions(ALL, 0, 20).total()).isEqualTo(1);
+    assertThat(provider.sessionCalls).hasValue(1);
+
+    assertThat(cache.fetchDriversForSessions(List.of("s1", "s2")).block())
+        .containsOnlyKeys("s1", "s2");
+    assertThat(provider.batches).containsExactly(List.of("s2"));
+  }
+
+  @Test
+  void failedReactiveLoads_areNotCached() {
+    CountingProvider provider = new CountingProvider();
+    provider.failure = new IllegalStateException("provider down");
+    var cache =
+        new CachingF1ProviderAdapter(provider, Duration.ofMinutes(1), Duration.ofMinutes(1), 10);
+
+    assertThatThrownBy(() -> cache.fetchSessionPage(ALL, 0, 20).block())
+        .hasMessage("provider down");
+    provider.failure = null;
+    assertThat(cache.fetchSessionPage(ALL, 0, 20).block().sessions()).hasSize(1);
+    assertThat(cache.stats().loadFailures()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,122 @@
+package com.example.f1bet.infrastructure.provider.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.f1bet.ports.out.ProviderUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+  private static final CircuitBreaker.Settings SETTINGS =
+      new CircuitBreaker.Settings(4, 0.5, Duration.ofSeconds(10), 2);
+
+  private final AtomicLong now = new AtomicLong();
+  private final CircuitBreaker breaker = new CircuitBreaker("sessions", SETTINGS, now::get);
+
+  @Test
+  void opensOnceAFullWindowReachesTheFailureRate() {
+    breaker.acquire().failure();
+    breaker.acquire().failure();
+    breaker.acquire().success();
+    // two failures out of three calls, but the window is not full yet
+    assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+    breaker.acquire().success();
+    assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    assertThatThrownBy(breaker::acquire).isInstanceOf(ProviderUnavailableException.class);
+  }
+
+  @Test
+  void forgetsFailuresThatSlidOutOfTheWindow() {
+    breaker.acquire().failure();
+    for (int i = 0; i < 10; i++) {
+      breaker.acquire().success();
+    }
+    breaker.acquire().failure();
+    assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void halfOpenProbesCloseTheBreakerWhenTheyAllSucceed() {
+    open();
+    now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+    CircuitBreaker.Permit first = breaker.acquire();
+    CircuitBreaker.Permit second = breaker.acquire();
+    assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    // only two probes at a time
+    assertThatThrownBy(breaker::acquire).isInstanceOf(ProviderUnavailableException.class);
+
+    first.success();
+    second.success();
+    assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    // a fresh window: one failure does not reopen it
+    breaker.acquire().failure();
+    assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void aFailedProbeReopensTheBreakerForAnotherPeriod() {
+    open();
+    now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+    breaker.acquire().failure();
+    assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    now.addAndGet(Duration.ofSeconds(9).toNanos());
+    assertThatThrownBy(breaker::acquire).isInstanceOf(ProviderUnavailableException.class);
+    now.addAndGet(Duration.ofSeconds(1).toNanos());
+    breaker.acquire();
+    assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+  }
+
+  @Test
+  void releasedProbesAreGivenBack_andStaleOutcomesIgnored() {
+    CircuitBreaker.Permit beforeOpening = breaker.acquire();
+    open();
+    now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+    breaker.acquire().release();
+    breaker.acquire().release();
+    // a call let through while closed does not count as a probe
+    beforeOpening.failure();
+    assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+    CircuitBreaker.Permit probe = breaker.acquire();
+    probe.success();
+    // reported twice, counted once
+    probe.success();
+    assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    breaker.acquire().success();
+    assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void exposesStateRefusalsAndTransitionsAsMetrics() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    breaker.bindTo(registry);
+    open();
+    assertThatThrownBy(breaker::acquire).isInstanceOf(ProviderUnavailableException.class);
+
+    assertThat(registry.get("f1bet.provider.circuit.state").gauge().value()).isEqualTo(2.0);
+    assertThat(registry.get("f1bet.provider.circuit.refused").functionCounter().count())
+        .isEqualTo(1.0);
+    assertThat(
+            registry
+                .get("f1bet.provider.circuit.transitions")
+                .tag("to", "open")
+                .functionCounter()
+                .count())
+        .isEqualTo(1.0);
+  }
+
+  private void open() {
+    for (int i = 0; i < SETTINGS.window(); i++) {
+      breaker.acquire().failure();
+    }
+    assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+  }
+}
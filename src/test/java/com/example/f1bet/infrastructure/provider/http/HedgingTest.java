@@ -0,0 +1,98 @@
+package com.example.f1bet.infrastructure.provider.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+class HedgingTest {
+
+  private static final Duration HEDGE_AFTER = Duration.ofMillis(20);
+
+  private final AtomicInteger sent = new AtomicInteger();
+  private final AtomicInteger hedges = new AtomicInteger();
+
+  // the first request answers after firstTakes, every later one after 1 ms
+  private Supplier<Mono<String>> requests(Duration firstTakes, AtomicBoolean firstCancelled) {
+    return () -> {
+      int n = sent.incrementAndGet();
+      if (n == 1) {
+        return Mono.delay(firstTakes)
+            .thenReturn("first")
+            .doOnCancel(() -> firstCancelled.set(true));
+      }
+      return Mono.delay(Duration.ofMillis(1)).thenReturn("hedge");
+    };
+  }
+
+  @Test
+  void fastAnswer_isNotHedged() {
+    String result =
+        Hedging.hedged(
+                requests(Duration.ofMillis(1), new AtomicBoolean()),
+                HEDGE_AFTER,
+                hedges::incrementAndGet)
+            .block(Duration.ofSeconds(5));
+
+    assertThat(result).isEqualTo("first");
+    assertThat(sent).hasValue(1);
+    assertThat(hedges).hasValue(0);
+  }
+
+  @Test
+  void slowAnswer_isHedged_andTheLoserCancelled() {
+    AtomicBoolean firstCancelled = new AtomicBoolean();
+    String result =
+        Hedging.hedged(
+                requests(Duration.ofSeconds(5), firstCancelled),
+                HEDGE_AFTER,
+                hedges::incrementAndGet)
+            .block(Duration.ofSeconds(2));
+
+    assertThat(result).isEqualTo("hedge");
+    assertThat(sent).hasValue(2);
+    assertThat(hedges).hasValue(1);
+    assertThat(firstCancelled).isTrue();
+  }
+
+  @Test
+  void earlyFailure_failsWithoutWaitingForTheHedge() {
+    Supplier<Mono<String>> failing =
+        () -> {
+          sent.incrementAndGet();
+          return Mono.error(new IllegalStateException("down"));
+        };
+
+    assertThatThrownBy(
+            () ->
+                Hedging.hedged(failing, Duration.ofSeconds(10), hedges::incrementAndGet)
+                    .block(Duration.ofSeconds(2)))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("down");
+    assertThat(sent).hasValue(1);
+    assertThat(hedges).hasValue(0);
+  }
+
+  @Test
+  void failedHedge_stillWaitsForTheFirstRequest() {
+    Supplier<Mono<String>> requests =
+        () -> {
+          if (sent.incrementAndGet() == 1) {
+            return Mono.delay(Duration.ofMillis(200)).thenReturn("first");
+          }
+          return Mono.error(new IllegalStateException("hedge failed"));
+        };
+
+    String result =
+        Hedging.hedged(requests, HEDGE_AFTER, hedges::incrementAndGet)
+            .block(Duration.ofSeconds(2));
+
+    assertThat(result).isEqualTo("first");
+    assertThat(sent).hasValue(2);
+  }
+}
@@ -0,0 +1,87 @@
+package com.example.f1bet.infrastructure.provider.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.f1bet.domain.enums.SessionType;
+import com.example.f1bet.ports.out.ProviderDriver;
+import com.example.f1bet.ports.out.ProviderSession;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import reactor.core.publisher.Flux;
+
+class ProviderJsonTest {
+
+  private final Jackson2JsonDecoder decoder = ProviderJson.decoder();
+
+  @Test
+  void decodesSessionsAcrossBufferBoundaries_skippingUnknownFields() {
+    String json =
+        "[{\"id\":\"s1\",\"name\":\"Bahrain GP\",\"sessionType\":\"RACE\",\"country\":\"Bahrain\","
+            + "\"year\":2025,\"startTime\":\"2025-03-02T15:00:00Z\","
+            + "\"circuit\":{\"key\":63,\"corners\":[1,2,3]}},"
+            + "{\"id\":\"s2\",\"name\":null,\"sessionType\":\"QUALIFYING\",\"year\":2025}]";
+
+    List<Object> sessions = decode(json, ProviderSession.class, 7);
+
+    assertThat(sessions)
+        .containsExactly(
+            new ProviderSession(
+                "s1",
+                "Bahrain GP",
+                SessionType.RACE,
+                "Bahrain",
+                2025,
+                Instant.parse("2025-03-02T15:00:00Z")),
+            new ProviderSession("s2", null, SessionType.QUALIFYING, null, 2025, null));
+  }
+
+  @Test
+  void decodesDrivers() {
+    String json =
+        "[{\"id\":\"d1\",\"fullName\":\"Lewis Hamilton\",\"number\":44},"
+            + "{\"id\":\"d2\",\"fullName\":\"Max Verstappen\"}]";
+
+    assertThat(decode(json, ProviderDriver.class, 5))
+        .containsExactly(
+            new ProviderDriver("d1", "Lewis Hamilton"), new ProviderDriver("d2", "Max Verstappen"));
+  }
+
+  @Test
+  void rejectsSessionsWithoutIdOrWithAnUnknownType() {
+    assertThatThrownBy(() -> decode("[{\"sessionType\":\"RACE\"}]", ProviderSession.class, 64))
+        .isInstanceOf(DecodingException.class);
+    assertThatThrownBy(
+            () -> decode("[{\"id\":\"s1\",\"sessionType\":\"SPRINT\"}]", ProviderSession.class, 64))
+        .isInstanceOf(DecodingException.class)
+        .hasMessageContaining("SPRINT");
+  }
+
+  // the JSON in buffers of chunk bytes, as it would arrive off the network
+  private List<Object> decode(String json, Class<?> type, int chunk) {
+    byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+    List<DataBuffer> buffers = new ArrayList<>();
+    for (int from = 0; from < bytes.length; from += chunk) {
+      byte[] part = new byte[Math.min(chunk, bytes.length - from)];
+      System.arraycopy(bytes, from, part, 0, part.length);
+      buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(part));
+    }
+    return decoder
+        .decode(
+            Flux.fromIterable(buffers),
+            ResolvableType.forClass(type),
+            MediaType.APPLICATION_JSON,
+            null)
+        .collectList()
+        .block();
+  }
+}
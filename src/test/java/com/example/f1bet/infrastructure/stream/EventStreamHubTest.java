@@ -0,0 +1,195 @@
+package com.example.f1bet.infrastructure.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.f1bet.domain.entity.Selection;
+import com.example.f1bet.domain.enums.EventState;
+import com.example.f1bet.domain.event.DomainEvent;
+import com.example.f1bet.domain.vo.Money;
+import com.example.f1bet.domain.vo.Odds;
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class EventStreamHubTest {
+
+  private static final UUID EVENT = UUID.randomUUID();
+  private static final UUID USER = UUID.randomUUID();
+
+  // runs delivery tasks only when asked, so tests control what is still pending
+  private static final class ManualExecutor extends AbstractExecutorService {
+    final Queue<Runnable> tasks = new ArrayDeque<>();
+    boolean shutdown;
+
+    void runAll() {
+      Runnable task;
+      while ((task = tasks.poll()) != null) task.run();
+    }
+
+    @Override
+    public void execute(Runnable command) {
+      tasks.add(command);
+    }
+
+    @Override
+    public void shutdown() {
+      shutdown = true;
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+      shutdown = true;
+      return new ArrayList<>(tasks);
+    }
+
+    @Override
+    public boolean isShutdown() {
+      return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+      return shutdown;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) {
+      return true;
+    }
+  }
+
+  private static DomainEvent odds(UUID eventId, String odds) {
+    Selection selection =
+        new Selection(UUID.randomUUID(), "d1", "Lewis Hamilton", Odds.of(new BigDecimal(odds)));
+    return new DomainEvent.OddsChanged(eventId, List.of(selection));
+  }
+
+  private static DomainEvent balance(UUID userId, String amount, long version) {
+    return new DomainEvent.BalanceChanged(userId, Money.of("EUR", amount), version);
+  }
+
+  @Test
+  void undeliveredUpdates_areReplacedByTheLatestPerKey() {
+    ManualExecutor executor = new ManualExecutor();
+    EventStreamHub hub = new EventStreamHub(10, 10, executor);
+    List<DomainEvent> received = new ArrayList<>();
+    hub.subscribe(EventStreamHub.filterFor(EVENT, USER), received::add, () -> {});
+
+    hub.publish(odds(EVENT, "2.00"));
+    hub.publish(balance(USER, "90.00", 1));
+    DomainEvent latestOdds = odds(EVENT, "3.00");
+    hub.publish(latestOdds);
+    hub.publish(new DomainEvent.EventStateChanged(EVENT, EventState.FINISHED));
+    DomainEvent latestBalance = balance(USER, "80.00", 2);
+    hub.publish(latestBalance);
+    executor.runAll();
+
+    assertThat(received)
+        .containsExactly(
+            latestOdds,
+            new DomainEvent.EventStateChanged(EVENT, EventState.FINISHED),
+            latestBalance);
+    assertThat(hub.stats()).isEqualTo(new EventStreamHub.Stats(1, 3, 2, 0));
+  }
+
+  @Test
+  void balancePublishedOutOfOrder_neverReplacesANewerOne() {
+    ManualExecutor executor = new ManualExecutor();
+    EventStreamHub hub = new EventStreamHub(10, 10, executor);
+    List<DomainEvent> received = new ArrayList<>();
+    hub.subscribe(EventStreamHub.filterFor(EVENT, USER), received::add, () -> {});
+
+    hub.publish(balance(USER, "80.00", 2));
+    hub.publish(balance(USER, "90.00", 1));
+    executor.runAll();
+    hub.publish(balance(USER, "90.00", 1));
+    executor.runAll();
+
+    assertThat(received).containsExactly(balance(USER, "80.00", 2));
+    assertThat(hub.stats()).isEqualTo(new EventStreamHub.Stats(1, 1, 2, 0));
+  }
+
+  @Test
+  void subscribersOnlyReceiveTheirEventAndTheirOwnBalance() {
+    ManualExecutor executor = new ManualExecutor();
+    EventStreamHub hub = new EventStreamHub(10, 10, executor);
+    List<DomainEvent> forEvent = new ArrayList<>();
+    List<DomainEvent> forAll = new ArrayList<>();
+    hub.subscribe(EventStreamHub.filterFor(EVENT, USER), forEvent::add, () -> {});
+    hub.subscribe(EventStreamHub.filterFor(null, null), forAll::add, () -> {});
+
+    UUID otherEvent = UUID.randomUUID();
+    hub.publish(odds(otherEvent, "2.00"));
+    hub.publish(new DomainEvent.EventStateChanged(otherEvent, EventState.SETTLED));
+    hub.publish(balance(UUID.randomUUID(), "10.00", 1));
+    hub.publish(balance(USER, "20.00", 1));
+    executor.runAll();
+
+    assertThat(forEvent).containsExactly(balance(USER, "20.00", 1));
+    assertThat(forAll).hasSize(2).noneMatch(e -> e instanceof DomainEvent.BalanceChanged);
+  }
+
+  @Test
+  void subscriberFallingBehind_isDropped() {
+    ManualExecutor executor = new ManualExecutor();
+    EventStreamHub hub = new EventStreamHub(10, 2, executor);
+    AtomicInteger closed = new AtomicInteger();
+    List<DomainEvent> received = new ArrayList<>();
+    hub.subscribe(EventStreamHub.filterFor(null, null), received::add, closed::incrementAndGet);
+
+    // three distinct keys while the first drain has not run yet
+    hub.publish(odds(EVENT, "2.00"));
+    hub.publish(new DomainEvent.EventStateChanged(EVENT, EventState.FINISHED));
+    hub.publish(odds(UUID.randomUUID(), "2.00"));
+    executor.runAll();
+    hub.publish(odds(EVENT, "3.00"));
+    executor.runAll();
+
+    assertThat(received).isEmpty();
+    assertThat(closed).hasValue(1);
+    assertThat(hub.stats()).isEqualTo(new EventStreamHub.Stats(0, 0, 0, 1));
+  }
+
+  @Test
+  void failedSend_endsTheSubscription() {
+    ManualExecutor executor = new ManualExecutor();
+    EventStreamHub hub = new EventStreamHub(10, 10, executor);
+    AtomicInteger closed = new AtomicInteger();
+    hub.subscribe(
+        EventStreamHub.filterFor(null, null),
+        e -> {
+          throw new java.io.IOException("client gone");
+        },
+        closed::incrementAndGet);
+
+    hub.publish(odds(EVENT, "2.00"));
+    executor.runAll();
+    hub.publish(odds(EVENT, "3.00"));
+    executor.runAll();
+
+    assertThat(closed).hasValue(1);
+    assertThat(hub.stats().subscribers()).isZero();
+  }
+
+  @Test
+  void subscribersBeyondTheLimit_areRefused() {
+    EventStreamHub hub = new EventStreamHub(1, 10, new ManualExecutor());
+    EventStreamHub.Subscription first =
+        hub.subscribe(EventStreamHub.filterFor(null, null), e -> {}, () -> {});
+
+    assertThatThrownBy(() -> hub.subscribe(EventStreamHub.filterFor(null, null), e -> {}, () -> {}))
+        .isInstanceOf(IllegalStateException.class);
+
+    first.close();
+    hub.subscribe(EventStreamHub.filterFor(null, null), e -> {}, () -> {});
+    assertThat(hub.stats().subscribers()).isEqualTo(1);
+  }
+}